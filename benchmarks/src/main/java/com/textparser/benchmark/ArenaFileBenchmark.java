@@ -0,0 +1,88 @@
+package com.textparser.benchmark;
+
+import com.textparser.composite.arena.NodeType;
+import com.textparser.composite.arena.TextArena;
+import com.textparser.composite.arena.TextArenaFile;
+import com.textparser.composite.impl.Document;
+import com.textparser.service.TextParsingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares getting a document from a {@link TextArenaFile} with parsing the
+ * same text again through {@link TextParsingService#parseText(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArenaFileBenchmark {
+    private TextParsingService textParsingService;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp(CorpusState corpus) throws IOException {
+        textParsingService = new TextParsingService();
+        file = Files.createTempFile("benchmark", ".arena");
+        TextArenaFile.write(corpus.document, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Document parseText(CorpusState corpus) {
+        return textParsingService.parseText(corpus.text);
+    }
+
+    /**
+     * Map and verify the file without decoding any node
+     */
+    @Benchmark
+    public TextArena mapArena() throws IOException {
+        return TextArenaFile.map(file);
+    }
+
+    /**
+     * Map the file without verifying it, touching only the header
+     */
+    @Benchmark
+    public TextArena mapArenaUnverified() throws IOException {
+        return TextArenaFile.map(file, false);
+    }
+
+    /**
+     * Map the file and walk every node, as an analysis on the arena would
+     */
+    @Benchmark
+    public int mapArenaAndCountWords() throws IOException {
+        return TextArenaFile.map(file).count(0, NodeType.WORD);
+    }
+
+    /**
+     * Map the file and build the object tree, as the operations on documents need
+     */
+    @Benchmark
+    public Document readDocument() throws IOException {
+        return TextArenaFile.readDocument(file);
+    }
+}
@@ -0,0 +1,36 @@
+package com.textparser.benchmark;
+
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Builds deterministic benchmark input with {@link CorpusGenerator},
+ * shaping the distribution according to the requested {@link TextProfile}.
+ */
+final class BenchmarkCorpus {
+
+    private BenchmarkCorpus() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Generate text of approximately the requested size
+     * @param profile the text profile to generate
+     * @param sizeBytes the minimal number of UTF-8 bytes to produce
+     * @return generated text, always ending on a complete paragraph
+     */
+    static String generate(TextProfile profile, int sizeBytes) {
+        CorpusSettings settings = profile.settings().setTargetBytes(sizeBytes);
+        StringWriter writer = new StringWriter(sizeBytes + 1024);
+        try {
+            new CorpusGenerator(settings).generate(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.textparser.benchmark;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.TextConstants;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared benchmark input: the generated text together with its pre-split
+ * paragraphs, sentences and lexemes, and the fully parsed document.
+ * Splitting uses the same patterns as the parsers, so every stage
+ * benchmark receives exactly the input it would see inside the chain.
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+    @Param({"16", "256", "1024"})
+    public int sizeKb;
+
+    @Param({"PROSE", "NUMBER_HEAVY", "PUNCTUATION_HEAVY", "CYRILLIC"})
+    public TextProfile profile;
+
+    public String text;
+    public List<String> paragraphs;
+    public List<String> sentences;
+    public List<String> lexemes;
+    public Document document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = BenchmarkCorpus.generate(profile, sizeKb * 1024);
+        paragraphs = splitAll(List.of(text), TextConstants.PARAGRAPH_SPLIT_PATTERN);
+        sentences = splitAll(paragraphs, TextConstants.SENTENCE_SPLIT_PATTERN);
+        lexemes = splitAll(sentences, TextConstants.LEXEME_SPLIT_PATTERN);
+        document = new TextParsingService().parseText(text);
+    }
+
+    private static List<String> splitAll(List<String> texts, String pattern) {
+        List<String> parts = new ArrayList<>();
+        for (String text : texts) {
+            for (String part : text.split(pattern)) {
+                String trimmed = part.trim();
+                if (!trimmed.isEmpty()) {
+                    parts.add(trimmed);
+                }
+            }
+        }
+        return parts;
+    }
+}
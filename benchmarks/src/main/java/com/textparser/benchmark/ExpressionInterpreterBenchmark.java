@@ -0,0 +1,58 @@
+package com.textparser.benchmark;
+
+import com.textparser.interpreter.ExpressionInterpreter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link ExpressionInterpreter#evaluate(String)} on every valid
+ * expression lexeme of the corpus. Profiles without expressions fall back
+ * to a fixed set, so that every parameter combination measures real work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionInterpreterBenchmark {
+    private static final List<String> FALLBACK_EXPRESSIONS = List.of("2+3", "10-5", "4*6", "15/3", "7+8*9-6/2");
+
+    private ExpressionInterpreter interpreter;
+    private List<String> expressions;
+
+    @Setup
+    public void setUp(CorpusState corpus) {
+        interpreter = new ExpressionInterpreter();
+        expressions = corpus.lexemes.stream()
+                .filter(interpreter::isValidExpression)
+                .collect(Collectors.toList());
+        if (expressions.isEmpty()) {
+            expressions = FALLBACK_EXPRESSIONS;
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (String expression : expressions) {
+            try {
+                blackhole.consume(interpreter.evaluate(expression));
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.textparser.benchmark;
+
+import com.textparser.parser.TextParser;
+import com.textparser.parser.impl.DocumentParser;
+import com.textparser.parser.impl.ExpressionParser;
+import com.textparser.parser.impl.LexemeParser;
+import com.textparser.parser.impl.ParagraphParser;
+import com.textparser.parser.impl.SentenceParser;
+import com.textparser.parser.impl.SymbolParser;
+import com.textparser.parser.impl.WordParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every parser of the chain in isolation.
+ * Each stage is terminated by a {@link TerminalParser}, so the numbers
+ * exclude the work of the stages below it. Each invocation feeds the
+ * stage the whole corpus split at the stage's own level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserStageBenchmark {
+    private TextParser documentParser;
+    private TextParser paragraphParser;
+    private TextParser sentenceParser;
+    private TextParser lexemeParser;
+    private TextParser wordParser;
+    private TextParser expressionParser;
+    private TextParser symbolParser;
+
+    @Setup
+    public void setUp() {
+        documentParser = isolated(new DocumentParser());
+        paragraphParser = isolated(new ParagraphParser());
+        sentenceParser = isolated(new SentenceParser());
+        lexemeParser = isolated(new LexemeParser());
+        wordParser = isolated(new WordParser());
+        expressionParser = isolated(new ExpressionParser());
+        symbolParser = isolated(new SymbolParser());
+    }
+
+    @Benchmark
+    public void documentParser(CorpusState corpus, Blackhole blackhole) {
+        blackhole.consume(documentParser.parse(corpus.text));
+    }
+
+    @Benchmark
+    public void paragraphParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(paragraphParser, corpus.paragraphs, blackhole);
+    }
+
+    @Benchmark
+    public void sentenceParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(sentenceParser, corpus.sentences, blackhole);
+    }
+
+    @Benchmark
+    public void lexemeParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(lexemeParser, corpus.lexemes, blackhole);
+    }
+
+    @Benchmark
+    public void wordParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(wordParser, corpus.lexemes, blackhole);
+    }
+
+    @Benchmark
+    public void expressionParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(expressionParser, corpus.lexemes, blackhole);
+    }
+
+    @Benchmark
+    public void symbolParser(CorpusState corpus, Blackhole blackhole) {
+        parseAll(symbolParser, corpus.lexemes, blackhole);
+    }
+
+    private static void parseAll(TextParser parser, List<String> inputs, Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(parser.parse(input));
+        }
+    }
+
+    private static TextParser isolated(TextParser parser) {
+        parser.setNext(new TerminalParser());
+        return parser;
+    }
+}
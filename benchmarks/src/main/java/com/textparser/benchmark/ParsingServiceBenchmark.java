@@ -0,0 +1,45 @@
+package com.textparser.benchmark;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.parser.ParseDepth;
+import com.textparser.service.TextParsingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parser chain through {@link TextParsingService#parseText(String)}
+ * at every {@link ParseDepth}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsingServiceBenchmark {
+    @Param({"PARAGRAPH", "SENTENCE", "LEXEME", "FULL"})
+    public ParseDepth depth;
+
+    private TextParsingService textParsingService;
+
+    @Setup
+    public void setUp() {
+        textParsingService = new TextParsingService(depth);
+    }
+
+    @Benchmark
+    public Document parseText(CorpusState corpus) {
+        return textParsingService.parseText(corpus.text);
+    }
+}
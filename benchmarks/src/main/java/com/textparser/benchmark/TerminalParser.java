@@ -0,0 +1,24 @@
+package com.textparser.benchmark;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.parser.ParseContext;
+import com.textparser.parser.TextParser;
+
+/**
+ * Chain terminator returning one shared leaf, so that a single parser stage
+ * can be measured without the cost of the stages below it.
+ */
+final class TerminalParser implements TextParser {
+    private static final TextComponent LEAF = new Symbol('x');
+
+    @Override
+    public void setNext(TextParser nextParser) {
+        throw new UnsupportedOperationException("Terminal parser cannot have a successor");
+    }
+
+    @Override
+    public TextComponent parse(String text, ParseContext context) {
+        return LEAF;
+    }
+}
@@ -0,0 +1,62 @@
+package com.textparser.benchmark;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.operations.impl.FindSentencesWithLongestWord;
+import com.textparser.operations.impl.RemoveShortSentences;
+import com.textparser.operations.impl.SortParagraphsBySentenceCount;
+import com.textparser.util.VowelConsonantUtils.VowelConsonantCount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each operation from {@code operations.impl} on a pre-parsed document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextOperationsBenchmark {
+    private static final int MIN_WORD_COUNT = 3;
+
+    @Benchmark
+    public List<Paragraph> sortParagraphsBySentenceCount(CorpusState corpus) {
+        return new SortParagraphsBySentenceCount().execute(corpus.document);
+    }
+
+    @Benchmark
+    public List<Sentence> findSentencesWithLongestWord(CorpusState corpus) {
+        return new FindSentencesWithLongestWord().execute(corpus.document);
+    }
+
+    @Benchmark
+    public Document removeShortSentences(CorpusState corpus) {
+        return new RemoveShortSentences(MIN_WORD_COUNT).execute(corpus.document);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countIdenticalWords(CorpusState corpus) {
+        return new CountIdenticalWords().execute(corpus.document);
+    }
+
+    @Benchmark
+    public Map<String, VowelConsonantCount> countVowelsConsonants(CorpusState corpus) {
+        return new CountVowelsConsonants().execute(corpus.document);
+    }
+}
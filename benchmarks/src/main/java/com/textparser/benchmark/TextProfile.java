@@ -0,0 +1,69 @@
+package com.textparser.benchmark;
+
+import com.textparser.corpus.CorpusSettings;
+
+/**
+ * Shapes of input text used to parameterize the benchmarks.
+ * Each profile stresses a different branch of the parser chain.
+ */
+public enum TextProfile {
+    /**
+     * Plain Latin prose: mostly bare words and words followed by punctuation
+     */
+    PROSE {
+        @Override
+        CorpusSettings settings() {
+            return base().setPunctuationRatio(0.10);
+        }
+    },
+
+    /**
+     * Prose interleaved with numbers and inline arithmetic expressions
+     */
+    NUMBER_HEAVY {
+        @Override
+        CorpusSettings settings() {
+            return base().setExpressionRatio(0.25).setNumberRatio(0.15);
+        }
+    },
+
+    /**
+     * Words wrapped in brackets and quotes, words followed by punctuation and dashes
+     */
+    PUNCTUATION_HEAVY {
+        @Override
+        CorpusSettings settings() {
+            return base().setPunctuationRatio(0.25).setBracketRatio(0.15).setQuoteRatio(0.10).setDashRatio(0.05);
+        }
+    },
+
+    /**
+     * Cyrillic prose with occasional Latin words
+     */
+    CYRILLIC {
+        @Override
+        CorpusSettings settings() {
+            return base().setCyrillicRatio(0.9).setPunctuationRatio(0.10);
+        }
+    };
+
+    private static final long SEED = 42L;
+
+    /**
+     * Get the generator settings producing this profile
+     * @return fresh settings instance
+     */
+    abstract CorpusSettings settings();
+
+    CorpusSettings base() {
+        return new CorpusSettings()
+                .setSeed(SEED + ordinal())
+                .setCyrillicRatio(0.0)
+                .setExpressionRatio(0.0)
+                .setNumberRatio(0.0)
+                .setPunctuationRatio(0.0)
+                .setBracketRatio(0.0)
+                .setQuoteRatio(0.0)
+                .setDashRatio(0.0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.textparser.benchmark;
+
+import com.textparser.util.VowelConsonantUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link VowelConsonantUtils#analyze(String)} over every sentence of the corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VowelConsonantBenchmark {
+
+    @Benchmark
+    public void analyze(CorpusState corpus, Blackhole blackhole) {
+        for (String sentence : corpus.sentences) {
+            blackhole.consume(VowelConsonantUtils.analyze(sentence));
+        }
+    }
+}
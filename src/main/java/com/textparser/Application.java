@@ -1,17 +1,39 @@
 package com.textparser;
 
+import com.textparser.batch.BatchPipeline;
+import com.textparser.batch.BatchSettings;
+import com.textparser.batch.BatchStatistics;
+import com.textparser.batch.DirectoryWatchService;
 import com.textparser.composite.impl.Document;
+import com.textparser.corpus.CorpusAggregate;
+import com.textparser.corpus.CorpusAnalyzer;
+import com.textparser.corpus.CorpusCoordinator;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.corpus.CorpusStatistics;
+import com.textparser.metrics.MetricsReporter;
+import com.textparser.server.AnalysisServer;
+import com.textparser.server.ServerSettings;
 import com.textparser.service.FileReaderService;
 import com.textparser.service.TextOperationsService;
 import com.textparser.service.TextOperationsService.TextAnalysisReport;
 import com.textparser.service.TextParsingService;
+import com.textparser.stream.StreamingAnalysisReport;
+import com.textparser.stream.StreamingAnalyzer;
 import com.textparser.util.TextConstants;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * Main application class for the Composite Text Parser.
@@ -19,6 +41,21 @@ import java.util.Scanner;
  */
 public class Application {
     private static final Logger logger = LogManager.getLogger(Application.class);
+    private static final String COMMAND_GENERATE = "generate";
+    private static final String COMMAND_SERVE = "serve";
+    private static final String COMMAND_WATCH = "watch";
+    private static final String COMMAND_BATCH = "batch";
+    private static final String COMMAND_CORPUS = "corpus";
+    private static final String COMMAND_SHARD = "shard";
+    private static final String COMMAND_STREAM = "stream";
+    private static final String STREAM_REPORT_FOLDER = "stream";
+    private static final String CORPUS_REPORT_FILE = "corpus_report.txt";
+    private static final int SHARD_MAX_ATTEMPTS = 3;
+    private static final Duration SHARD_TIMEOUT = Duration.ofMinutes(30);
+    private static final String SHARD_WORKER_HEAP = "-Xmx512m";
+    private static final int WATCH_QUEUE_CAPACITY = 64;
+    private static final Duration WATCH_QUIET_PERIOD = Duration.ofMillis(500);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000L;
     
     private final FileReaderService fileReaderService;
     private final TextParsingService textParsingService;
@@ -32,18 +69,268 @@ public class Application {
 
     public static void main(String[] args) {
         logger.info("Starting Composite Text Parser Application");
-        
-        Application app = new Application();
-        
-        if (args.length > 0) {
-            // File provided as command line argument
-            app.processFile(args[0]);
-        } else {
-            // Interactive mode
-            app.runInteractiveMode();
+        String command = args.length > 0 ? args[0] : "";
+        stopLoggingAtShutdown(Thread.currentThread());
+
+        try (MetricsReporter metricsReporter = MetricsReporter.startDefault()) {
+            switch (command) {
+                case COMMAND_GENERATE:
+                    runGenerator(args);
+                    break;
+                case COMMAND_SERVE:
+                    runServer(args);
+                    break;
+                case COMMAND_WATCH:
+                    runWatcher(args);
+                    break;
+                case COMMAND_BATCH:
+                    runBatch(args);
+                    break;
+                case COMMAND_CORPUS:
+                    runCorpusAnalysis(args);
+                    break;
+                case COMMAND_SHARD:
+                    runShardedCorpusAnalysis(args);
+                    break;
+                case COMMAND_STREAM:
+                    runStreamingAnalysis(args);
+                    break;
+                case "":
+                    // Interactive mode
+                    new Application().runInteractiveMode();
+                    break;
+                default:
+                    // File provided as command line argument
+                    new Application().processFile(args[0]);
+                    break;
+            }
+            logger.info("Application finished");
+        } finally {
+            LogManager.shutdown();
+        }
+    }
+
+    /**
+     * Stop logging when the JVM shuts down, once the main thread has logged its own shutdown.
+     * This replaces the log4j shutdown hook, which would run concurrently with the hook of a
+     * long-running mode and could stop logging before the mode has logged that it stopped
+     */
+    private static void stopLoggingAtShutdown(Thread mainThread) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                mainThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            LogManager.shutdown();
+        }, "logging-shutdown"));
+    }
+
+    /**
+     * Generate a synthetic corpus: generate &lt;output-file&gt; &lt;size&gt; [seed]
+     */
+    private static void runGenerator(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: generate <output-file> <size, e.g. 1MB, 100MB, 5GB> [seed]");
+            return;
+        }
+        try {
+            CorpusSettings settings = new CorpusSettings().setTargetBytes(CorpusSettings.parseSize(args[2]));
+            if (args.length > 3) {
+                settings.setSeed(Long.parseLong(args[3]));
+            }
+            CorpusStatistics statistics = new CorpusGenerator(settings).generate(Paths.get(args[1]));
+            System.out.println("Corpus written to " + args[1]);
+            System.out.println(statistics);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Error generating corpus", e);
+        }
+    }
+
+    /**
+     * Run the analysis server until the JVM is stopped: serve [port] [base directory]
+     */
+    private static void runServer(String[] args) {
+        ServerSettings settings = new ServerSettings();
+        if (args.length > 1) {
+            int port = intArgument(args[1], 0, 65535, "Usage: serve [port 0-65535] [base directory]");
+            if (port < 0) {
+                return;
+            }
+            settings.setPort(port);
+        }
+        if (args.length > 2) {
+            settings.setBaseDirectory(Paths.get(args[2]));
+        }
+        try (AnalysisServer server = new AnalysisServer(settings)) {
+            server.start();
+            awaitShutdown();
+        } catch (IOException e) {
+            logger.error("Error starting analysis server", e);
+        }
+    }
+
+    /**
+     * Analyze files dropped into a directory until the JVM is stopped: watch &lt;directory&gt; [threads]
+     */
+    private static void runWatcher(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: watch <directory> [worker threads]");
+            return;
+        }
+        int workerThreads = args.length > 2
+                ? intArgument(args[2], 1, Integer.MAX_VALUE, "Usage: watch <directory> [worker threads]")
+                : Runtime.getRuntime().availableProcessors();
+        if (workerThreads < 0) {
+            return;
+        }
+        try (DirectoryWatchService watcher = new DirectoryWatchService(
+                Paths.get(args[1]), workerThreads, WATCH_QUEUE_CAPACITY, WATCH_QUIET_PERIOD)) {
+            watcher.start();
+            awaitShutdown();
+        } catch (IOException e) {
+            logger.error("Error starting directory watch", e);
+        }
+    }
+
+    /**
+     * Analyze many files as a pipeline: batch &lt;directory or file&gt;...
+     */
+    private static void runBatch(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: batch <directory or file>...");
+            return;
+        }
+        try {
+            List<Path> inputs = BatchPipeline.collectInputs(pathArguments(args));
+            BatchStatistics statistics = new BatchPipeline(new BatchSettings()).run(inputs);
+            System.out.println(statistics);
+        } catch (IOException e) {
+            logger.error("Error collecting batch inputs", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Analyze many files into one merged corpus report: corpus &lt;directory or file&gt;...
+     */
+    private static void runCorpusAnalysis(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: corpus <directory or file>...");
+            return;
+        }
+        try {
+            List<Path> inputs = BatchPipeline.collectInputs(pathArguments(args));
+            CorpusAggregate aggregate = new CorpusAnalyzer(Runtime.getRuntime().availableProcessors()).analyze(inputs);
+            Path reportPath = CorpusAnalyzer.writeReport(aggregate, CORPUS_REPORT_FILE);
+            System.out.println("Corpus report written to " + reportPath);
+        } catch (IOException e) {
+            logger.error("Error analyzing corpus", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Analyze a corpus in worker processes: shard &lt;workers&gt; &lt;directory or file&gt;...
+     */
+    private static void runShardedCorpusAnalysis(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: shard <worker processes> <directory or file>...");
+            return;
+        }
+        int workers = intArgument(args[1], 1, Integer.MAX_VALUE, "Usage: shard <worker processes> <directory or file>...");
+        if (workers < 0) {
+            return;
+        }
+        try {
+            List<Path> inputs = BatchPipeline.collectInputs(pathArguments(args, 2));
+            CorpusCoordinator coordinator = new CorpusCoordinator(
+                    workers, SHARD_MAX_ATTEMPTS, SHARD_TIMEOUT, List.of(SHARD_WORKER_HEAP));
+            CorpusAggregate aggregate = coordinator.analyze(inputs);
+            Path reportPath = CorpusAnalyzer.writeReport(aggregate, CORPUS_REPORT_FILE);
+            System.out.println("Corpus report written to " + reportPath);
+        } catch (IOException e) {
+            logger.error("Error analyzing corpus", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Analyze a file too large for the document tree in one pass: stream &lt;file&gt;
+     */
+    private static void runStreamingAnalysis(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: stream <file>");
+            return;
+        }
+        try {
+            Path input = Paths.get(args[1]);
+            StreamingAnalysisReport report = new StreamingAnalyzer().analyze(input);
+            Path reportPath = StreamingAnalyzer.writeReport(report,
+                    STREAM_REPORT_FOLDER + "/" + input.getFileName() + TextConstants.REPORT_FILE_SUFFIX);
+            System.out.println("Streaming report written to " + reportPath);
+        } catch (IOException e) {
+            logger.error("Error in streaming analysis", e);
+        }
+    }
+
+    /**
+     * Parse a numeric argument, printing the usage line if it is not a number in range
+     * @param argument the argument to parse
+     * @param min the smallest value accepted, not negative
+     * @param max the largest value accepted
+     * @param usage the usage line of the command
+     * @return the value, or -1 if the argument is invalid
+     */
+    private static int intArgument(String argument, int min, int max, String usage) {
+        try {
+            int value = Integer.parseInt(argument);
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported with the usage line
+        }
+        System.out.println(usage);
+        return -1;
+    }
+
+    private static List<Path> pathArguments(String[] args) {
+        return pathArguments(args, 1);
+    }
+
+    private static List<Path> pathArguments(String[] args, int from) {
+        List<Path> paths = new ArrayList<>();
+        for (int i = from; i < args.length; i++) {
+            paths.add(Paths.get(args[i]));
+        }
+        return paths;
+    }
+
+    /**
+     * Block until the JVM begins shutting down.
+     * The shutdown hook waits for the main thread so that long-running modes
+     * can close cleanly and flush metrics before the JVM exits.
+     */
+    private static void awaitShutdown() {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread mainThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stopped.countDown();
+            try {
+                mainThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "application-shutdown"));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        
-        logger.info("Application finished");
     }
 
     /**
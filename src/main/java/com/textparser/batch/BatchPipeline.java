@@ -0,0 +1,334 @@
+package com.textparser.batch;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.metrics.LatencyHistogram;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.service.FileReaderService;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.TextConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Processes many files as a pipeline of read, parse, analyze and write stages.
+ * Each stage runs on its own threads and hands files to the next stage through
+ * a bounded queue, so disk I/O overlaps with parsing and a slow stage blocks
+ * the stages before it instead of letting files pile up in memory.
+ * <p>
+ * Reports are named after their input file and stamped with the batch start time,
+ * and the batch summary lists files in input order, so the output does not depend
+ * on thread scheduling.
+ */
+public class BatchPipeline {
+    private static final Logger logger = LogManager.getLogger(BatchPipeline.class);
+    private static final String INPUT_GLOB = "*.txt";
+    private static final String BATCH_FOLDER = "batch";
+    private static final String SUMMARY_FILE_NAME = "batch_summary.txt";
+
+    private final BatchSettings settings;
+    private final FileReaderService fileReaderService;
+    private final TextParsingService textParsingService;
+    private final TextOperationsService textOperationsService;
+
+    public BatchPipeline(BatchSettings settings) {
+        this.settings = settings;
+        this.fileReaderService = new FileReaderService();
+        this.textParsingService = TextParsingService.forOperations(TextOperationsService.getCompleteAnalysisOperations());
+        this.textOperationsService = new TextOperationsService();
+    }
+
+    /**
+     * Expand the given paths into the list of input files: directories contribute
+     * their {@code *.txt} files in name order, other paths are taken as they are
+     * @param paths directories and files
+     * @return input files in processing order
+     * @throws IOException if a directory cannot be listed
+     */
+    public static List<Path> collectInputs(List<Path> paths) throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                List<Path> files = new ArrayList<>();
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, INPUT_GLOB)) {
+                    for (Path file : stream) {
+                        if (Files.isRegularFile(file)) {
+                            files.add(file);
+                        }
+                    }
+                }
+                files.sort(null);
+                inputs.addAll(files);
+            } else {
+                inputs.add(path);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Run all files through the pipeline and write their reports
+     * @param inputs files to process
+     * @return throughput and stage utilization of the run
+     * @throws InterruptedException if interrupted while waiting for the stages
+     */
+    public BatchStatistics run(List<Path> inputs) throws InterruptedException {
+        LocalDateTime batchDate = LocalDateTime.now();
+        List<BatchItem> items = createItems(inputs);
+        logger.info("Starting batch of {} files", items.size());
+
+        BlockingQueue<BatchItem> pending = new LinkedBlockingQueue<>(items);
+        pending.add(BatchItem.END);
+        BlockingQueue<BatchItem> read = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        BlockingQueue<BatchItem> parsed = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        BlockingQueue<BatchItem> analyzed = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+
+        List<Stage> stages = List.of(
+                new Stage("read", settings.getReaderThreads(), pending, read, this::read),
+                new Stage("parse", settings.getParserThreads(), read, parsed, this::parse),
+                new Stage("analyze", settings.getAnalyzerThreads(), parsed, analyzed, item -> analyze(item, batchDate)),
+                new Stage("write", settings.getWriterThreads(), analyzed, null, this::write));
+
+        long start = System.nanoTime();
+        for (Stage stage : stages) {
+            stage.start();
+        }
+        for (Stage stage : stages) {
+            stage.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int failures = 0;
+        for (BatchItem item : items) {
+            if (item.error != null) {
+                failures++;
+            }
+        }
+        writeSummary(items, batchDate);
+
+        Map<String, Double> utilization = new LinkedHashMap<>();
+        for (Stage stage : stages) {
+            utilization.put(stage.name, stage.utilization(elapsed));
+        }
+        BatchStatistics statistics = new BatchStatistics(items.size(), failures, elapsed, utilization);
+        logger.info("Batch finished. {}", statistics);
+        return statistics;
+    }
+
+    private static List<BatchItem> createItems(List<Path> inputs) {
+        List<BatchItem> items = new ArrayList<>(inputs.size());
+        Set<String> reportNames = new HashSet<>();
+        for (Path input : inputs) {
+            String reportName = input.getFileName() + TextConstants.REPORT_FILE_SUFFIX;
+            if (!reportNames.add(reportName)) {
+                // Same file name in different directories, keep reports apart by input position
+                reportName = input.getFileName() + "_" + items.size() + TextConstants.REPORT_FILE_SUFFIX;
+                reportNames.add(reportName);
+            }
+            items.add(new BatchItem(input, reportName));
+        }
+        return items;
+    }
+
+    private void read(BatchItem item) throws IOException {
+        item.text = fileReaderService.readTextFromFile(item.input.toString());
+    }
+
+    /**
+     * Parse with the listener of the complete analysis, so the document is not walked again
+     */
+    private void parse(BatchItem item) {
+        item.analysis = textOperationsService.createCompleteAnalysisListener();
+        item.document = textParsingService.parseText(item.text, List.of(item.analysis));
+        item.text = null;
+    }
+
+    private void analyze(BatchItem item, LocalDateTime batchDate) {
+        Document document = item.document;
+        item.report = item.analysis.getResult();
+        item.report.reportDate = batchDate;
+        item.paragraphs = document.getParagraphCount();
+        item.sentences = document.getSentenceCount();
+        item.words = document.getWordCount();
+        item.document = null;
+        item.analysis = null;
+    }
+
+    private void write(BatchItem item) throws IOException {
+        item.reportPath = textOperationsService.writeReportToFile(item.report, BATCH_FOLDER + "/" + item.reportName);
+        item.report = null;
+        if (item.reportPath == null) {
+            throw new IOException("Report was not written: " + item.reportName);
+        }
+    }
+
+    private void writeSummary(List<BatchItem> items, LocalDateTime batchDate) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("=== Batch Analysis Summary ===\n");
+        summary.append("Generated on: ").append(batchDate.format(DateTimeFormatter.ofPattern(TextConstants.DATE_TIME_PATTERN))).append("\n\n");
+        for (BatchItem item : items) {
+            if (item.error != null) {
+                summary.append(String.format("%s: FAILED (%s)%n", item.input, item.error.getMessage()));
+            } else {
+                summary.append(String.format("%s: %d paragraphs, %d sentences, %d words -> %s%n",
+                        item.input, item.paragraphs, item.sentences, item.words, item.reportPath));
+            }
+        }
+        Path summaryPath = Path.of(TextConstants.REPORT_FOLDER_PATH, BATCH_FOLDER, SUMMARY_FILE_NAME);
+        try {
+            Files.createDirectories(summaryPath.getParent());
+            Files.writeString(summaryPath, summary);
+            logger.info("Batch summary saved to: {}", summaryPath);
+        } catch (IOException e) {
+            logger.error("Error writing batch summary", e);
+        }
+    }
+
+    /**
+     * Work performed by a stage on one file
+     */
+    @FunctionalInterface
+    private interface StageTask {
+        void process(BatchItem item) throws Exception;
+    }
+
+    /**
+     * A group of threads taking files from one queue and passing them on to the next.
+     * The end marker is put back for sibling threads, and the last thread to finish
+     * forwards it downstream.
+     */
+    private static final class Stage {
+        private final String name;
+        private final int threadCount;
+        private final BlockingQueue<BatchItem> input;
+        private final BlockingQueue<BatchItem> output;
+        private final StageTask task;
+        private final List<Thread> threads = new ArrayList<>();
+        private final AtomicInteger running;
+        private final LongAdder busyNanos = new LongAdder();
+        private final LatencyHistogram latency;
+
+        private Stage(String name, int threadCount, BlockingQueue<BatchItem> input,
+                      BlockingQueue<BatchItem> output, StageTask task) {
+            this.name = name;
+            this.threadCount = threadCount;
+            this.input = input;
+            this.output = output;
+            this.task = task;
+            this.running = new AtomicInteger(threadCount);
+            this.latency = MetricsRegistry.getDefault().histogram("batch." + name + ".time");
+        }
+
+        private void start() {
+            for (int i = 1; i <= threadCount; i++) {
+                Thread thread = new Thread(this::work, "batch-" + name + "-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        private void join() throws InterruptedException {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        private double utilization(long elapsedNanos) {
+            return elapsedNanos == 0 ? 0.0 : (double) busyNanos.sum() / ((double) elapsedNanos * threadCount);
+        }
+
+        private void work() {
+            try {
+                while (true) {
+                    BatchItem item = input.take();
+                    if (item == BatchItem.END) {
+                        input.put(item);
+                        break;
+                    }
+                    if (item.error == null) {
+                        long start = System.nanoTime();
+                        try {
+                            task.process(item);
+                        } catch (Exception e) {
+                            logger.error("Error in {} stage for file: {}", name, item.input, e);
+                            item.error = e;
+                        } catch (Error e) {
+                            // Ends this thread; the file is reported as failed
+                            item.error = e;
+                            throw e;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        busyNanos.add(elapsed);
+                        latency.record(elapsed);
+                    }
+                    if (output != null) {
+                        output.put(item);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finish();
+            }
+        }
+
+        /**
+         * Forward the end marker once the last thread of the stage stops,
+         * however it stops, so that the stages downstream do not wait forever
+         */
+        private void finish() {
+            if (running.decrementAndGet() == 0 && output != null) {
+                try {
+                    output.put(BatchItem.END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * A file travelling through the pipeline; each stage replaces the data of the
+     * previous one so that only what the next stage needs is kept in memory
+     */
+    private static final class BatchItem {
+        private static final BatchItem END = new BatchItem(null, null);
+
+        private final Path input;
+        private final String reportName;
+        private String text;
+        private Document document;
+        private AnalysisListener<TextAnalysisReport> analysis;
+        private TextAnalysisReport report;
+        private String reportPath;
+        private int paragraphs;
+        private int sentences;
+        private int words;
+        private Throwable error;
+
+        private BatchItem(Path input, String reportName) {
+            this.input = input;
+            this.reportName = reportName;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.textparser.batch;
+
+/**
+ * Settings of the {@link BatchPipeline}: the parallelism of each stage
+ * and the capacity of the queues between them.
+ */
+public class BatchSettings {
+    private int readerThreads = 2;
+    private int parserThreads = Runtime.getRuntime().availableProcessors();
+    private int analyzerThreads = Runtime.getRuntime().availableProcessors();
+    private int writerThreads = 1;
+    private int queueCapacity = 16;
+
+    /**
+     * Get the number of threads reading input files
+     * @return reader thread count
+     */
+    public int getReaderThreads() {
+        return readerThreads;
+    }
+
+    public BatchSettings setReaderThreads(int readerThreads) {
+        this.readerThreads = requirePositive(readerThreads);
+        return this;
+    }
+
+    /**
+     * Get the number of threads building documents from the read text
+     * @return parser thread count
+     */
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    public BatchSettings setParserThreads(int parserThreads) {
+        this.parserThreads = requirePositive(parserThreads);
+        return this;
+    }
+
+    /**
+     * Get the number of threads running the text operations
+     * @return analyzer thread count
+     */
+    public int getAnalyzerThreads() {
+        return analyzerThreads;
+    }
+
+    public BatchSettings setAnalyzerThreads(int analyzerThreads) {
+        this.analyzerThreads = requirePositive(analyzerThreads);
+        return this;
+    }
+
+    /**
+     * Get the number of threads writing reports
+     * @return writer thread count
+     */
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public BatchSettings setWriterThreads(int writerThreads) {
+        this.writerThreads = requirePositive(writerThreads);
+        return this;
+    }
+
+    /**
+     * Get the capacity of each queue between stages; a full queue blocks the
+     * upstream stage, so at most this many files per stage are held in memory
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public BatchSettings setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = requirePositive(queueCapacity);
+        return this;
+    }
+
+    private static int requirePositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Value must be positive: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.textparser.batch;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a {@link BatchPipeline} run: throughput and how busy each stage was.
+ */
+public class BatchStatistics {
+    private final int files;
+    private final int failures;
+    private final long elapsedNanos;
+    private final Map<String, Double> stageUtilization;
+
+    public BatchStatistics(int files, int failures, long elapsedNanos, Map<String, Double> stageUtilization) {
+        this.files = files;
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+        this.stageUtilization = Collections.unmodifiableMap(new LinkedHashMap<>(stageUtilization));
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFilesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : files * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the share of time the threads of each stage spent working rather than waiting
+     * on their queues, in pipeline order
+     * @return utilization between 0 and 1 by stage name
+     */
+    public Map<String, Double> getStageUtilization() {
+        return stageUtilization;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format("Files: %d, Failures: %d, Elapsed: %d ms, Files/sec: %.2f",
+                files, failures, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getFilesPerSecond()));
+        stageUtilization.forEach((stage, utilization) ->
+                builder.append(String.format("%n  %s utilization: %.1f%%", stage, utilization * 100)));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,324 @@
+package com.textparser.batch;
+
+import com.textparser.metrics.Counter;
+import com.textparser.metrics.LatencyHistogram;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.service.FileReaderService;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.TextConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches a spool directory and analyzes new or changed text files.
+ * A file is processed once its size and modification time have not changed
+ * for the quiet period, so partially written files are never parsed.
+ * Files whose size, modification time or content hash match the last
+ * processed version are skipped. Reports are written through
+ * {@link TextOperationsService#writeReportToFile} as {@code <file name>_report.txt}.
+ */
+public class DirectoryWatchService implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(DirectoryWatchService.class);
+    private static final String DEFAULT_GLOB = "*.txt";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+    private static final long STOP_TIMEOUT_SECONDS = 30L;
+
+    private final Path directory;
+    private final long quietPeriodNanos;
+    private final PathMatcher fileMatcher;
+    private final FileReaderService fileReaderService;
+    private final TextParsingService textParsingService;
+    private final TextOperationsService textOperationsService;
+    private final ThreadPoolExecutor workers;
+    private final Map<Path, PendingFile> pending = new ConcurrentHashMap<>();
+    private final Map<Path, ProcessedFile> processed = new ConcurrentHashMap<>();
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Counter processedFiles;
+    private final Counter skippedFiles;
+    private final Counter failedFiles;
+    private final LatencyHistogram processingTime;
+    private final LatencyHistogram lag;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean running;
+
+    public DirectoryWatchService(Path directory, int workerThreads, int queueCapacity, Duration quietPeriod) {
+        this.directory = directory;
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.fileMatcher = FileSystems.getDefault().getPathMatcher("glob:" + DEFAULT_GLOB);
+        this.fileReaderService = new FileReaderService();
+        this.textParsingService = TextParsingService.forOperations(TextOperationsService.getCompleteAnalysisOperations());
+        this.textOperationsService = new TextOperationsService();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "watch-worker-" + threadIndex.incrementAndGet()));
+
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.processedFiles = registry.counter("watch.processed");
+        this.skippedFiles = registry.counter("watch.skipped");
+        this.failedFiles = registry.counter("watch.failures");
+        this.processingTime = registry.histogram("watch.processing.time");
+        this.lag = registry.histogram("watch.lag");
+        registry.gauge("watch.pending", pending::size);
+        registry.gauge("watch.queue.depth", () -> workers.getQueue().size());
+        registry.gauge("watch.oldestPendingMillis", this::oldestPendingMillis);
+    }
+
+    /**
+     * Start watching; files already present in the directory are processed as well
+     * @throws IOException if the directory cannot be watched
+     */
+    public void start() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Not a directory: " + directory);
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        scanDirectory();
+
+        running = true;
+        watcherThread = new Thread(this::watchLoop, "directory-watcher");
+        watcherThread.start();
+        logger.info("Watching {} for {} files", directory, DEFAULT_GLOB);
+    }
+
+    @Override
+    public void close() {
+        logger.info("Stopping directory watch on {}", directory);
+        running = false;
+        try {
+            if (watcherThread != null) {
+                watcherThread.join();
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Workers did not finish within {} seconds", STOP_TIMEOUT_SECONDS);
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close watch service: {}", e.getMessage());
+        }
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.removeGauge("watch.pending");
+        registry.removeGauge("watch.queue.depth");
+        registry.removeGauge("watch.oldestPendingMillis");
+    }
+
+    private void watchLoop() {
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            logger.warn("Watch events were lost, rescanning {}", directory);
+                            scanDirectory();
+                        } else {
+                            track(directory.resolve((Path) event.context()));
+                        }
+                    }
+                    if (!key.reset()) {
+                        logger.error("Watched directory is no longer accessible: {}", directory);
+                        running = false;
+                    }
+                }
+                dispatchSettledFiles();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error while watching {}", directory, e);
+            }
+        }
+    }
+
+    private void scanDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                track(file);
+            }
+        }
+    }
+
+    /**
+     * Remember a created or modified file; it is dispatched once it settles
+     */
+    private void track(Path file) {
+        if (!fileMatcher.matches(file.getFileName()) || !Files.isRegularFile(file)) {
+            return;
+        }
+        long now = System.nanoTime();
+        pending.compute(file, (path, existing) -> existing == null
+                ? new PendingFile(now)
+                : existing.touched(now));
+    }
+
+    private void dispatchSettledFiles() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, PendingFile>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingFile> entry = iterator.next();
+            Path file = entry.getKey();
+            PendingFile pendingFile = entry.getValue();
+            long size;
+            long modified;
+            try {
+                size = Files.size(file);
+                modified = Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                // Deleted or renamed before it settled
+                iterator.remove();
+                continue;
+            }
+
+            if (size != pendingFile.size || modified != pendingFile.modified) {
+                entry.setValue(pendingFile.observed(size, modified, now));
+            } else if (now - pendingFile.lastChangeNanos >= quietPeriodNanos && !inFlight.contains(file)) {
+                inFlight.add(file);
+                try {
+                    workers.execute(() -> process(file, size, modified, pendingFile.firstSeenNanos));
+                    iterator.remove();
+                } catch (RejectedExecutionException e) {
+                    // Workers are saturated, keep the file pending and retry on the next poll
+                    inFlight.remove(file);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void process(Path file, long size, long modified, long firstSeenNanos) {
+        long start = System.nanoTime();
+        try {
+            ProcessedFile previous = processed.get(file);
+            if (previous != null && previous.size == size && previous.modified == modified) {
+                logger.debug("Skipping unchanged file: {}", file);
+                skippedFiles.increment();
+                return;
+            }
+
+            byte[] content = fileReaderService.readBytesFromFile(file.toString());
+            byte[] hash = MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+            if (previous != null && Arrays.equals(previous.hash, hash)) {
+                logger.debug("Skipping file with unchanged content: {}", file);
+                processed.put(file, new ProcessedFile(size, modified, hash));
+                skippedFiles.increment();
+                return;
+            }
+
+            AnalysisListener<TextAnalysisReport> analysis = textOperationsService.createCompleteAnalysisListener();
+            textParsingService.parseText(new String(content, StandardCharsets.UTF_8), List.of(analysis));
+            TextAnalysisReport report = analysis.getResult();
+            String reportPath = textOperationsService.writeReportToFile(report, file.getFileName() + TextConstants.REPORT_FILE_SUFFIX);
+            if (reportPath == null) {
+                // No fingerprint, so the next change of the file is processed again
+                throw new IOException("Report was not written: " + file.getFileName());
+            }
+            processed.put(file, new ProcessedFile(size, modified, hash));
+            processedFiles.increment();
+            lag.record(System.nanoTime() - firstSeenNanos);
+            logger.info("Processed {} -> {}", file, reportPath);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            failedFiles.increment();
+            logger.error("Error processing watched file: {}", file, e);
+        } finally {
+            inFlight.remove(file);
+            processingTime.record(System.nanoTime() - start);
+        }
+    }
+
+    private long oldestPendingMillis() {
+        long now = System.nanoTime();
+        long oldest = 0L;
+        for (PendingFile pendingFile : pending.values()) {
+            oldest = Math.max(oldest, now - pendingFile.firstSeenNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(oldest);
+    }
+
+    /**
+     * A file waiting for its size and modification time to settle
+     */
+    private static final class PendingFile {
+        private final long firstSeenNanos;
+        private final long lastChangeNanos;
+        private final long size;
+        private final long modified;
+
+        private PendingFile(long now) {
+            this(now, now, -1L, -1L);
+        }
+
+        private PendingFile(long firstSeenNanos, long lastChangeNanos, long size, long modified) {
+            this.firstSeenNanos = firstSeenNanos;
+            this.lastChangeNanos = lastChangeNanos;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        private PendingFile touched(long now) {
+            return new PendingFile(firstSeenNanos, now, size, modified);
+        }
+
+        private PendingFile observed(long newSize, long newModified, long now) {
+            return new PendingFile(firstSeenNanos, now, newSize, newModified);
+        }
+    }
+
+    /**
+     * Fingerprint of the last processed version of a file
+     */
+    private static final class ProcessedFile {
+        private final long size;
+        private final long modified;
+        private final byte[] hash;
+
+        private ProcessedFile(long size, long modified, byte[] hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
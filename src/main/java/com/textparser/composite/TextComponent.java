@@ -26,6 +26,12 @@ public interface TextComponent {
      */
     TextComponent getChild(int index);
 
+    /**
+     * Get the number of child components without copying them
+     * @return child count
+     */
+    int getChildCount();
+
     /**
      * Get all child components
      * @return list of child components
@@ -60,4 +66,17 @@ public interface TextComponent {
      * Print the component's content
      */
     void print();
+
+    /**
+     * Get a deeply immutable snapshot of this component. The snapshot can be shared
+     * with other threads without locking, and adding, removing or replacing its
+     * children throws {@link UnsupportedOperationException}.
+     * @return a frozen copy, or this component if it is already immutable
+     */
+    TextComponent freeze();
+
+    /**
+     * @return whether this component and everything below it are immutable
+     */
+    boolean isFrozen();
 } 
\ No newline at end of file
@@ -1,33 +1,157 @@
 package com.textparser.composite;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstract class representing a composite node in the text structure.
  * Composite nodes can have children.
+ * <p>
+ * {@link #freeze()} copies a node and everything below it into frozen nodes of the
+ * same classes: their children are held in an immutable array-backed list and their
+ * counts are computed once, and all their fields are final, so a frozen tree is
+ * safely published to any thread that receives a reference to it.
  */
 public abstract class TextComposite implements TextComponent {
-    protected List<TextComponent> children = new ArrayList<>();
+    protected final List<TextComponent> children;
+    private final boolean frozen;
+    private final int paragraphCount;
+    private final int sentenceCount;
+    private final int wordCount;
+
+    protected TextComposite() {
+        this(new ArrayList<>(), false);
+    }
+
+    /**
+     * @param capacity expected number of children
+     */
+    protected TextComposite(int capacity) {
+        this(new ArrayList<>(capacity), false);
+    }
+
+    /**
+     * Create a frozen node
+     * @param frozenChildren the children, all frozen
+     * @throws IllegalArgumentException if a child is not frozen
+     */
+    protected TextComposite(TextComponent[] frozenChildren) {
+        this(List.of(frozenChildren), true);
+        for (TextComponent child : frozenChildren) {
+            if (!child.isFrozen()) {
+                throw new IllegalArgumentException("Frozen node cannot hold a mutable " + child.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private TextComposite(List<TextComponent> children, boolean frozen) {
+        this.children = children;
+        this.frozen = frozen;
+        int paragraphs = 0;
+        int sentences = 0;
+        int words = 0;
+        if (frozen) {
+            for (TextComponent child : children) {
+                paragraphs += child.getParagraphCount();
+                sentences += child.getSentenceCount();
+                words += child.getWordCount();
+            }
+        }
+        this.paragraphCount = paragraphs;
+        this.sentenceCount = sentences;
+        this.wordCount = words;
+    }
 
     @Override
     public void add(TextComponent component) {
+        checkNotFrozen();
         children.add(component);
     }
 
     @Override
     public void remove(TextComponent component) {
+        checkNotFrozen();
         children.remove(component);
     }
 
+    /**
+     * Replace the child at a position
+     * @param index position of the child
+     * @param component the new child
+     */
+    public void setChild(int index, TextComponent component) {
+        checkNotFrozen();
+        children.set(index, component);
+    }
+
+    /**
+     * Release the unused capacity of the child list once the node is complete
+     */
+    public void trimToSize() {
+        if (children instanceof ArrayList) {
+            ((ArrayList<TextComponent>) children).trimToSize();
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Cannot modify a frozen " + getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public TextComposite freeze() {
+        return frozen ? this : (TextComposite) freeze(this, new IdentityHashMap<>());
+    }
+
+    /**
+     * Freeze a node, reusing the copy of a node met before so that subtrees shared
+     * within the tree, e.g. memoized lexemes, stay shared in the snapshot
+     */
+    private static TextComponent freeze(TextComponent node, Map<TextComponent, TextComponent> copies) {
+        if (!(node instanceof TextComposite) || node.isFrozen()) {
+            return node.freeze();
+        }
+        TextComponent copy = copies.get(node);
+        if (copy == null) {
+            TextComposite composite = (TextComposite) node;
+            TextComponent[] frozenChildren = new TextComponent[composite.children.size()];
+            for (int i = 0; i < frozenChildren.length; i++) {
+                frozenChildren[i] = freeze(composite.children.get(i), copies);
+            }
+            copy = composite.createFrozen(frozenChildren);
+            copies.put(node, copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Create a frozen node of the same class and state as this one
+     * @param frozenChildren the frozen copies of the children
+     * @return the frozen node
+     */
+    protected abstract TextComposite createFrozen(TextComponent[] frozenChildren);
+
     @Override
     public TextComponent getChild(int index) {
         return children.get(index);
     }
 
+    @Override
+    public int getChildCount() {
+        return children.size();
+    }
+
     @Override
     public List<TextComponent> getChildren() {
-        return new ArrayList<>(children);
+        return frozen ? children : new ArrayList<>(children);
     }
 
     @Override
@@ -41,6 +165,9 @@ public abstract class TextComposite implements TextComponent {
 
     @Override
     public int getParagraphCount() {
+        if (frozen) {
+            return paragraphCount;
+        }
         return children.stream()
                 .mapToInt(TextComponent::getParagraphCount)
                 .sum();
@@ -48,6 +175,9 @@ public abstract class TextComposite implements TextComponent {
     
     @Override
     public int getSentenceCount() {
+        if (frozen) {
+            return sentenceCount;
+        }
         return children.stream()
                 .mapToInt(TextComponent::getSentenceCount)
                 .sum();
@@ -55,6 +185,9 @@ public abstract class TextComposite implements TextComponent {
 
     @Override
     public int getWordCount() {
+        if (frozen) {
+            return wordCount;
+        }
         return children.stream()
                 .mapToInt(TextComponent::getWordCount)
                 .sum();
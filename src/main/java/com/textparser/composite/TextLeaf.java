@@ -8,7 +8,7 @@ import java.util.List;
  * Leaf nodes cannot have children.
  */
 public abstract class TextLeaf implements TextComponent {
-    protected String text;
+    protected final String text;
 
     public TextLeaf(String text) {
         this.text = text;
@@ -29,6 +29,11 @@ public abstract class TextLeaf implements TextComponent {
         throw new UnsupportedOperationException("Leaf components have no children");
     }
 
+    @Override
+    public int getChildCount() {
+        return 0;
+    }
+
     @Override
     public List<TextComponent> getChildren() {
         return Collections.emptyList();
@@ -43,4 +48,18 @@ public abstract class TextLeaf implements TextComponent {
     public void print() {
         System.out.print(text);
     }
+
+    /**
+     * Leaves are immutable
+     * @return this leaf
+     */
+    @Override
+    public TextComponent freeze() {
+        return this;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.textparser.composite.arena;
+
+import com.textparser.composite.TextComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only {@link TextComponent} view of one node of a {@link TextArena}.
+ * Views are created on demand and hold nothing but the arena and the row.
+ */
+final class ArenaComponent implements TextComponent {
+    private final TextArena arena;
+    private final int node;
+
+    ArenaComponent(TextArena arena, int node) {
+        this.arena = arena;
+        this.node = node;
+    }
+
+    @Override
+    public void add(TextComponent component) {
+        throw new UnsupportedOperationException("Arena nodes are read-only");
+    }
+
+    @Override
+    public void remove(TextComponent component) {
+        throw new UnsupportedOperationException("Arena nodes are read-only");
+    }
+
+    @Override
+    public TextComponent getChild(int index) {
+        if (arena.type(node).isLeaf()) {
+            throw new UnsupportedOperationException("Leaf components have no children");
+        }
+        return new ArenaComponent(arena, arena.child(node, index));
+    }
+
+    @Override
+    public int getChildCount() {
+        return arena.childCount(node);
+    }
+
+    @Override
+    public List<TextComponent> getChildren() {
+        List<TextComponent> children = new ArrayList<>(getChildCount());
+        for (int i = 0; i < getChildCount(); i++) {
+            children.add(getChild(i));
+        }
+        return children;
+    }
+
+    @Override
+    public String getText() {
+        return arena.text(node);
+    }
+
+    @Override
+    public int getParagraphCount() {
+        return arena.count(node, NodeType.PARAGRAPH);
+    }
+
+    @Override
+    public int getSentenceCount() {
+        return arena.count(node, NodeType.SENTENCE);
+    }
+
+    @Override
+    public int getWordCount() {
+        return arena.count(node, NodeType.WORD);
+    }
+
+    @Override
+    public void print() {
+        // Composites print their leaves without separators
+        System.out.print(arena.rawText(node));
+    }
+
+    /**
+     * Arenas cannot be modified
+     * @return this view
+     */
+    @Override
+    public TextComponent freeze() {
+        return this;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+}
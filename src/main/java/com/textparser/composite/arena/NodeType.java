@@ -0,0 +1,68 @@
+package com.textparser.composite.arena;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Lexeme;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.RawText;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+
+/**
+ * Kind of a node stored in a {@link TextArena}, one per node class of the composite
+ */
+public enum NodeType {
+    DOCUMENT(false),
+    PARAGRAPH(false),
+    SENTENCE(false),
+    LEXEME(false),
+    WORD(true),
+    SYMBOL(true),
+    EXPRESSION(true),
+    RAW_TEXT(true);
+
+    private static final NodeType[] VALUES = values();
+
+    private final boolean leaf;
+
+    NodeType(boolean leaf) {
+        this.leaf = leaf;
+    }
+
+    public boolean isLeaf() {
+        return leaf;
+    }
+
+    static NodeType of(byte code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Get the type of a node of the composite
+     * @param component the node
+     * @return its type
+     * @throws IllegalArgumentException if the node is of a class the arena cannot store
+     */
+    static NodeType of(TextComponent component) {
+        if (component instanceof Word) {
+            return WORD;
+        } else if (component instanceof Symbol) {
+            return SYMBOL;
+        } else if (component instanceof Lexeme) {
+            return LEXEME;
+        } else if (component instanceof Sentence) {
+            return SENTENCE;
+        } else if (component instanceof Paragraph) {
+            return PARAGRAPH;
+        } else if (component instanceof Document) {
+            return DOCUMENT;
+        } else if (component instanceof Expression) {
+            return EXPRESSION;
+        } else if (component instanceof RawText) {
+            return RAW_TEXT;
+        }
+        throw new IllegalArgumentException("Unsupported node type: " + component.getClass().getName());
+    }
+}
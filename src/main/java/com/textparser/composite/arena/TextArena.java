@@ -0,0 +1,503 @@
+package com.textparser.composite.arena;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.TextComposite;
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Lexeme;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.composite.impl.RawText;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact, read-only form of a parsed document: the nodes are rows of parallel
+ * primitive arrays instead of objects. Nodes are numbered level by level, so the
+ * children of a node are consecutive rows starting at its first child, and the
+ * root is row 0. The text of all leaves is kept in one shared buffer in document
+ * order, so every node, leaf or not, covers one range of that buffer; the range
+ * of a composite holds the text of its leaves without the separators that its
+ * {@link TextComponent#getText()} adds. Child counts and parents follow from the
+ * first-child column, and text without characters above U+00FF is kept as one
+ * byte per character, so a node takes 13 bytes plus its text.
+ * <p>
+ * Analyses scan the arrays directly; {@link #view(int)} exposes a node as a
+ * {@link TextComponent} without copying, and {@link #toDocument()} builds the
+ * object tree again. The columns are buffers, so {@link TextArenaFile} can map an
+ * arena from disk and serve reads straight from the file.
+ */
+public final class TextArena {
+    private final ByteBuffer types;
+    /**
+     * First child row of every node, and the total number of rows at the end; as
+     * nodes are numbered level by level, the next node's first child ends the children
+     */
+    private final IntBuffer firstChildren;
+    private final IntBuffer textStarts;
+    private final IntBuffer textEnds;
+    /**
+     * Leaf text, one of the two is set
+     */
+    private final CharBuffer chars;
+    private final ByteBuffer latin1;
+    /**
+     * Source text of lexemes and expressions whose text differs from what they render,
+     * by node in increasing order
+     */
+    private final int[] sourceNodes;
+    private final String[] sourceTexts;
+
+    /**
+     * Wrap the columns of an arena, on the heap or mapped from a file
+     */
+    TextArena(ByteBuffer types, IntBuffer firstChildren, IntBuffer textStarts, IntBuffer textEnds,
+              CharBuffer chars, ByteBuffer latin1, int[] sourceNodes, String[] sourceTexts) {
+        this.types = types;
+        this.firstChildren = firstChildren;
+        this.textStarts = textStarts;
+        this.textEnds = textEnds;
+        this.chars = chars;
+        this.latin1 = latin1;
+        this.sourceNodes = sourceNodes;
+        this.sourceTexts = sourceTexts;
+    }
+
+    /**
+     * Copy a document, or any other node, into an arena; the copy does not refer
+     * to the original, which can be released afterwards
+     * @param root the node to copy with all its descendants
+     * @return the arena holding the copy
+     * @throws IllegalArgumentException if a node is of a class the arena cannot store
+     */
+    public static TextArena of(TextComponent root) {
+        int[] size = new int[2];
+        measure(root, size);
+        Columns columns = new Columns(size[0]);
+        TextComponent[] components = new TextComponent[size[0]];
+        components[0] = root;
+        int next = 1;
+        // The array doubles as the queue of a breadth-first walk, which keeps siblings together
+        for (int node = 0; node < components.length; node++) {
+            TextComponent component = components[node];
+            NodeType type = NodeType.of(component);
+            int children = type.isLeaf() ? 0 : component.getChildCount();
+            columns.types[node] = (byte) type.ordinal();
+            columns.firstChildren[node] = next;
+            for (int i = 0; i < children; i++) {
+                components[next++] = component.getChild(i);
+            }
+            columns.keepSourceText(node, component);
+        }
+        columns.firstChildren[components.length] = next;
+        char[] text = new char[size[1]];
+        columns.copyText(0, components, text, 0);
+        return new TextArena(ByteBuffer.wrap(columns.types), IntBuffer.wrap(columns.firstChildren),
+                IntBuffer.wrap(columns.textStarts), IntBuffer.wrap(columns.textEnds),
+                isLatin1(text) ? null : CharBuffer.wrap(text), isLatin1(text) ? ByteBuffer.wrap(toLatin1(text)) : null,
+                Arrays.copyOf(columns.sourceNodes, columns.sourceCount),
+                Arrays.copyOf(columns.sourceTexts, columns.sourceCount));
+    }
+
+    /**
+     * Count the nodes and leaf characters below a node
+     */
+    private static void measure(TextComponent component, int[] size) {
+        size[0]++;
+        if (NodeType.of(component).isLeaf()) {
+            size[1] += component.getText().length();
+            return;
+        }
+        for (int i = 0; i < component.getChildCount(); i++) {
+            measure(component.getChild(i), size);
+        }
+    }
+
+    private static boolean isLatin1(char[] text) {
+        for (char c : text) {
+            if (c > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toLatin1(char[] text) {
+        byte[] bytes = new byte[text.length];
+        for (int i = 0; i < text.length; i++) {
+            bytes[i] = (byte) text[i];
+        }
+        return bytes;
+    }
+
+    /**
+     * Arrays filled while copying a tree into an arena
+     */
+    private static final class Columns {
+        private final byte[] types;
+        private final int[] firstChildren;
+        private final int[] textStarts;
+        private final int[] textEnds;
+        private int[] sourceNodes = new int[16];
+        private String[] sourceTexts = new String[16];
+        private int sourceCount;
+
+        private Columns(int nodes) {
+            this.types = new byte[nodes];
+            this.firstChildren = new int[nodes + 1];
+            this.textStarts = new int[nodes];
+            this.textEnds = new int[nodes];
+        }
+
+        private void keepSourceText(int node, TextComponent component) {
+            if (component instanceof Expression) {
+                addSourceText(node, ((Expression) component).getOriginalExpression());
+            } else if (component instanceof Lexeme) {
+                String original = ((Lexeme) component).getOriginalText();
+                if (!original.equals(component.getText())) {
+                    addSourceText(node, original);
+                }
+            }
+        }
+
+        private void addSourceText(int node, String source) {
+            if (sourceCount == sourceNodes.length) {
+                sourceNodes = Arrays.copyOf(sourceNodes, sourceCount * 2);
+                sourceTexts = Arrays.copyOf(sourceTexts, sourceCount * 2);
+            }
+            sourceNodes[sourceCount] = node;
+            sourceTexts[sourceCount] = source;
+            sourceCount++;
+        }
+
+        /**
+         * Copy the leaf texts in document order and record the range of every node
+         * @return the buffer position after the node
+         */
+        private int copyText(int node, TextComponent[] components, char[] text, int position) {
+            textStarts[node] = position;
+            if (NodeType.of(types[node]).isLeaf()) {
+                String leafText = components[node].getText();
+                leafText.getChars(0, leafText.length(), text, position);
+                position += leafText.length();
+            } else {
+                for (int child = firstChildren[node]; child < firstChildren[node + 1]; child++) {
+                    position = copyText(child, components, text, position);
+                }
+            }
+            textEnds[node] = position;
+            return position;
+        }
+    }
+
+    private String sourceText(int node) {
+        int index = Arrays.binarySearch(sourceNodes, node);
+        return index >= 0 ? sourceTexts[index] : null;
+    }
+
+    // Columns for TextArenaFile
+
+    ByteBuffer typeColumn() {
+        return types.duplicate();
+    }
+
+    IntBuffer firstChildColumn() {
+        return firstChildren.duplicate();
+    }
+
+    IntBuffer textStartColumn() {
+        return textStarts.duplicate();
+    }
+
+    IntBuffer textEndColumn() {
+        return textEnds.duplicate();
+    }
+
+    /**
+     * @return the text buffer if it holds characters above U+00FF, otherwise null
+     */
+    CharBuffer charText() {
+        return chars == null ? null : chars.duplicate();
+    }
+
+    /**
+     * @return the text buffer if it is stored one byte per character, otherwise null
+     */
+    ByteBuffer latin1Text() {
+        return latin1 == null ? null : latin1.duplicate();
+    }
+
+    int[] sourceNodes() {
+        return sourceNodes;
+    }
+
+    String[] sourceTexts() {
+        return sourceTexts;
+    }
+
+    /**
+     * @return number of nodes
+     */
+    public int size() {
+        return types.capacity();
+    }
+
+    public NodeType type(int node) {
+        return NodeType.of(types.get(node));
+    }
+
+    /**
+     * @return the parent row, or -1 for the root
+     */
+    public int parent(int node) {
+        if (node == 0) {
+            return -1;
+        }
+        // The last node whose children start at or before this one
+        int low = 0;
+        int high = node - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstChildren.get(middle) <= node) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    public int childCount(int node) {
+        return firstChildren.get(node + 1) - firstChildren.get(node);
+    }
+
+    /**
+     * @param node the parent row
+     * @param index position of the child among its siblings
+     * @return the row of the child
+     */
+    public int child(int node, int index) {
+        if (index < 0 || index >= childCount(node)) {
+            throw new IndexOutOfBoundsException("Child " + index + " of node " + node + " with " + childCount(node) + " children");
+        }
+        return firstChildren.get(node) + index;
+    }
+
+    /**
+     * @return start of the node's range in the text buffer
+     */
+    public int textStart(int node) {
+        return textStarts.get(node);
+    }
+
+    /**
+     * @return end (exclusive) of the node's range in the text buffer
+     */
+    public int textEnd(int node) {
+        return textEnds.get(node);
+    }
+
+    /**
+     * @param offset position in the text buffer
+     * @return the character at that position
+     */
+    public char charAt(int offset) {
+        return latin1 != null ? (char) (latin1.get(offset) & 0xFF) : chars.get(offset);
+    }
+
+    /**
+     * Get the leaf characters of a node, without the separators of its rendered text
+     * @param node the node
+     * @return the characters in the node's range
+     */
+    public String rawText(int node) {
+        int start = textStarts.get(node);
+        int length = textEnds.get(node) - start;
+        if (latin1 != null) {
+            byte[] bytes = new byte[length];
+            latin1.get(start, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        char[] text = new char[length];
+        chars.get(start, text);
+        return new String(text);
+    }
+
+    /**
+     * Get the text of a node as {@link TextComponent#getText()} renders it
+     * @param node the node
+     * @return the rendered text
+     */
+    public String text(int node) {
+        StringBuilder result = new StringBuilder();
+        appendText(node, result);
+        return result.toString();
+    }
+
+    private void appendText(int node, StringBuilder result) {
+        int first = firstChildren.get(node);
+        int children = childCount(node);
+        switch (type(node)) {
+            case DOCUMENT:
+                for (int i = 0; i < children; i++) {
+                    int start = result.length();
+                    appendText(first + i, result);
+                    boolean endsWithBlankLine = result.length() - start >= 2
+                            && result.charAt(result.length() - 1) == '\n' && result.charAt(result.length() - 2) == '\n';
+                    if (!endsWithBlankLine) {
+                        result.append("\n\n");
+                    }
+                }
+                break;
+            case PARAGRAPH:
+                result.append("    ");
+                for (int i = 0; i < children; i++) {
+                    appendText(first + i, result);
+                    result.append(i < children - 1 ? " " : "\n");
+                }
+                break;
+            case SENTENCE:
+                for (int i = 0; i < children; i++) {
+                    if (i > 0) {
+                        result.append(' ');
+                    }
+                    appendText(first + i, result);
+                }
+                break;
+            case LEXEME:
+                for (int i = 0; i < children; i++) {
+                    appendText(first + i, result);
+                }
+                break;
+            default:
+                result.append(rawText(node));
+                break;
+        }
+    }
+
+    /**
+     * Count the nodes of a type in a subtree, not looking inside a node of that type,
+     * as the count methods of {@link TextComponent} do
+     * @param node root of the subtree
+     * @param type the type to count
+     * @return the number of nodes
+     */
+    public int count(int node, NodeType type) {
+        if (types.get(node) == type.ordinal()) {
+            return 1;
+        }
+        int count = 0;
+        for (int i = 0; i < childCount(node); i++) {
+            count += count(firstChildren.get(node) + i, type);
+        }
+        return count;
+    }
+
+    /**
+     * Visit the sentences of the document's paragraphs in order, as {@link Document#streamSentences()} does
+     * @param action receives the row of every sentence
+     */
+    public void forEachSentence(IntConsumer action) {
+        for (int i = 0; i < childCount(0); i++) {
+            int paragraph = firstChildren.get(0) + i;
+            if (types.get(paragraph) != NodeType.PARAGRAPH.ordinal()) {
+                continue;
+            }
+            for (int j = 0; j < childCount(paragraph); j++) {
+                int sentence = firstChildren.get(paragraph) + j;
+                if (types.get(sentence) == NodeType.SENTENCE.ordinal()) {
+                    action.accept(sentence);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit the words of a sentence that are lexemes themselves or directly inside
+     * a lexeme, the words {@link Document#streamWords()} returns
+     * @param sentence row of the sentence
+     * @param action receives the row of every word
+     */
+    public void forEachWord(int sentence, IntConsumer action) {
+        for (int i = 0; i < childCount(sentence); i++) {
+            int lexeme = firstChildren.get(sentence) + i;
+            if (types.get(lexeme) == NodeType.WORD.ordinal()) {
+                action.accept(lexeme);
+            } else if (types.get(lexeme) == NodeType.LEXEME.ordinal()) {
+                for (int j = 0; j < childCount(lexeme); j++) {
+                    int part = firstChildren.get(lexeme) + j;
+                    if (types.get(part) == NodeType.WORD.ordinal()) {
+                        action.accept(part);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Expose a node as a read-only component backed by this arena
+     * @param node the node
+     * @return a view of the node
+     */
+    public TextComponent view(int node) {
+        return new ArenaComponent(this, node);
+    }
+
+    /**
+     * Build the object tree of the document again
+     * @return a new document equal to the one the arena was copied from
+     * @throws IllegalStateException if the root is not a document
+     */
+    public Document toDocument() {
+        if (type(0) != NodeType.DOCUMENT) {
+            throw new IllegalStateException("Arena root is a " + type(0) + ", not a document");
+        }
+        return (Document) toComponent(0);
+    }
+
+    /**
+     * Build the object tree of a node again
+     * @param node the node
+     * @return a new component equal to the one the node was copied from
+     */
+    public TextComponent toComponent(int node) {
+        String leafText = type(node).isLeaf() ? rawText(node) : null;
+        switch (type(node)) {
+            case WORD:
+                return ParsedNodes.word(leafText);
+            case SYMBOL:
+                return ParsedNodes.symbol(leafText);
+            case EXPRESSION:
+                return new Expression(sourceText(node), Double.parseDouble(leafText));
+            case RAW_TEXT:
+                return new RawText(leafText);
+            default:
+                break;
+        }
+        int children = childCount(node);
+        TextComposite composite;
+        switch (type(node)) {
+            case DOCUMENT:
+                composite = ParsedNodes.document(children);
+                break;
+            case PARAGRAPH:
+                composite = ParsedNodes.paragraph(children);
+                break;
+            case SENTENCE:
+                composite = ParsedNodes.sentence(children);
+                break;
+            default:
+                String original = sourceText(node);
+                composite = ParsedNodes.lexeme(original != null ? original : text(node), children);
+                break;
+        }
+        for (int i = 0; i < children; i++) {
+            composite.add(toComponent(firstChildren.get(node) + i));
+        }
+        return composite;
+    }
+}
@@ -0,0 +1,256 @@
+package com.textparser.composite.arena;
+
+import com.textparser.composite.impl.Document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file format of a {@link TextArena}, so that a parsed document is
+ * loaded instead of parsed again. The file is the arena's columns written one
+ * after the other, little-endian, behind a fixed header:
+ * <pre>
+ *  0  magic "CTPA"          20  source text count
+ *  4  format version        24  source text length, in chars
+ *  8  flags (1 = Latin-1)   28  reserved
+ * 12  node count            32  CRC32C of everything after the header
+ * 16  text length
+ * </pre>
+ * followed by the int columns (first children, text starts, text ends, source
+ * nodes, source text offsets), the char sections (source texts, and the text
+ * unless it is Latin-1) and the byte sections (the Latin-1 text, node types).
+ * Every section is aligned to its element size, so {@link #map(Path, boolean)} reads
+ * the columns in place from the mapped file: a node is only decoded when it is visited.
+ * Verifying the checksum reads the whole file, so a trusted file can be mapped without
+ * it and only the pages of the visited nodes are touched.
+ * Expression values are stored as their rendered text, which converts back to the
+ * same double, next to the original expression.
+ */
+public final class TextArenaFile {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x41505443;
+    private static final int HEADER_SIZE = 40;
+    private static final int FLAG_LATIN1 = 1;
+    private static final int CHECKSUM_OFFSET = 32;
+
+    private TextArenaFile() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Write a parsed document to a file
+     * @param document the parsed document
+     * @param path file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Document document, Path path) throws IOException {
+        write(TextArena.of(document), path);
+    }
+
+    /**
+     * Write an arena to a file
+     * @param arena the arena to write
+     * @param path file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the arena does not fit in one file of this format
+     */
+    public static void write(TextArena arena, Path path) throws IOException {
+        Layout layout = Layout.of(arena);
+        if (layout.fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arena of " + layout.fileSize + " bytes exceeds the 2 GB file limit");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.fileSize);
+            file.order(ByteOrder.LITTLE_ENDIAN);
+            writeBody(arena, layout, file);
+
+            CRC32C checksum = new CRC32C();
+            checksum.update(file.slice(HEADER_SIZE, (int) layout.fileSize - HEADER_SIZE));
+            file.putInt(0, MAGIC)
+                    .putInt(4, FORMAT_VERSION)
+                    .putInt(8, layout.latin1 ? FLAG_LATIN1 : 0)
+                    .putInt(12, layout.nodes)
+                    .putInt(16, layout.textLength)
+                    .putInt(20, layout.sourceCount)
+                    .putInt(24, layout.sourceTextLength)
+                    .putInt(28, 0)
+                    .putLong(CHECKSUM_OFFSET, checksum.getValue());
+            file.force();
+        }
+    }
+
+    private static void writeBody(TextArena arena, Layout layout, ByteBuffer file) {
+        ints(file, layout.firstChildren, layout.nodes + 1).put(arena.firstChildColumn());
+        ints(file, layout.textStarts, layout.nodes).put(arena.textStartColumn());
+        ints(file, layout.textEnds, layout.nodes).put(arena.textEndColumn());
+        ints(file, layout.sourceNodes, layout.sourceCount).put(arena.sourceNodes());
+        IntBuffer sourceOffsets = ints(file, layout.sourceOffsets, layout.sourceCount + 1);
+        CharBuffer sourceChars = chars(file, layout.sourceChars, layout.sourceTextLength);
+        sourceOffsets.put(0);
+        for (String source : arena.sourceTexts()) {
+            sourceChars.put(source);
+            sourceOffsets.put(sourceChars.position());
+        }
+        if (layout.latin1) {
+            bytes(file, layout.text, layout.textLength).put(arena.latin1Text());
+        } else {
+            chars(file, layout.text, layout.textLength).put(arena.charText());
+        }
+        bytes(file, layout.types, layout.nodes).put(arena.typeColumn());
+    }
+
+    /**
+     * Map an arena file and verify its checksum; the columns stay in the file and are read on access
+     * @param path file written by {@link #write(TextArena, Path)}
+     * @return an arena reading from the mapped file
+     * @throws IOException if the file cannot be read, is not an arena file of a
+     * supported version, or is damaged
+     */
+    public static TextArena map(Path path) throws IOException {
+        return map(path, true);
+    }
+
+    /**
+     * Map an arena file; the columns stay in the file and are read on access
+     * @param path file written by {@link #write(TextArena, Path)}
+     * @param verifyChecksum whether to check the whole body against its checksum up front;
+     *                       without it only the header and section sizes are checked, and
+     *                       damage in a column shows as wrong text or an exception on access
+     * @return an arena reading from the mapped file
+     * @throws IOException if the file cannot be read, is not an arena file of a
+     * supported version, or is found damaged
+     */
+    public static TextArena map(Path path, boolean verifyChecksum) throws IOException {
+        ByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a text arena file: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (file.getInt(0) != MAGIC) {
+            throw new IOException("Not a text arena file: " + path);
+        }
+        if (file.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported text arena format version " + file.getInt(4) + ": " + path);
+        }
+        Layout layout = new Layout((file.getInt(8) & FLAG_LATIN1) != 0, file.getInt(12), file.getInt(16),
+                file.getInt(20), file.getInt(24));
+        if (layout.nodes < 1 || layout.textLength < 0 || layout.sourceCount < 0 || layout.sourceTextLength < 0
+                || layout.fileSize != file.capacity()) {
+            throw new IOException("Damaged text arena file, section sizes do not match the file size: " + path);
+        }
+        if (verifyChecksum) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(file.slice(HEADER_SIZE, file.capacity() - HEADER_SIZE));
+            if (checksum.getValue() != file.getLong(CHECKSUM_OFFSET)) {
+                throw new IOException("Damaged text arena file, checksum mismatch: " + path);
+            }
+        }
+
+        int[] sourceNodes = new int[layout.sourceCount];
+        ints(file, layout.sourceNodes, layout.sourceCount).get(sourceNodes);
+        IntBuffer sourceOffsets = ints(file, layout.sourceOffsets, layout.sourceCount + 1);
+        CharBuffer sourceChars = chars(file, layout.sourceChars, layout.sourceTextLength);
+        String[] sourceTexts = new String[layout.sourceCount];
+        for (int i = 0; i < sourceTexts.length; i++) {
+            sourceTexts[i] = sourceChars.subSequence(sourceOffsets.get(i), sourceOffsets.get(i + 1)).toString();
+        }
+        return new TextArena(bytes(file, layout.types, layout.nodes),
+                ints(file, layout.firstChildren, layout.nodes + 1),
+                ints(file, layout.textStarts, layout.nodes),
+                ints(file, layout.textEnds, layout.nodes),
+                layout.latin1 ? null : chars(file, layout.text, layout.textLength),
+                layout.latin1 ? bytes(file, layout.text, layout.textLength) : null,
+                sourceNodes, sourceTexts);
+    }
+
+    /**
+     * Load a document written by {@link #write(Document, Path)}
+     * @param path the file
+     * @return the document
+     * @throws IOException if the file cannot be read, is damaged, or does not hold a document
+     */
+    public static Document readDocument(Path path) throws IOException {
+        TextArena arena = map(path);
+        if (arena.type(0) != NodeType.DOCUMENT) {
+            throw new IOException("Text arena file does not hold a document: " + path);
+        }
+        return arena.toDocument();
+    }
+
+    private static ByteBuffer bytes(ByteBuffer file, long offset, int count) {
+        return file.slice((int) offset, count);
+    }
+
+    private static IntBuffer ints(ByteBuffer file, long offset, int count) {
+        return file.slice((int) offset, count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static CharBuffer chars(ByteBuffer file, long offset, int count) {
+        return file.slice((int) offset, count * Character.BYTES).order(ByteOrder.LITTLE_ENDIAN).asCharBuffer();
+    }
+
+    /**
+     * Offsets of the sections of a file; int sections come first, then chars, then
+     * bytes, so every section starts aligned to its element size
+     */
+    private static final class Layout {
+        private final boolean latin1;
+        private final int nodes;
+        private final int textLength;
+        private final int sourceCount;
+        private final int sourceTextLength;
+        private final long firstChildren;
+        private final long textStarts;
+        private final long textEnds;
+        private final long sourceNodes;
+        private final long sourceOffsets;
+        private final long sourceChars;
+        private final long text;
+        private final long types;
+        private final long fileSize;
+
+        private Layout(boolean latin1, int nodes, int textLength, int sourceCount, int sourceTextLength) {
+            this.latin1 = latin1;
+            this.nodes = nodes;
+            this.textLength = textLength;
+            this.sourceCount = sourceCount;
+            this.sourceTextLength = sourceTextLength;
+            this.firstChildren = HEADER_SIZE;
+            this.textStarts = firstChildren + ((long) nodes + 1) * Integer.BYTES;
+            this.textEnds = textStarts + (long) nodes * Integer.BYTES;
+            this.sourceNodes = textEnds + (long) nodes * Integer.BYTES;
+            this.sourceOffsets = sourceNodes + (long) sourceCount * Integer.BYTES;
+            this.sourceChars = sourceOffsets + ((long) sourceCount + 1) * Integer.BYTES;
+            this.text = sourceChars + (long) sourceTextLength * Character.BYTES;
+            this.types = text + (long) textLength * (latin1 ? 1 : Character.BYTES);
+            this.fileSize = types + nodes;
+        }
+
+        private static Layout of(TextArena arena) {
+            int sourceTextLength = 0;
+            for (String source : arena.sourceTexts()) {
+                sourceTextLength += source.length();
+            }
+            return new Layout(arena.latin1Text() != null, arena.size(), arena.textEnd(0),
+                    arena.sourceNodes().length, sourceTextLength);
+        }
+    }
+}
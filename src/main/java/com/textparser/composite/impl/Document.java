@@ -2,24 +2,54 @@ package com.textparser.composite.impl;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.TextComposite;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the root document in the text structure.
  * A document contains paragraphs and serves as the top-level composite.
  */
 public class Document extends TextComposite {
-    
+    public Document() {
+        super();
+    }
+
+    /**
+     * @param capacity expected number of paragraphs
+     */
+    Document(int capacity) {
+        super(capacity);
+    }
+
+    private Document(TextComponent[] frozenChildren) {
+        super(frozenChildren);
+    }
+
+    /**
+     * Get an immutable snapshot of this document that any number of threads
+     * can read and analyze concurrently
+     * @return the frozen document, or this document if it is frozen already
+     */
+    @Override
+    public Document freeze() {
+        return (Document) super.freeze();
+    }
+
+    @Override
+    protected Document createFrozen(TextComponent[] frozenChildren) {
+        return new Document(frozenChildren);
+    }
+
     /**
      * Get all paragraphs in this document
      * @return list of paragraphs
      */
     public List<Paragraph> getParagraphs() {
-        return children.stream()
-                .filter(child -> child instanceof Paragraph)
-                .map(child -> (Paragraph) child)
-                .collect(Collectors.toList());
+        return streamParagraphs().collect(Collectors.toList());
     }
 
     /**
@@ -27,11 +57,7 @@ public class Document extends TextComposite {
      * @return list of all sentences in the document
      */
     public List<Sentence> getAllSentences() {
-        return getParagraphs().stream()
-                .flatMap(paragraph -> paragraph.getChildren().stream())
-                .filter(child -> child instanceof Sentence)
-                .map(child -> (Sentence) child)
-                .collect(Collectors.toList());
+        return streamSentences().collect(Collectors.toList());
     }
 
     /**
@@ -39,24 +65,145 @@ public class Document extends TextComposite {
      * @return list of all words in the document
      */
     public List<Word> getAllWords() {
-        return getAllSentences().stream()
-                .flatMap(sentence -> sentence.getChildren().stream())
-                .flatMap(this::extractWords)
-                .collect(Collectors.toList());
+        return streamWords().collect(Collectors.toList());
+    }
+
+    /**
+     * Stream the paragraphs of this document without collecting them first.
+     * The stream is sized and splits evenly when made parallel.
+     * @return stream of paragraphs
+     */
+    public Stream<Paragraph> streamParagraphs() {
+        return StreamSupport.stream(new DocumentSpliterator<>(this, paragraph -> 1L,
+                paragraph -> List.of(paragraph).iterator(), true), false);
+    }
+
+    /**
+     * Stream the sentences of all paragraphs without collecting them first.
+     * The stream is sized, and when made parallel it splits between paragraphs
+     * so that each part holds about the same number of sentences.
+     * @return stream of sentences
+     */
+    public Stream<Sentence> streamSentences() {
+        return StreamSupport.stream(new DocumentSpliterator<>(this, Document::countSentences,
+                paragraph -> new ChildIterator<>(paragraph, Sentence.class), true), false);
+    }
+
+    /**
+     * Stream the words of all sentences, including words directly inside lexemes,
+     * without collecting them first. When made parallel the stream splits between
+     * paragraphs weighted by their number of lexemes.
+     * @return stream of words
+     */
+    public Stream<Word> streamWords() {
+        return StreamSupport.stream(new DocumentSpliterator<>(this, Document::countLexemes,
+                WordIterator::new, false), false);
+    }
+
+    private static long countSentences(Paragraph paragraph) {
+        long sentences = 0;
+        for (int i = 0; i < paragraph.getChildCount(); i++) {
+            if (paragraph.getChild(i) instanceof Sentence) {
+                sentences++;
+            }
+        }
+        return sentences;
+    }
+
+    private static long countLexemes(Paragraph paragraph) {
+        long lexemes = 0;
+        for (int i = 0; i < paragraph.getChildCount(); i++) {
+            lexemes += paragraph.getChild(i).getChildCount();
+        }
+        return lexemes;
     }
 
     /**
-     * Extract words from a component (handles lexemes and direct words)
+     * Iterates over the children of a node that have the given type
      */
-    private java.util.stream.Stream<Word> extractWords(TextComponent component) {
-        if (component instanceof Word) {
-            return java.util.stream.Stream.of((Word) component);
-        } else if (component instanceof Lexeme) {
-            return component.getChildren().stream()
-                    .filter(child -> child instanceof Word)
-                    .map(child -> (Word) child);
+    private static final class ChildIterator<T extends TextComponent> implements Iterator<T> {
+        private final TextComponent parent;
+        private final Class<T> type;
+        private int index;
+        private T next;
+
+        private ChildIterator(TextComponent parent, Class<T> type) {
+            this.parent = parent;
+            this.type = type;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && index < parent.getChildCount()) {
+                TextComponent child = parent.getChild(index++);
+                if (type.isInstance(child)) {
+                    next = type.cast(child);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * Iterates over the words of a paragraph's sentences: words that are lexemes
+     * themselves and words directly inside a lexeme
+     */
+    private static final class WordIterator implements Iterator<Word> {
+        private final Paragraph paragraph;
+        private int sentenceIndex;
+        private int lexemeIndex;
+        private int partIndex;
+        private Word next;
+
+        private WordIterator(Paragraph paragraph) {
+            this.paragraph = paragraph;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && sentenceIndex < paragraph.getChildCount()) {
+                TextComponent sentence = paragraph.getChild(sentenceIndex);
+                if (!(sentence instanceof Sentence) || lexemeIndex >= sentence.getChildCount()) {
+                    sentenceIndex++;
+                    lexemeIndex = 0;
+                    continue;
+                }
+                TextComponent lexeme = sentence.getChild(lexemeIndex);
+                if (lexeme instanceof Word) {
+                    next = (Word) lexeme;
+                    lexemeIndex++;
+                } else if (lexeme instanceof Lexeme && partIndex < lexeme.getChildCount()) {
+                    TextComponent part = lexeme.getChild(partIndex++);
+                    if (part instanceof Word) {
+                        next = (Word) part;
+                    }
+                } else {
+                    lexemeIndex++;
+                    partIndex = 0;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Word next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Word result = next;
+            next = null;
+            return result;
         }
-        return java.util.stream.Stream.empty();
     }
 
     @Override
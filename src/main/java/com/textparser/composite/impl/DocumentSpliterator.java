@@ -0,0 +1,148 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Spliterator walking the nodes of a document paragraph by paragraph without
+ * collecting them. It splits only between paragraphs, at the point that halves
+ * the remaining weight, so paragraphs of very different sizes still balance
+ * across the threads of a parallel stream. When the weight of a paragraph is
+ * its exact number of nodes the spliterator reports {@code SIZED} and
+ * {@code SUBSIZED}; otherwise the weights only estimate the size. The running
+ * sums of the weights are built on the first split, so a stream that is never
+ * split, e.g. a sequential one, costs nothing to set up.
+ *
+ * @param <T> type of the nodes
+ */
+final class DocumentSpliterator<T> implements Spliterator<T> {
+    private final TextComponent document;
+    private final ToLongFunction<Paragraph> weight;
+    private final Function<Paragraph, Iterator<T>> nodes;
+    private final int characteristics;
+    private final int fence;
+    private long[] offsets;
+    private int index;
+    private Iterator<T> current;
+    private long currentConsumed;
+
+    /**
+     * @param document the document to walk
+     * @param weight weight of a paragraph, its node count or an estimate of it
+     * @param nodes iterates over the nodes of a paragraph
+     * @param exact whether the weights are exact node counts
+     */
+    DocumentSpliterator(TextComponent document, ToLongFunction<Paragraph> weight,
+                        Function<Paragraph, Iterator<T>> nodes, boolean exact) {
+        this(document, weight, null, nodes,
+                ORDERED | NONNULL | (exact ? SIZED | SUBSIZED : 0), 0, document.getChildCount());
+    }
+
+    private DocumentSpliterator(TextComponent document, ToLongFunction<Paragraph> weight, long[] offsets,
+                                Function<Paragraph, Iterator<T>> nodes, int characteristics, int index, int fence) {
+        this.document = document;
+        this.weight = weight;
+        this.offsets = offsets;
+        this.nodes = nodes;
+        this.characteristics = characteristics;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Running sums of the paragraph weights; children that are not paragraphs weigh nothing
+     */
+    private static long[] weightOffsets(TextComponent document, ToLongFunction<Paragraph> weight) {
+        int count = document.getChildCount();
+        long[] offsets = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            TextComponent child = document.getChild(i);
+            offsets[i + 1] = offsets[i] + (child instanceof Paragraph ? weight.applyAsLong((Paragraph) child) : 0L);
+        }
+        return offsets;
+    }
+
+    /**
+     * Weight of the child at a position, from the running sums once they are built
+     */
+    private long weightOf(int child) {
+        if (offsets != null) {
+            return offsets[child + 1] - offsets[child];
+        }
+        TextComponent node = document.getChild(child);
+        return node instanceof Paragraph ? weight.applyAsLong((Paragraph) node) : 0L;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (true) {
+            if (current != null) {
+                if (current.hasNext()) {
+                    currentConsumed++;
+                    action.accept(current.next());
+                    return true;
+                }
+                current = null;
+            }
+            if (index >= fence) {
+                return false;
+            }
+            TextComponent child = document.getChild(index);
+            currentConsumed = 0;
+            index++;
+            if (child instanceof Paragraph) {
+                current = nodes.apply((Paragraph) child);
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // A paragraph in progress must stay before the prefix, so split only between whole paragraphs
+        if (current != null || fence - index < 2) {
+            return null;
+        }
+        if (offsets == null) {
+            offsets = weightOffsets(document, weight);
+        }
+        long half = offsets[index] + (offsets[fence] - offsets[index]) / 2;
+        int low = index + 1;
+        int high = fence - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (offsets[middle] < half) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        Spliterator<T> prefix = new DocumentSpliterator<>(document, weight, offsets, nodes, characteristics, index, low);
+        index = low;
+        return prefix;
+    }
+
+    /**
+     * Before the first split the weights of the remaining paragraphs are added up on every call
+     */
+    @Override
+    public long estimateSize() {
+        long size = current != null ? Math.max(weightOf(index - 1) - currentConsumed, 0) : 0;
+        if (offsets != null) {
+            return size + offsets[fence] - offsets[index];
+        }
+        for (int i = index; i < fence; i++) {
+            size += weightOf(i);
+        }
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -22,6 +22,35 @@ public class Lexeme extends TextComposite {
         this.originalText = text;
     }
 
+    /**
+     * @param text the original lexeme text
+     * @param capacity expected number of components
+     */
+    Lexeme(String text, int capacity) {
+        super(capacity);
+        this.originalText = text;
+    }
+
+    /**
+     * Create a frozen lexeme
+     * @param text the original lexeme text
+     * @param frozenChildren the components, all frozen
+     */
+    Lexeme(String text, TextComponent[] frozenChildren) {
+        super(frozenChildren);
+        this.originalText = text;
+    }
+
+    @Override
+    public Lexeme freeze() {
+        return (Lexeme) super.freeze();
+    }
+
+    @Override
+    protected Lexeme createFrozen(TextComponent[] frozenChildren) {
+        return new Lexeme(originalText, frozenChildren);
+    }
+
     /**
      * Get the original text before parsing into components
      * @return the original lexeme text
@@ -30,13 +59,6 @@ public class Lexeme extends TextComposite {
         return originalText;
     }
 
-    @Override
-    public int getWordCount() {
-        return getChildren().stream()
-                .mapToInt(TextComponent::getWordCount)
-                .sum();
-    }
-
     @Override
     public String getText() {
         StringBuilder result = new StringBuilder();
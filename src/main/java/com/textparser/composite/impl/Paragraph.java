@@ -1,6 +1,9 @@
 package com.textparser.composite.impl;
 
+import com.textparser.composite.TextComponent;
 import com.textparser.composite.TextComposite;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Represents a paragraph in the text structure.
@@ -8,6 +11,42 @@ import com.textparser.composite.TextComposite;
  * According to requirements, paragraphs must start with a tab or 4 spaces.
  */
 public class Paragraph extends TextComposite {
+    public Paragraph() {
+        super();
+    }
+
+    /**
+     * @param capacity expected number of sentences
+     */
+    Paragraph(int capacity) {
+        super(capacity);
+    }
+
+    private Paragraph(TextComponent[] frozenChildren) {
+        super(frozenChildren);
+    }
+
+    @Override
+    public Paragraph freeze() {
+        return (Paragraph) super.freeze();
+    }
+
+    @Override
+    protected Paragraph createFrozen(TextComponent[] frozenChildren) {
+        return new Paragraph(frozenChildren);
+    }
+
+    /**
+     * Get all sentences in this paragraph
+     * @return list of sentences
+     */
+    public List<Sentence> getSentences() {
+        return children.stream()
+                .filter(child -> child instanceof Sentence)
+                .map(child -> (Sentence) child)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public String getText() {
         StringBuilder result = new StringBuilder();
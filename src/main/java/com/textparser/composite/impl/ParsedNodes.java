@@ -0,0 +1,64 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+
+/**
+ * Creates nodes for parsers that have already matched their text against the grammar.
+ * The text is not validated again and child lists are sized for the expected number
+ * of children; parsers call {@link com.textparser.composite.TextComposite#trimToSize()}
+ * on a node once all its children are added.
+ * <p>
+ * Trusted callers only: the parser chain, the paragraph cache and
+ * {@link com.textparser.composite.arena.TextArena}, which rebuilds nodes from
+ * text the parser produced. The class is public because they live in other
+ * packages. Any other code builds nodes through the public constructors,
+ * which validate; text passed here unchecked gives words and symbols that
+ * break the grammar.
+ */
+public final class ParsedNodes {
+    private ParsedNodes() {
+    }
+
+    public static Document document(int paragraphs) {
+        return new Document(paragraphs);
+    }
+
+    public static Paragraph paragraph(int sentences) {
+        return new Paragraph(sentences);
+    }
+
+    public static Sentence sentence(int lexemes) {
+        return new Sentence(lexemes);
+    }
+
+    public static Lexeme lexeme(String text, int components) {
+        return new Lexeme(text, components);
+    }
+
+    /**
+     * Create a lexeme in frozen form, for parsers whose components are complete when
+     * the lexeme is created; avoids building a mutable lexeme only to copy it
+     * @param text the original lexeme text
+     * @param components the components, all frozen
+     * @throws IllegalArgumentException if a component is not frozen
+     */
+    public static Lexeme frozenLexeme(String text, TextComponent... components) {
+        return new Lexeme(text, components);
+    }
+
+    /**
+     * Create a word without checking its text; trusted callers only
+     * @param text text matched by {@link com.textparser.util.TextConstants#WORD_PATTERN}
+     */
+    public static Word word(String text) {
+        return new Word(text, false);
+    }
+
+    /**
+     * Create a symbol without checking its text; trusted callers only
+     * @param text a single character or an ellipsis
+     */
+    public static Symbol symbol(String text) {
+        return new Symbol(text, false);
+    }
+}
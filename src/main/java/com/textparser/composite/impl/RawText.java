@@ -0,0 +1,29 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextLeaf;
+
+/**
+ * Represents text that was not broken down further.
+ * Used as the content of the deepest node when the text is parsed
+ * to less than full depth.
+ */
+public class RawText extends TextLeaf {
+    public RawText(String text) {
+        super(text);
+    }
+
+    @Override
+    public int getParagraphCount() {
+        return 0;
+    }
+
+    @Override
+    public int getSentenceCount() {
+        return 0;
+    }
+
+    @Override
+    public int getWordCount() {
+        return 0;
+    }
+}
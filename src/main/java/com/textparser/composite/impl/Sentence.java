@@ -1,12 +1,40 @@
 package com.textparser.composite.impl;
 
+import com.textparser.composite.TextComponent;
 import com.textparser.composite.TextComposite;
 
+import java.util.function.Consumer;
+
 /**
  * Represents a sentence in the text structure.
  * A sentence is a composite node that can contain words and expressions.
  */
 public class Sentence extends TextComposite {
+    public Sentence() {
+        super();
+    }
+
+    /**
+     * @param capacity expected number of lexemes
+     */
+    Sentence(int capacity) {
+        super(capacity);
+    }
+
+    private Sentence(TextComponent[] frozenChildren) {
+        super(frozenChildren);
+    }
+
+    @Override
+    public Sentence freeze() {
+        return (Sentence) super.freeze();
+    }
+
+    @Override
+    protected Sentence createFrozen(TextComponent[] frozenChildren) {
+        return new Sentence(frozenChildren);
+    }
+
     @Override
     public String getText() {
         StringBuilder result = new StringBuilder();
@@ -24,4 +52,26 @@ public class Sentence extends TextComposite {
     public int getSentenceCount() {
         return 1;
     }
+
+    /**
+     * Pass the words of this sentence to an action in text order: the lexemes that
+     * are words and the words among the parts of a lexeme, the words
+     * {@link Document#streamWords()} finds
+     * @param action called for every word
+     */
+    public void forEachWord(Consumer<? super Word> action) {
+        for (int i = 0; i < children.size(); i++) {
+            TextComponent lexeme = children.get(i);
+            if (lexeme instanceof Word) {
+                action.accept((Word) lexeme);
+            } else if (lexeme instanceof Lexeme) {
+                for (int j = 0; j < lexeme.getChildCount(); j++) {
+                    TextComponent part = lexeme.getChild(j);
+                    if (part instanceof Word) {
+                        action.accept((Word) part);
+                    }
+                }
+            }
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.TextComposite;
+import com.textparser.composite.TextLeaf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash-consing pass that makes structurally identical sentences, lexemes and
+ * leaves share one instance, for documents kept in memory for a long time.
+ * Nodes are visited bottom-up, so two subtrees are equal when they are of the
+ * same class, carry the same text and have the very same, already shared,
+ * children; the key of a node therefore costs one hash over its direct children.
+ * <p>
+ * Paragraphs and documents are never shared, so every paragraph keeps its own
+ * list of sentences in text order and operations see the same sequence of nodes
+ * as before. A shared node occurs in several places, so canonical instances are
+ * frozen: changing a sentence, lexeme or leaf of an interned document throws
+ * instead of changing it everywhere it occurs. Paragraphs and the document stay
+ * as they were, and {@link TextComponent#remove} on a paragraph removes the first
+ * of equal sentences. A frozen node, such as a memoized lexeme, is not changed
+ * but replaced by a frozen copy holding the canonical children. The interner
+ * keeps its table between calls, so documents interned with the same instance
+ * share nodes with each other too.
+ */
+public class SubtreeInterner {
+    /**
+     * Shallow heap size estimates with compressed references: object header, fields,
+     * and for child lists the list object and its array. A composite holds its child
+     * list, the frozen flag and three precomputed counts; a mutable node keeps its
+     * children in an {@code ArrayList}, a frozen one in a {@code List.of} list, which
+     * stores one or two children in fields and more in a copied array
+     */
+    private static final int OBJECT_HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int COMPOSITE_FIELDS = REFERENCE + 1 + 3 * Integer.BYTES;
+    private static final int ARRAY_LIST = 24;
+    private static final int IMMUTABLE_LIST = 24;
+
+    private final Map<Shape, TextComponent> canonical = new HashMap<>();
+    private long visitedNodes;
+    private long sharedNodes;
+    private long bytesSaved;
+
+    /**
+     * Replace the subtrees below a node by their canonical instances
+     * @param root the document or other node to intern; the root itself is kept,
+     *        and nothing is replaced below a frozen root
+     * @return number of nodes this call replaced by a shared instance
+     */
+    public long intern(TextComponent root) {
+        long before = sharedNodes;
+        if (!root.isFrozen()) {
+            internChildren(root);
+        }
+        visitedNodes++;
+        return sharedNodes - before;
+    }
+
+    private TextComponent canonicalize(TextComponent node) {
+        TextComponent interned = internChildren(node);
+        visitedNodes++;
+        Shape shape = Shape.of(interned);
+        if (shape == null) {
+            return interned;
+        }
+        TextComponent existing = canonical.get(shape);
+        if (existing == null) {
+            // The children are canonical and frozen already, so this copies the node alone
+            TextComponent frozen = interned.freeze();
+            canonical.put(shape, frozen);
+            return frozen;
+        }
+        if (existing != node) {
+            sharedNodes++;
+            bytesSaved += estimateShallowSize(node);
+        }
+        return existing;
+    }
+
+    /**
+     * Replace the children of a node by their canonical instances
+     * @return the node, or a frozen copy with the canonical children if the node is frozen
+     */
+    private TextComponent internChildren(TextComponent node) {
+        if (!(node instanceof TextComposite)) {
+            return node;
+        }
+        TextComposite composite = (TextComposite) node;
+        TextComponent[] frozenChildren = null;
+        for (int i = 0; i < composite.getChildCount(); i++) {
+            TextComponent child = composite.getChild(i);
+            TextComponent shared = canonicalize(child);
+            if (shared == child) {
+                continue;
+            }
+            if (!composite.isFrozen()) {
+                composite.setChild(i, shared);
+            } else {
+                if (frozenChildren == null) {
+                    frozenChildren = composite.getChildren().toArray(new TextComponent[0]);
+                }
+                frozenChildren[i] = shared;
+            }
+        }
+        return frozenChildren == null ? node : copyFrozen(composite, frozenChildren);
+    }
+
+    private static TextComposite copyFrozen(TextComposite node, TextComponent[] frozenChildren) {
+        if (node instanceof Lexeme) {
+            return ((Lexeme) node).createFrozen(frozenChildren);
+        } else if (node instanceof Sentence) {
+            return ((Sentence) node).createFrozen(frozenChildren);
+        } else if (node instanceof Paragraph) {
+            return ((Paragraph) node).createFrozen(frozenChildren);
+        }
+        return ((Document) node).createFrozen(frozenChildren);
+    }
+
+    /**
+     * @return nodes visited by all calls, shared ones counted at every occurrence
+     */
+    public long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    /**
+     * @return occurrences replaced by a shared instance
+     */
+    public long getSharedNodes() {
+        return sharedNodes;
+    }
+
+    /**
+     * @return distinct sentences, lexemes and leaves in the table
+     */
+    public int getDistinctNodes() {
+        return canonical.size();
+    }
+
+    /**
+     * Estimate the heap released by sharing: the shallow size of every replaced node
+     * and its child list, assuming compressed references. Texts are not counted, as
+     * a replaced node often shares its text string with a node that stays
+     * @return estimated bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * Drop the table; nodes already shared stay shared
+     */
+    public void clear() {
+        canonical.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SubtreeInterner{visited=%d, shared=%d, distinct=%d, estimatedBytesSaved=%d}",
+                visitedNodes, sharedNodes, canonical.size(), bytesSaved);
+    }
+
+    private static long estimateShallowSize(TextComponent node) {
+        if (node instanceof Expression) {
+            return align(OBJECT_HEADER + 2 * REFERENCE + Double.BYTES);
+        }
+        if (node instanceof TextLeaf) {
+            return align(OBJECT_HEADER + REFERENCE);
+        }
+        long fields = OBJECT_HEADER + COMPOSITE_FIELDS + (node instanceof Lexeme ? REFERENCE : 0);
+        return align(fields) + estimateChildList(node);
+    }
+
+    private static long estimateChildList(TextComponent node) {
+        int children = node.getChildCount();
+        if (!node.isFrozen()) {
+            return ARRAY_LIST + align(ARRAY_HEADER + (long) REFERENCE * children);
+        }
+        if (children == 0) {
+            // List.of() is a shared instance
+            return 0;
+        }
+        return children <= 2 ? IMMUTABLE_LIST : IMMUTABLE_LIST + align(ARRAY_HEADER + (long) REFERENCE * children);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Structural key of a node whose children are already canonical
+     */
+    private static final class Shape {
+        private static final TextComponent[] NO_CHILDREN = new TextComponent[0];
+
+        private final Class<?> type;
+        private final String text;
+        private final TextComponent[] children;
+        private final int hash;
+
+        private Shape(Class<?> type, String text, TextComponent[] children) {
+            this.type = type;
+            this.text = text;
+            this.children = children;
+            int result = type.hashCode() * 31 + text.hashCode();
+            for (TextComponent child : children) {
+                result = result * 31 + System.identityHashCode(child);
+            }
+            this.hash = result;
+        }
+
+        /**
+         * @return the key of the node, or null if nodes of its class are not shared
+         */
+        private static Shape of(TextComponent node) {
+            if (node instanceof Sentence) {
+                return new Shape(node.getClass(), "", children(node));
+            }
+            if (node instanceof Lexeme) {
+                return new Shape(node.getClass(), ((Lexeme) node).getOriginalText(), children(node));
+            }
+            if (node instanceof Expression) {
+                Expression expression = (Expression) node;
+                // The rendered value and the source together, so that equal results of different expressions stay apart
+                return new Shape(node.getClass(), expression.getOriginalExpression() + '\u0000' + expression.getText(),
+                        NO_CHILDREN);
+            }
+            if (node instanceof Word || node instanceof Symbol || node instanceof RawText) {
+                return new Shape(node.getClass(), node.getText(), NO_CHILDREN);
+            }
+            return null;
+        }
+
+        private static TextComponent[] children(TextComponent node) {
+            TextComponent[] children = new TextComponent[node.getChildCount()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = node.getChild(i);
+            }
+            return children;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape other = (Shape) o;
+            if (type != other.type || hash != other.hash || !text.equals(other.text)
+                    || children.length != other.children.length) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -14,8 +14,16 @@ public class Symbol extends TextLeaf {
     }
 
     public Symbol(String symbol) {
+        this(symbol, true);
+    }
+
+    /**
+     * @param symbol the symbol text
+     * @param validate whether to check that the text is a single character or an ellipsis
+     */
+    Symbol(String symbol, boolean validate) {
         super(symbol);
-        if (symbol.length() != 1 && !symbol.equals(TextConstants.ELLIPSIS)) {
+        if (validate && symbol.length() != 1 && !symbol.equals(TextConstants.ELLIPSIS)) {
             throw new IllegalArgumentException(String.format("Symbol must be a single character or '%s'", TextConstants.ELLIPSIS));
         }
     }
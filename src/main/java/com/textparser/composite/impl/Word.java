@@ -3,14 +3,26 @@ package com.textparser.composite.impl;
 import com.textparser.composite.TextLeaf;
 import com.textparser.util.TextConstants;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents a word in the text structure.
  * A word is a leaf node that consists of letters.
  */
 public class Word extends TextLeaf {
+    private static final Pattern WORD = Pattern.compile(TextConstants.WORD_PATTERN);
+
     public Word(String text) {
+        this(text, true);
+    }
+
+    /**
+     * @param text the word
+     * @param validate whether to check the text against the word pattern
+     */
+    Word(String text, boolean validate) {
         super(text);
-        if (!text.matches(TextConstants.WORD_PATTERN)) {
+        if (validate && !WORD.matcher(text).matches()) {
             throw new IllegalArgumentException("Text must be a valid word: " + text);
         }
     }
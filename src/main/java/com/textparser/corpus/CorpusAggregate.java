@@ -0,0 +1,204 @@
+package com.textparser.corpus;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Word;
+import com.textparser.util.VowelConsonantUtils;
+import com.textparser.util.VowelConsonantUtils.VowelConsonantCount;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Mergeable analysis state of many documents.
+ * Documents are folded in one at a time and can be released afterwards;
+ * the state grows with the vocabulary, not with the number of documents.
+ * Aggregates built independently, e.g. on different threads or processes,
+ * are combined with {@link #merge(CorpusAggregate)}.
+ */
+public class CorpusAggregate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Sentences with more words than this share the last bucket of the length histogram
+     */
+    public static final int MAX_TRACKED_SENTENCE_WORDS = 256;
+
+    private long documents;
+    private long failedDocuments;
+    private long paragraphs;
+    private long sentences;
+    private long words;
+    private long vowels;
+    private long consonants;
+    private int longestWordLength;
+    private int longestSentenceLength;
+    private final Set<String> longestWords = new TreeSet<>();
+    private final Map<String, Long> wordFrequencies = new HashMap<>();
+    private final long[] sentenceLengths = new long[MAX_TRACKED_SENTENCE_WORDS + 1];
+
+    /**
+     * Fold a parsed document into the aggregate
+     * @param document the document to add
+     */
+    public void add(Document document) {
+        documents++;
+        paragraphs += document.getParagraphCount();
+        document.streamSentences().forEach(this::addSentence);
+        document.streamWords().forEach(this::addWord);
+        VowelConsonantCount letters = VowelConsonantUtils.analyze(document.getText());
+        vowels += letters.getVowels();
+        consonants += letters.getConsonants();
+    }
+
+    private void addSentence(Sentence sentence) {
+        int sentenceWords = sentence.getWordCount();
+        sentences++;
+        words += sentenceWords;
+        sentenceLengths[Math.min(sentenceWords, MAX_TRACKED_SENTENCE_WORDS)]++;
+        longestSentenceLength = Math.max(longestSentenceLength, sentenceWords);
+    }
+
+    private void addWord(Word word) {
+        String text = word.getText().toLowerCase();
+        wordFrequencies.merge(text, 1L, Long::sum);
+        addLongestWordCandidate(text);
+    }
+
+    /**
+     * Record a document that could not be read or parsed
+     */
+    public void addFailure() {
+        failedDocuments++;
+    }
+
+    /**
+     * Combine another aggregate into this one
+     * @param other the aggregate to merge, left unchanged
+     * @return this aggregate
+     */
+    public CorpusAggregate merge(CorpusAggregate other) {
+        documents += other.documents;
+        failedDocuments += other.failedDocuments;
+        paragraphs += other.paragraphs;
+        sentences += other.sentences;
+        words += other.words;
+        vowels += other.vowels;
+        consonants += other.consonants;
+        other.wordFrequencies.forEach((word, count) -> wordFrequencies.merge(word, count, Long::sum));
+        for (String word : other.longestWords) {
+            addLongestWordCandidate(word);
+        }
+        for (int i = 0; i < sentenceLengths.length; i++) {
+            sentenceLengths[i] += other.sentenceLengths[i];
+        }
+        longestSentenceLength = Math.max(longestSentenceLength, other.longestSentenceLength);
+        return this;
+    }
+
+    private void addLongestWordCandidate(String word) {
+        if (word.length() > longestWordLength) {
+            longestWordLength = word.length();
+            longestWords.clear();
+        }
+        if (word.length() == longestWordLength) {
+            longestWords.add(word);
+        }
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getFailedDocuments() {
+        return failedDocuments;
+    }
+
+    public long getParagraphs() {
+        return paragraphs;
+    }
+
+    public long getSentences() {
+        return sentences;
+    }
+
+    public long getWords() {
+        return words;
+    }
+
+    public long getVowels() {
+        return vowels;
+    }
+
+    public long getConsonants() {
+        return consonants;
+    }
+
+    public int getLongestWordLength() {
+        return longestWordLength;
+    }
+
+    /**
+     * Get the word count of the longest sentence, which unlike the length histogram
+     * is not limited to {@link #MAX_TRACKED_SENTENCE_WORDS}
+     * @return longest sentence length in words, 0 if there are no sentences
+     */
+    public int getLongestSentenceLength() {
+        return longestSentenceLength;
+    }
+
+    /**
+     * Get the distinct words (lower case) of the longest length, in alphabetical order
+     * @return longest words
+     */
+    public Set<String> getLongestWords() {
+        return Collections.unmodifiableSet(longestWords);
+    }
+
+    /**
+     * Get the number of occurrences of every word (case insensitive)
+     * @return word frequencies
+     */
+    public Map<String, Long> getWordFrequencies() {
+        return Collections.unmodifiableMap(wordFrequencies);
+    }
+
+    /**
+     * Get the number of sentences by word count; the last bucket holds all
+     * sentences of {@link #MAX_TRACKED_SENTENCE_WORDS} words or more
+     * @return sentence length histogram
+     */
+    public long[] getSentenceLengths() {
+        return Arrays.copyOf(sentenceLengths, sentenceLengths.length);
+    }
+
+    /**
+     * Get the sentence length, in words, below which the given share of sentences falls
+     * @param percentile percentile between 0 and 100
+     * @return sentence length in words, at most {@link #MAX_TRACKED_SENTENCE_WORDS};
+     *         0 if there are no sentences
+     */
+    public int getSentenceLengthPercentile(double percentile) {
+        if (sentences == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * sentences);
+        long seen = 0;
+        for (int length = 0; length < sentenceLengths.length; length++) {
+            seen += sentenceLengths[length];
+            if (seen >= Math.max(rank, 1)) {
+                return length;
+            }
+        }
+        return MAX_TRACKED_SENTENCE_WORDS;
+    }
+
+    public double getMeanSentenceLength() {
+        return sentences == 0 ? 0.0 : (double) words / sentences;
+    }
+}
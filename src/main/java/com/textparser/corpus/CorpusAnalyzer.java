@@ -0,0 +1,149 @@
+package com.textparser.corpus;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.service.FileReaderService;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.TextConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzes a corpus of many files into a single {@link CorpusAggregate}.
+ * Every worker thread folds its share of the files into its own aggregate,
+ * releasing each document once it is added, and the partial aggregates are
+ * merged at the end.
+ */
+public class CorpusAnalyzer {
+    private static final Logger logger = LogManager.getLogger(CorpusAnalyzer.class);
+    private static final int TOP_WORDS = 20;
+    private static final double[] SENTENCE_LENGTH_PERCENTILES = {50, 90, 99};
+
+    private final int threads;
+    private final FileReaderService fileReaderService;
+    private final TextParsingService textParsingService;
+
+    public CorpusAnalyzer(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.fileReaderService = new FileReaderService();
+        this.textParsingService = new TextParsingService();
+    }
+
+    /**
+     * Analyze the given files; unreadable files are counted as failed documents
+     * @param files files to analyze
+     * @return the merged aggregate of all files
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public CorpusAggregate analyze(List<Path> files) throws InterruptedException {
+        logger.info("Analyzing corpus of {} files on {} threads", files.size(), threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CorpusAggregate>> partials = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                List<Path> share = new ArrayList<>();
+                for (int i = worker; i < files.size(); i += threads) {
+                    share.add(files.get(i));
+                }
+                partials.add(executor.submit(() -> analyzeShare(share)));
+            }
+
+            CorpusAggregate aggregate = new CorpusAggregate();
+            for (Future<CorpusAggregate> partial : partials) {
+                aggregate.merge(partial.get());
+            }
+            logger.info("Corpus analysis finished: {} documents, {} distinct words",
+                    aggregate.getDocuments(), aggregate.getWordFrequencies().size());
+            return aggregate;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Corpus analysis failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyze files sequentially into a fresh aggregate
+     * @param files files to analyze
+     * @return the aggregate of the files
+     */
+    public CorpusAggregate analyzeShare(List<Path> files) {
+        CorpusAggregate aggregate = new CorpusAggregate();
+        for (Path file : files) {
+            try {
+                Document document = textParsingService.parseText(fileReaderService.readTextFromFile(file.toString()));
+                aggregate.add(document);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error analyzing corpus file: {}", file, e);
+                aggregate.addFailure();
+            }
+        }
+        return aggregate;
+    }
+
+    /**
+     * Format the corpus report
+     * @param aggregate the corpus aggregate
+     * @return the report text
+     */
+    public static String formatReport(CorpusAggregate aggregate) {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Corpus Analysis Results ===\n");
+        report.append("Generated on: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern(TextConstants.DATE_TIME_PATTERN))).append("\n");
+        report.append(String.format("Documents: %d (failed: %d)%n", aggregate.getDocuments(), aggregate.getFailedDocuments()));
+        report.append(String.format("Paragraphs: %d, Sentences: %d, Words: %d, Distinct words: %d%n",
+                aggregate.getParagraphs(), aggregate.getSentences(), aggregate.getWords(),
+                aggregate.getWordFrequencies().size()));
+
+        report.append("\n1. Most frequent words (case insensitive):\n");
+        aggregate.getWordFrequencies().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_WORDS)
+                .forEach(entry -> report.append(String.format("   '%s': %d times%n", entry.getKey(), entry.getValue())));
+
+        report.append(String.format("%n2. Longest words (%d letters):%n", aggregate.getLongestWordLength()));
+        report.append("   ").append(String.join(", ", aggregate.getLongestWords())).append("\n");
+
+        report.append("\n3. Sentence length in words:\n");
+        report.append(String.format("   Mean: %.2f%n", aggregate.getMeanSentenceLength()));
+        for (double percentile : SENTENCE_LENGTH_PERCENTILES) {
+            report.append(String.format("   P%.0f: %d%n", percentile, aggregate.getSentenceLengthPercentile(percentile)));
+        }
+        report.append(String.format("   Max: %d%n", aggregate.getLongestSentenceLength()));
+
+        report.append("\n4. Vowel and consonant analysis:\n");
+        report.append(String.format("   Vowels: %d, Consonants: %d, Total letters: %d%n",
+                aggregate.getVowels(), aggregate.getConsonants(), aggregate.getVowels() + aggregate.getConsonants()));
+        return report.toString();
+    }
+
+    /**
+     * Write the corpus report to the reports folder
+     * @param aggregate the corpus aggregate
+     * @param fileName name of the report file
+     * @return path of the written report
+     * @throws IOException if the report cannot be written
+     */
+    public static Path writeReport(CorpusAggregate aggregate, String fileName) throws IOException {
+        Path reportPath = Path.of(TextConstants.REPORT_FOLDER_PATH, fileName);
+        Files.createDirectories(reportPath.getParent());
+        Files.writeString(reportPath, formatReport(aggregate));
+        logger.info("Corpus report saved to: {}", reportPath);
+        return reportPath;
+    }
+}
@@ -0,0 +1,181 @@
+package com.textparser.corpus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes a corpus across several local worker JVMs.
+ * The file list is split into shards, more shards than workers so that a crash
+ * only repeats a small part of the work. Up to the configured number of workers
+ * run at a time, each analyzing one shard with {@link CorpusWorker} and writing
+ * its serialized {@link CorpusAggregate}; the coordinator merges the results.
+ * A shard whose worker exits abnormally, times out or leaves no readable
+ * result is retried; if it keeps failing its files are counted as failed documents.
+ */
+public class CorpusCoordinator {
+    private static final Logger logger = LogManager.getLogger(CorpusCoordinator.class);
+    private static final int SHARDS_PER_WORKER = 4;
+
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration shardTimeout;
+    private final List<String> workerJvmOptions;
+
+    /**
+     * @param workers number of worker JVMs running at a time
+     * @param maxAttempts attempts per shard before its files are given up
+     * @param shardTimeout time after which a worker is killed and its shard retried
+     * @param workerJvmOptions options of the worker JVMs, e.g. {@code -Xmx512m}
+     */
+    public CorpusCoordinator(int workers, int maxAttempts, Duration shardTimeout, List<String> workerJvmOptions) {
+        if (workers <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Workers and attempts must be positive");
+        }
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.shardTimeout = shardTimeout;
+        this.workerJvmOptions = List.copyOf(workerJvmOptions);
+    }
+
+    /**
+     * Analyze the files in worker processes and merge their results
+     * @param files files to analyze
+     * @return the merged aggregate of all shards
+     * @throws IOException if the shard files cannot be written
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public CorpusAggregate analyze(List<Path> files) throws IOException, InterruptedException {
+        List<List<Path>> shards = split(files, Math.min(files.size(), workers * SHARDS_PER_WORKER));
+        logger.info("Analyzing {} files in {} shards on {} worker processes", files.size(), shards.size(), workers);
+
+        Path workDirectory = Files.createTempDirectory("corpus-shards");
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        AtomicBoolean workerFailed = new AtomicBoolean();
+        try {
+            List<Future<CorpusAggregate>> results = new ArrayList<>();
+            for (int i = 0; i < shards.size(); i++) {
+                int shardIndex = i;
+                List<Path> shard = shards.get(i);
+                Path shardFile = workDirectory.resolve("shard-" + shardIndex + ".txt");
+                List<String> lines = new ArrayList<>();
+                for (Path file : shard) {
+                    lines.add(file.toAbsolutePath().toString());
+                }
+                Files.write(shardFile, lines, StandardCharsets.UTF_8);
+                results.add(executor.submit(() -> runShard(shardIndex, shardFile, shard.size(), workerFailed)));
+            }
+
+            CorpusAggregate aggregate = new CorpusAggregate();
+            for (Future<CorpusAggregate> result : results) {
+                aggregate.merge(result.get());
+            }
+            logger.info("Merged {} shards: {} documents, {} failed",
+                    shards.size(), aggregate.getDocuments(), aggregate.getFailedDocuments());
+            return aggregate;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Shard coordination failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            if (workerFailed.get()) {
+                logger.warn("Worker logs kept in {}", workDirectory);
+            } else {
+                deleteRecursively(workDirectory);
+            }
+        }
+    }
+
+    /**
+     * Run one shard in worker processes until it succeeds or runs out of attempts
+     */
+    private CorpusAggregate runShard(int shardIndex, Path shardFile, int fileCount, AtomicBoolean workerFailed)
+            throws IOException, InterruptedException {
+        Path resultFile = shardFile.resolveSibling("shard-" + shardIndex + ".result");
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            Path logFile = shardFile.resolveSibling("shard-" + shardIndex + "-attempt-" + attempt + ".log");
+            Process process = createWorkerProcess(shardFile, resultFile, attempt)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            boolean finished = process.waitFor(shardTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!finished) {
+                logger.warn("Worker for shard {} timed out on attempt {}", shardIndex, attempt);
+                process.destroyForcibly().waitFor();
+            } else if (process.exitValue() != 0 || !Files.exists(resultFile)) {
+                logger.warn("Worker for shard {} failed on attempt {} with exit code {}, see {}",
+                        shardIndex, attempt, process.exitValue(), logFile);
+            } else {
+                try {
+                    return CorpusWorker.readResult(resultFile);
+                } catch (IOException e) {
+                    logger.warn("Worker for shard {} left an unreadable result on attempt {}: {}",
+                            shardIndex, attempt, e.toString());
+                    Files.deleteIfExists(resultFile);
+                }
+            }
+            workerFailed.set(true);
+        }
+
+        logger.error("Giving up shard {} after {} attempts", shardIndex, maxAttempts);
+        CorpusAggregate failed = new CorpusAggregate();
+        for (int i = 0; i < fileCount; i++) {
+            failed.addFailure();
+        }
+        return failed;
+    }
+
+    /**
+     * Create the process of a worker JVM analyzing one shard
+     * @param shardFile file listing the files of the shard
+     * @param resultFile file the worker writes its aggregate to
+     * @param attempt attempt number, starting at 1
+     * @return the process builder of the worker
+     */
+    protected ProcessBuilder createWorkerProcess(Path shardFile, Path resultFile, int attempt) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CorpusWorker.class.getName());
+        command.add(shardFile.toString());
+        command.add(resultFile.toString());
+        return new ProcessBuilder(command);
+    }
+
+    /**
+     * Split files into contiguous shards of nearly equal size
+     */
+    private static List<List<Path>> split(List<Path> files, int shardCount) {
+        List<List<Path>> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            int from = (int) ((long) files.size() * i / shardCount);
+            int to = (int) ((long) files.size() * (i + 1) / shardCount);
+            shards.add(new ArrayList<>(files.subList(from, to)));
+        }
+        return shards;
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("Failed to delete shard directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
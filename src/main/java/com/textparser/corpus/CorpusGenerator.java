@@ -0,0 +1,238 @@
+package com.textparser.corpus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Deterministic generator of synthetic text following the parser grammar:
+ * tab or 4-space indented paragraphs, sentences ending in '.', '!', '?' or '...',
+ * words with punctuation, bracketed and quoted words, numbers, inline arithmetic
+ * expressions and mixed Latin/Cyrillic vocabulary.
+ * The same settings always produce the same text, and the generator tracks
+ * exactly how many paragraphs, sentences and words the parser will find in it.
+ */
+public class CorpusGenerator {
+    private static final Logger logger = LogManager.getLogger(CorpusGenerator.class);
+
+    private static final String[] LATIN_WORDS = {
+        "the", "parser", "reads", "text", "and", "builds", "a", "tree", "of", "nodes",
+        "every", "paragraph", "contains", "sentences", "with", "words", "symbols", "value",
+        "composite", "structure", "is", "quick", "brown", "fox", "over", "lazy", "dog",
+        "interpreter", "evaluates", "expressions", "result", "long", "document", "analysis",
+        "well-known", "don't", "it's", "state-of-the-art", "in", "to", "for", "on", "by"
+    };
+    private static final String[] LATIN_CAPITALIZED_WORDS = {
+        "The", "This", "Every", "A", "Parsing", "Text", "Each", "Some", "Many", "Our"
+    };
+    private static final String[] CYRILLIC_WORDS = {
+        "текст", "разбор", "слово", "предложение", "абзац", "и", "в", "на", "дерево",
+        "символ", "значение", "анализ", "документ", "быстрый", "структура", "узел",
+        "выражение", "результат", "длинный", "гласные", "согласные", "читает", "строит"
+    };
+    private static final String[] TERMINATORS = {".", ".", ".", "!", "?", "..."};
+    private static final String[] INNER_PUNCTUATION = {",", ",", ";", ":"};
+    private static final String[][] BRACKETS = {{"(", ")"}, {"[", "]"}, {"{", "}"}};
+    private static final String[][] QUOTES = {{"\"", "\""}, {"'", "'"}, {"“", "”"}};
+    private static final char[] OPERATORS = {'+', '-', '*', '/'};
+    private static final String TAB_INDENT = "\t";
+    private static final String SPACE_INDENT = "    ";
+
+    private final CorpusSettings settings;
+
+    public CorpusGenerator(CorpusSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Generate a corpus into a UTF-8 encoded file
+     * @param path the file to write
+     * @return the exact structure counts of the generated text
+     * @throws IOException if the file cannot be written
+     */
+    public CorpusStatistics generate(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            return generate(writer);
+        }
+    }
+
+    /**
+     * Stream a corpus into a writer. The writer is not closed.
+     * @param writer the destination of the generated text
+     * @return the exact structure counts of the generated text
+     * @throws IOException if writing fails
+     */
+    public CorpusStatistics generate(Writer writer) throws IOException {
+        logger.info("Generating corpus of at least {} bytes with seed {}", settings.getTargetBytes(), settings.getSeed());
+        Writer out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        Generation generation = new Generation(new Random(settings.getSeed()));
+        StringBuilder paragraph = new StringBuilder(1024);
+
+        while (generation.bytes < settings.getTargetBytes()) {
+            paragraph.setLength(0);
+            generation.appendParagraph(paragraph);
+            out.append(paragraph);
+            generation.chars += paragraph.length();
+            generation.bytes += utf8Length(paragraph);
+        }
+        out.flush();
+
+        CorpusStatistics statistics = new CorpusStatistics(generation.paragraphs, generation.sentences,
+                generation.words, generation.chars, generation.bytes);
+        logger.info("Corpus generated. {}", statistics);
+        return statistics;
+    }
+
+    private static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                length++;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Mutable state of a single generation run
+     */
+    private final class Generation {
+        private final Random random;
+        private long paragraphs;
+        private long sentences;
+        private long words;
+        private long chars;
+        private long bytes;
+
+        private Generation(Random random) {
+            this.random = random;
+        }
+
+        private void appendParagraph(StringBuilder text) {
+            // Four spaces only open a paragraph when followed by a Latin capital letter
+            boolean tabIndent = chance(settings.getTabIndentRatio());
+            text.append(tabIndent ? TAB_INDENT : SPACE_INDENT);
+
+            int sentenceCount = between(settings.getMinSentencesPerParagraph(), settings.getMaxSentencesPerParagraph());
+            for (int i = 0; i < sentenceCount; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                appendSentence(text, i == 0 && !tabIndent);
+            }
+            text.append('\n');
+            paragraphs++;
+        }
+
+        private void appendSentence(StringBuilder text, boolean latinStart) {
+            int lexemeCount = between(settings.getMinLexemesPerSentence(), settings.getMaxLexemesPerSentence());
+            if (latinStart) {
+                text.append(pick(LATIN_CAPITALIZED_WORDS));
+            } else {
+                text.append(capitalize(word()));
+            }
+            words++;
+
+            for (int i = 1; i < lexemeCount; i++) {
+                text.append(' ');
+                if (i == lexemeCount - 1) {
+                    text.append(word());
+                    words++;
+                } else {
+                    appendLexeme(text);
+                }
+            }
+            text.append(pick(TERMINATORS));
+            sentences++;
+        }
+
+        private void appendLexeme(StringBuilder text) {
+            double roll = random.nextDouble();
+            if ((roll -= settings.getExpressionRatio()) < 0) {
+                appendExpression(text);
+            } else if ((roll -= settings.getNumberRatio()) < 0) {
+                appendNumber(text);
+                words++;
+            } else if ((roll -= settings.getPunctuationRatio()) < 0) {
+                text.append(word()).append(pick(INNER_PUNCTUATION));
+                words++;
+            } else if ((roll -= settings.getBracketRatio()) < 0) {
+                appendSurrounded(text, pick(BRACKETS));
+                words++;
+            } else if ((roll -= settings.getQuoteRatio()) < 0) {
+                appendSurrounded(text, pick(QUOTES));
+                words++;
+            } else if ((roll -= settings.getDashRatio()) < 0) {
+                text.append('-');
+            } else {
+                text.append(word());
+                words++;
+            }
+        }
+
+        private void appendSurrounded(StringBuilder text, String[] pair) {
+            text.append(pair[0]).append(word()).append(pair[1]);
+            if (random.nextInt(4) == 0) {
+                text.append(pick(INNER_PUNCTUATION));
+            }
+        }
+
+        private void appendNumber(StringBuilder text) {
+            text.append(random.nextInt(10000));
+            if (random.nextInt(4) == 0) {
+                text.append('.').append(random.nextInt(100));
+            }
+        }
+
+        private void appendExpression(StringBuilder text) {
+            int operands = between(2, 4);
+            boolean onlySubtraction = true;
+            text.append(1 + random.nextInt(99));
+            for (int i = 1; i < operands; i++) {
+                char operator = OPERATORS[random.nextInt(OPERATORS.length)];
+                onlySubtraction &= operator == '-';
+                text.append(operator).append(1 + random.nextInt(99));
+            }
+            // Hyphenated numbers such as "10-5" match the word pattern before the expression one
+            if (onlySubtraction) {
+                words++;
+            }
+        }
+
+        private String word() {
+            return chance(settings.getCyrillicRatio()) ? pick(CYRILLIC_WORDS) : pick(LATIN_WORDS);
+        }
+
+        private String capitalize(String word) {
+            return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+
+        private String pick(String[] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private String[] pick(String[][] values) {
+            return values[random.nextInt(values.length)];
+        }
+
+        private boolean chance(double ratio) {
+            return random.nextDouble() < ratio;
+        }
+
+        private int between(int min, int max) {
+            return min + random.nextInt(max - min + 1);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.textparser.corpus;
+
+import java.util.Locale;
+
+/**
+ * Settings controlling the size and distribution of a generated corpus.
+ * Ratios are probabilities in the range [0, 1] applied to every lexeme
+ * that is not the first or the last one of its sentence.
+ */
+public class CorpusSettings {
+    private static final long KILOBYTE = 1024L;
+
+    private long seed = 42L;
+    private long targetBytes = KILOBYTE * KILOBYTE;
+    private int minSentencesPerParagraph = 2;
+    private int maxSentencesPerParagraph = 6;
+    private int minLexemesPerSentence = 4;
+    private int maxLexemesPerSentence = 15;
+    private double tabIndentRatio = 0.5;
+    private double cyrillicRatio = 0.2;
+    private double expressionRatio = 0.04;
+    private double numberRatio = 0.04;
+    private double punctuationRatio = 0.08;
+    private double bracketRatio = 0.03;
+    private double quoteRatio = 0.03;
+    private double dashRatio = 0.01;
+
+    /**
+     * Parse a human readable size such as "512KB", "100MB", "5GB" or a plain byte count
+     * @param size the size to parse
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the size cannot be parsed
+     */
+    public static long parseSize(String size) {
+        String normalized = size.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1L;
+        if (normalized.endsWith("KB")) {
+            multiplier = KILOBYTE;
+        } else if (normalized.endsWith("MB")) {
+            multiplier = KILOBYTE * KILOBYTE;
+        } else if (normalized.endsWith("GB")) {
+            multiplier = KILOBYTE * KILOBYTE * KILOBYTE;
+        }
+        if (multiplier > 1L) {
+            normalized = normalized.substring(0, normalized.length() - 2).trim();
+        } else if (normalized.endsWith("B")) {
+            normalized = normalized.substring(0, normalized.length() - 1).trim();
+        }
+        try {
+            long value = Long.parseLong(normalized);
+            if (value <= 0) {
+                throw new IllegalArgumentException("Size must be positive: " + size);
+            }
+            return Math.multiplyExact(value, multiplier);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid size: " + size, e);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public CorpusSettings setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Get the minimal size of the generated text in UTF-8 bytes.
+     * Generation always finishes the current paragraph, so the output is slightly larger.
+     * @return the target size in bytes
+     */
+    public long getTargetBytes() {
+        return targetBytes;
+    }
+
+    public CorpusSettings setTargetBytes(long targetBytes) {
+        if (targetBytes <= 0) {
+            throw new IllegalArgumentException("Target size must be positive");
+        }
+        this.targetBytes = targetBytes;
+        return this;
+    }
+
+    public int getMinSentencesPerParagraph() {
+        return minSentencesPerParagraph;
+    }
+
+    public int getMaxSentencesPerParagraph() {
+        return maxSentencesPerParagraph;
+    }
+
+    public CorpusSettings setSentencesPerParagraph(int min, int max) {
+        requireRange(min, max, 1);
+        this.minSentencesPerParagraph = min;
+        this.maxSentencesPerParagraph = max;
+        return this;
+    }
+
+    public int getMinLexemesPerSentence() {
+        return minLexemesPerSentence;
+    }
+
+    public int getMaxLexemesPerSentence() {
+        return maxLexemesPerSentence;
+    }
+
+    public CorpusSettings setLexemesPerSentence(int min, int max) {
+        requireRange(min, max, 1);
+        this.minLexemesPerSentence = min;
+        this.maxLexemesPerSentence = max;
+        return this;
+    }
+
+    public double getTabIndentRatio() {
+        return tabIndentRatio;
+    }
+
+    public CorpusSettings setTabIndentRatio(double tabIndentRatio) {
+        this.tabIndentRatio = requireRatio(tabIndentRatio);
+        return this;
+    }
+
+    public double getCyrillicRatio() {
+        return cyrillicRatio;
+    }
+
+    public CorpusSettings setCyrillicRatio(double cyrillicRatio) {
+        this.cyrillicRatio = requireRatio(cyrillicRatio);
+        return this;
+    }
+
+    public double getExpressionRatio() {
+        return expressionRatio;
+    }
+
+    public CorpusSettings setExpressionRatio(double expressionRatio) {
+        this.expressionRatio = requireRatio(expressionRatio);
+        return this;
+    }
+
+    public double getNumberRatio() {
+        return numberRatio;
+    }
+
+    public CorpusSettings setNumberRatio(double numberRatio) {
+        this.numberRatio = requireRatio(numberRatio);
+        return this;
+    }
+
+    public double getPunctuationRatio() {
+        return punctuationRatio;
+    }
+
+    public CorpusSettings setPunctuationRatio(double punctuationRatio) {
+        this.punctuationRatio = requireRatio(punctuationRatio);
+        return this;
+    }
+
+    public double getBracketRatio() {
+        return bracketRatio;
+    }
+
+    public CorpusSettings setBracketRatio(double bracketRatio) {
+        this.bracketRatio = requireRatio(bracketRatio);
+        return this;
+    }
+
+    public double getQuoteRatio() {
+        return quoteRatio;
+    }
+
+    public CorpusSettings setQuoteRatio(double quoteRatio) {
+        this.quoteRatio = requireRatio(quoteRatio);
+        return this;
+    }
+
+    public double getDashRatio() {
+        return dashRatio;
+    }
+
+    public CorpusSettings setDashRatio(double dashRatio) {
+        this.dashRatio = requireRatio(dashRatio);
+        return this;
+    }
+
+    private static void requireRange(int min, int max, int lowest) {
+        if (min < lowest || max < min) {
+            throw new IllegalArgumentException(String.format("Invalid range [%d, %d]", min, max));
+        }
+    }
+
+    private static double requireRatio(double ratio) {
+        if (ratio < 0.0 || ratio > 1.0) {
+            throw new IllegalArgumentException("Ratio must be between 0 and 1: " + ratio);
+        }
+        return ratio;
+    }
+}
@@ -0,0 +1,56 @@
+package com.textparser.corpus;
+
+/**
+ * Exact structure counts of a generated corpus.
+ * Parsing the generated text with {@code TextParsingService} yields
+ * a document with exactly these paragraph, sentence and word counts.
+ */
+public class CorpusStatistics {
+    private final long paragraphs;
+    private final long sentences;
+    private final long words;
+    private final long chars;
+    private final long bytes;
+
+    public CorpusStatistics(long paragraphs, long sentences, long words, long chars, long bytes) {
+        this.paragraphs = paragraphs;
+        this.sentences = sentences;
+        this.words = words;
+        this.chars = chars;
+        this.bytes = bytes;
+    }
+
+    public long getParagraphs() {
+        return paragraphs;
+    }
+
+    public long getSentences() {
+        return sentences;
+    }
+
+    public long getWords() {
+        return words;
+    }
+
+    /**
+     * Get the length of the generated text in UTF-16 chars
+     * @return number of chars written
+     */
+    public long getChars() {
+        return chars;
+    }
+
+    /**
+     * Get the length of the generated text in UTF-8 bytes
+     * @return number of bytes written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Paragraphs: %d, Sentences: %d, Words: %d, Chars: %d, Bytes: %d",
+                paragraphs, sentences, words, chars, bytes);
+    }
+}
@@ -0,0 +1,107 @@
+package com.textparser.corpus;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Entry point of a worker JVM launched by the {@link CorpusCoordinator}.
+ * Reads the list of files of one shard, analyzes them and writes the
+ * serialized {@link CorpusAggregate} to the result file. The result is
+ * written to a temporary file first and moved into place, so a crashed
+ * worker never leaves a partial result behind.
+ * <p>
+ * Usage: {@code CorpusWorker <shard file> <result file>}
+ */
+public final class CorpusWorker {
+    private static final Logger logger = LogManager.getLogger(CorpusWorker.class);
+    static final int EXIT_FAILURE = 1;
+    /**
+     * Classes a result may contain: the aggregate and the JDK types of its fields,
+     * including the entry table a {@link HashMap} checks while it is read
+     */
+    private static final Set<Class<?>> RESULT_CLASSES = Set.of(CorpusAggregate.class, HashMap.class,
+            Map.Entry[].class, TreeSet.class, String.class, Long.class, Number.class, long[].class);
+
+    private CorpusWorker() {
+        // Prevent instantiation
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: CorpusWorker <shard file> <result file>");
+            System.exit(EXIT_FAILURE);
+        }
+        try {
+            List<Path> files = new ArrayList<>();
+            for (String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    files.add(Paths.get(line));
+                }
+            }
+            logger.info("Worker analyzing shard {} with {} files", args[0], files.size());
+            CorpusAggregate aggregate = new CorpusAnalyzer(1).analyzeShare(files);
+            writeResult(aggregate, Paths.get(args[1]));
+            logger.info("Worker finished shard {}", args[0]);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Worker failed on shard {}", args[0], e);
+            LogManager.shutdown();
+            System.exit(EXIT_FAILURE);
+        }
+        LogManager.shutdown();
+    }
+
+    /**
+     * Serialize an aggregate to a file, replacing it atomically
+     * @param aggregate the aggregate to write
+     * @param resultFile the file to write
+     * @throws IOException if the file cannot be written
+     */
+    static void writeResult(CorpusAggregate aggregate, Path resultFile) throws IOException {
+        Path temporary = resultFile.resolveSibling(resultFile.getFileName() + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temporary);
+             ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+            objectOutput.writeObject(aggregate);
+        }
+        Files.move(temporary, resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ObjectInputFilter.Status filterResult(ObjectInputFilter.FilterInfo info) {
+        Class<?> serialClass = info.serialClass();
+        if (serialClass == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        return RESULT_CLASSES.contains(serialClass) ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+    }
+
+    /**
+     * Read an aggregate written by {@link #writeResult}
+     * @param resultFile the file to read
+     * @return the aggregate
+     * @throws IOException if the file cannot be read, is truncated or holds anything but an aggregate
+     */
+    static CorpusAggregate readResult(Path resultFile) throws IOException {
+        try (ObjectInputStream input = new ObjectInputStream(Files.newInputStream(resultFile))) {
+            input.setObjectInputFilter(CorpusWorker::filterResult);
+            return (CorpusAggregate) input.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid worker result: " + resultFile, e);
+        }
+    }
+}
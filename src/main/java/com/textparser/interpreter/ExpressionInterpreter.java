@@ -1,20 +1,27 @@
 package com.textparser.interpreter;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BinaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.Stack;
 
+import com.textparser.util.ScratchBuffers;
 import com.textparser.util.TextConstants;
 
 /**
  * Expression interpreter using functional interfaces.
  * Implements the Interpreter pattern for evaluating arithmetic expressions.
  * Supports basic arithmetic operations: +, -, *, /
+ * An interpreter holds no state of an evaluation and can be shared by threads.
  */
 public class ExpressionInterpreter {
-    
+    private static final Pattern EXPRESSION = Pattern.compile(TextConstants.EXPRESSION_PATTERN);
+    private static final Pattern TOKEN = Pattern.compile(TextConstants.TOKEN_PATTERN);
+
     private final Map<String, BinaryOperator<Double>> operators;
     private final Map<String, Integer> precedence;
     
@@ -61,29 +68,28 @@ public class ExpressionInterpreter {
      * @return true if it's a valid expression
      */
     public boolean isValidExpression(String text) {
-        String pattern = TextConstants.EXPRESSION_PATTERN;
-        return text.matches(pattern);
+        return ScratchBuffers.current().matcher(EXPRESSION, text).matches();
     }
     
     /**
      * Convert infix expression to postfix notation (Shunting Yard algorithm)
      */
-    private String infixToPostfix(String infix) {
-        StringBuilder output = new StringBuilder();
-        Stack<String> operatorStack = new Stack<>();
+    private List<String> infixToPostfix(String infix) {
+        List<String> tokens = tokenize(infix);
+        List<String> output = new ArrayList<>(tokens.size());
+        Deque<String> operatorStack = new ArrayDeque<>();
         
-        String[] tokens = tokenize(infix);
         final String LEFT_PAREN = "(";
         final String RIGHT_PAREN = ")";
         
         for (String token : tokens) {
             if (isNumber(token)) {
-                output.append(token).append(" ");
+                output.add(token);
             } else if (operators.containsKey(token)) {
                 while (!operatorStack.isEmpty() && 
                        operators.containsKey(operatorStack.peek()) &&
                        precedence.get(operatorStack.peek()) >= precedence.get(token)) {
-                    output.append(operatorStack.pop()).append(" ");
+                    output.add(operatorStack.pop());
                 }
                 operatorStack.push(token);
             } else if (LEFT_PAREN.equals(token)) {
@@ -96,7 +102,7 @@ public class ExpressionInterpreter {
                         foundLeftParen = true;
                         break;
                     } else {
-                        output.append(op).append(" ");
+                        output.add(op);
                     }
                 }
                 if (!foundLeftParen) {
@@ -110,20 +116,19 @@ public class ExpressionInterpreter {
             if (LEFT_PAREN.equals(op) || RIGHT_PAREN.equals(op)) {
                 throw new IllegalArgumentException("Mismatched parentheses in expression");
             }
-            output.append(op).append(" ");
+            output.add(op);
         }
         
-        return output.toString().trim();
+        return output;
     }
     
     /**
      * Evaluate a postfix expression
      */
-    private double evaluatePostfix(String postfix) {
-        Stack<Double> stack = new Stack<>();
-        String[] tokens = postfix.split(TextConstants.WHITESPACE_PATTERN);
+    private double evaluatePostfix(List<String> postfix) {
+        Deque<Double> stack = new ArrayDeque<>();
         
-        for (String token : tokens) {
+        for (String token : postfix) {
             if (isNumber(token)) {
                 stack.push(Double.parseDouble(token));
             } else if (operators.containsKey(token)) {
@@ -146,17 +151,18 @@ public class ExpressionInterpreter {
     
     /**
      * Tokenize the expression into numbers and operators
+     * @return the token list of the current thread, valid until the next call
      */
-    private String[] tokenize(String expression) {
-        Pattern pattern = Pattern.compile(TextConstants.TOKEN_PATTERN);
-        Matcher matcher = pattern.matcher(expression);
+    private List<String> tokenize(String expression) {
+        ScratchBuffers scratch = ScratchBuffers.current();
+        Matcher matcher = scratch.matcher(TOKEN, expression);
         
-        java.util.List<String> tokens = new java.util.ArrayList<>();
+        List<String> tokens = scratch.tokens();
         while (matcher.find()) {
             tokens.add(matcher.group());
         }
         
-        return tokens.toArray(new String[0]);
+        return tokens;
     }
     
     /**
@@ -0,0 +1,37 @@
+package com.textparser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter safe for concurrent updates without locking.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Increment the counter by one
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Add the given amount to the counter
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Get the current value
+     * @return the counter value
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
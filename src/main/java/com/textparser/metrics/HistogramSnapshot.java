@@ -0,0 +1,64 @@
+package com.textparser.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable view of a {@link LatencyHistogram}.
+ * Exposed through JMX as composite data, hence the bean-style getters.
+ */
+public class HistogramSnapshot {
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+
+    @ConstructorProperties({"count", "totalNanos", "maxNanos", "p50Nanos", "p90Nanos", "p99Nanos"})
+    public HistogramSnapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Get the mean duration
+     * @return mean in nanoseconds, or 0 when nothing was recorded
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0L : totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, total=%.3fms, mean=%dns, p50<=%dns, p90<=%dns, p99<=%dns, max=%dns",
+                count, totalNanos / 1_000_000.0, getMeanNanos(), p50Nanos, p90Nanos, p99Nanos, maxNanos);
+    }
+}
@@ -0,0 +1,75 @@
+package com.textparser.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * Bucket {@code i} holds values in {@code [2^(i-1), 2^i)}, so percentiles
+ * are reported as the upper bound of their bucket (at most 2x the real value).
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a single measurement
+     * @param nanos the measured duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+        totalNanos.add(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Take a consistent-enough view of the histogram.
+     * Concurrent updates may be partially visible, which is acceptable for monitoring.
+     * @return snapshot of the current state
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new HistogramSnapshot(total, totalNanos.sum(), maxNanos.get(),
+                percentile(counts, total, 0.50), percentile(counts, total, 0.90), percentile(counts, total, 0.99));
+    }
+
+    private static long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == 0 ? 0L : (i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.set(0L);
+    }
+}
@@ -0,0 +1,37 @@
+package com.textparser.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link MetricsRegistry}.
+ */
+public interface MetricsMXBean {
+    /**
+     * Get all counters by name
+     * @return counter values
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Get the current value of all gauges by name
+     * @return gauge values
+     */
+    Map<String, Long> getGauges();
+
+    /**
+     * Get all latency histograms by name
+     * @return histogram snapshots
+     */
+    Map<String, HistogramSnapshot> getHistograms();
+
+    /**
+     * Get a human readable summary of all metrics
+     * @return the summary text
+     */
+    String getSummary();
+
+    /**
+     * Reset all counters and histograms
+     */
+    void reset();
+}
@@ -0,0 +1,131 @@
+package com.textparser.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process registry of named counters, gauges and latency histograms.
+ * Metrics are created on first use and updated without locking; callers on
+ * hot paths should look them up once and keep the reference.
+ * The default registry is published through JMX as {@value #OBJECT_NAME}.
+ */
+public class MetricsRegistry implements MetricsMXBean {
+    private static final Logger logger = LogManager.getLogger(MetricsRegistry.class);
+    public static final String OBJECT_NAME = "com.textparser:type=Metrics";
+
+    private static final MetricsRegistry DEFAULT = createDefault();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Get the application-wide registry
+     * @return the default registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get or create a counter
+     * @param name the metric name
+     * @return the counter registered under the name
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Get or create a latency histogram
+     * @param name the metric name
+     * @return the histogram registered under the name
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Register a gauge, replacing any gauge of the same name
+     * @param name the metric name
+     * @param supplier supplies the current value; called on every read, so it must be cheap and thread-safe
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Remove a gauge, typically when the component it observes is closed
+     * @param name the metric name
+     */
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public Map<String, HistogramSnapshot> getHistograms() {
+        Map<String, HistogramSnapshot> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.snapshot()));
+        return values;
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        getHistograms().forEach((name, snapshot) -> {
+            if (snapshot.getCount() > 0) {
+                summary.append(String.format("   %s: %s%n", name, snapshot));
+            }
+        });
+        getCounters().forEach((name, value) -> {
+            if (value > 0) {
+                summary.append(String.format("   %s: %d%n", name, value));
+            }
+        });
+        getGauges().forEach((name, value) -> summary.append(String.format("   %s: %d%n", name, value)));
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    private static MetricsRegistry createDefault() {
+        MetricsRegistry registry = new MetricsRegistry();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(registry, name);
+            }
+        } catch (JMException | SecurityException e) {
+            logger.warn("Failed to register metrics MBean: {}", e.getMessage());
+        }
+        return registry;
+    }
+}
@@ -0,0 +1,59 @@
+package com.textparser.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs a summary of the registry at a fixed interval and once more on close.
+ * Replaces per-node logging as the way to see where parsing time goes.
+ */
+public class MetricsReporter implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(MetricsReporter.class);
+    public static final String INTERVAL_PROPERTY = "textparser.metrics.reportIntervalSeconds";
+    private static final long DEFAULT_INTERVAL_SECONDS = 60L;
+
+    private final MetricsRegistry registry;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(MetricsRegistry registry, long intervalSeconds) {
+        this.registry = registry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalSeconds > 0) {
+            scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Start a reporter for the default registry with the interval taken from
+     * the {@value #INTERVAL_PROPERTY} system property (0 disables periodic reports)
+     * @return the running reporter
+     */
+    public static MetricsReporter startDefault() {
+        long interval = Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS);
+        return new MetricsReporter(MetricsRegistry.getDefault(), interval);
+    }
+
+    /**
+     * Log the current metrics summary
+     */
+    public void report() {
+        String summary = registry.getSummary();
+        if (!summary.isEmpty()) {
+            logger.info("Metrics summary:\n{}", summary);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+}
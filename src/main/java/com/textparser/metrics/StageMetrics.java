@@ -0,0 +1,79 @@
+package com.textparser.metrics;
+
+/**
+ * Group of metrics describing one processing stage: a parser in the chain,
+ * a text operation or a server endpoint. Names follow {@code <kind>.<stage>.<metric>}.
+ */
+public class StageMetrics {
+    private final LatencyHistogram time;
+    private final Counter nodes;
+    private final Counter chars;
+    private final Counter delegated;
+    private final Counter failures;
+
+    private StageMetrics(MetricsRegistry registry, String prefix) {
+        this.time = registry.histogram(prefix + ".time");
+        this.nodes = registry.counter(prefix + ".nodes");
+        this.chars = registry.counter(prefix + ".chars");
+        this.delegated = registry.counter(prefix + ".delegated");
+        this.failures = registry.counter(prefix + ".failures");
+    }
+
+    /**
+     * Metrics of a parser stage in the default registry
+     * @param stage the stage name, e.g. "sentence"
+     * @return the stage metrics
+     */
+    public static StageMetrics parser(String stage) {
+        return new StageMetrics(MetricsRegistry.getDefault(), "parser." + stage);
+    }
+
+    /**
+     * Metrics of a text operation in the default registry
+     * @param operation the operation name
+     * @return the operation metrics
+     */
+    public static StageMetrics operation(String operation) {
+        return new StageMetrics(MetricsRegistry.getDefault(), "operation." + operation);
+    }
+
+    /**
+     * Metrics of a server endpoint in the default registry
+     * @param endpoint the endpoint name
+     * @return the endpoint metrics
+     */
+    public static StageMetrics server(String endpoint) {
+        return new StageMetrics(MetricsRegistry.getDefault(), "server." + endpoint);
+    }
+
+    /**
+     * Record one invocation of the stage
+     * @param charsConsumed length of the input handled by the invocation
+     * @param nanos time spent, including delegated stages
+     */
+    public void recordInvocation(int charsConsumed, long nanos) {
+        chars.add(charsConsumed);
+        time.record(nanos);
+    }
+
+    /**
+     * Record that the stage produced a node
+     */
+    public void nodeProduced() {
+        nodes.increment();
+    }
+
+    /**
+     * Record that the stage passed its input to the next stage
+     */
+    public void delegated() {
+        delegated.increment();
+    }
+
+    /**
+     * Record a failure such as an unparseable lexeme or an expression evaluation error
+     */
+    public void failure() {
+        failures.increment();
+    }
+}
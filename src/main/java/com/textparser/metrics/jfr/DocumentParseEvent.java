@@ -0,0 +1,35 @@
+package com.textparser.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one call of {@code TextParsingService.parseText}.
+ */
+@Name("com.textparser.DocumentParse")
+@Label("Document Parse")
+@Description("Parsing of a complete text into a Document")
+@Category({"Text Parser", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+public class DocumentParseEvent extends Event {
+    @Label("Input Chars")
+    public long inputChars;
+
+    @Label("Paragraphs")
+    public int paragraphs;
+
+    @Label("Sentences")
+    public int sentences;
+
+    @Label("Words")
+    public int words;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,29 @@
+package com.textparser.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one arithmetic expression evaluation in {@code ExpressionParser}.
+ */
+@Name("com.textparser.ExpressionEvaluation")
+@Label("Expression Evaluation")
+@Description("Evaluation of an arithmetic expression found in the text")
+@Category({"Text Parser", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+public class ExpressionEvaluationEvent extends Event {
+    @Label("Expression")
+    public String expression;
+
+    @Label("Result")
+    public double result;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,36 @@
+package com.textparser.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the parse of one large paragraph.
+ * Only paragraphs of at least {@value #THRESHOLD_PROPERTY} chars are recorded.
+ */
+@Name("com.textparser.ParagraphParse")
+@Label("Paragraph Parse")
+@Description("Parsing of a paragraph above the configured size threshold")
+@Category({"Text Parser", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+public class ParagraphParseEvent extends Event {
+    public static final String THRESHOLD_PROPERTY = "textparser.jfr.paragraphThresholdChars";
+    public static final int THRESHOLD_CHARS = Integer.getInteger(THRESHOLD_PROPERTY, 1024);
+
+    @Label("Paragraph Index")
+    public int index;
+
+    @Label("Input Chars")
+    public long inputChars;
+
+    @Label("Sentences")
+    public int sentences;
+
+    @Label("Words")
+    public int words;
+}
@@ -0,0 +1,33 @@
+package com.textparser.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one execution of a {@code TextOperation}.
+ */
+@Name("com.textparser.TextOperation")
+@Label("Text Operation")
+@Description("Execution of a text operation on a parsed Document")
+@Category({"Text Parser", "Operations"})
+@Enabled(false)
+@StackTrace(false)
+public class TextOperationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Paragraphs")
+    public int paragraphs;
+
+    @Label("Result Size")
+    @Description("Number of elements in the result, or -1 when the result is not a collection")
+    public int resultSize;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
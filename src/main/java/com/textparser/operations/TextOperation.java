@@ -1,6 +1,9 @@
 package com.textparser.operations;
 
+import com.textparser.composite.arena.TextArena;
 import com.textparser.composite.impl.Document;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParserConfiguration;
 
 /**
  * Strategy pattern interface for text operations.
@@ -14,9 +17,39 @@ public interface TextOperation<T> {
      */
     T execute(Document document);
 
+    /**
+     * Execute the operation on a document stored in an arena; by default the
+     * document is built from the arena first, operations that can work on the
+     * arena's arrays override this
+     * @param arena the arena holding the document
+     * @return the result of the operation
+     */
+    default T execute(TextArena arena) {
+        return execute(arena.toDocument());
+    }
+
     /**
      * Get a description of what this operation does
      * @return operation description
      */
     String getDescription();
+
+    /**
+     * Get the parts of the structure this operation reads, so that parsing can
+     * skip everything else; by default the complete structure is required
+     * @return the minimal parser configuration giving the same result
+     */
+    default ParserConfiguration getRequirements() {
+        return new ParserConfiguration();
+    }
+
+    /**
+     * Create a listener computing the result of this operation while the document
+     * is parsed, so no pass over the finished document is needed; the parse must
+     * meet {@link #getRequirements()}
+     * @return a new listener, or null if the operation needs the finished document
+     */
+    default AnalysisListener<T> createListener() {
+        return null;
+    }
 } 
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.textparser.operations.impl;
 
+import com.textparser.composite.arena.TextArena;
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Sentence;
 import com.textparser.operations.TextOperation;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParserConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -18,7 +24,7 @@ public class CountIdenticalWords implements TextOperation<Map<String, Integer>>
     public Map<String, Integer> execute(Document document) {
         logger.info("Counting identical words (case insensitive)");
         
-        Map<String, Integer> wordCounts = document.getAllWords().stream()
+        Map<String, Integer> wordCounts = document.streamWords()
                 .collect(Collectors.groupingBy(
                     word -> word.getText().toLowerCase(), // Case insensitive grouping
                     Collectors.collectingAndThen(
@@ -45,6 +51,19 @@ public class CountIdenticalWords implements TextOperation<Map<String, Integer>>
         return duplicateWords;
     }
 
+    /**
+     * Count the words straight from the arena's text buffer
+     */
+    @Override
+    public Map<String, Integer> execute(TextArena arena) {
+        logger.info("Counting identical words (case insensitive) in arena");
+        Map<String, Integer> wordCounts = new HashMap<>();
+        arena.forEachSentence(sentence -> arena.forEachWord(sentence,
+                word -> wordCounts.merge(arena.rawText(word).toLowerCase(), 1, Integer::sum)));
+        logger.debug("Found {} unique words (case insensitive)", wordCounts.size());
+        return getDuplicateWords(wordCounts);
+    }
+
     /**
      * Get only the words that appear more than once
      * @param wordCounts the map of words and their counts
@@ -59,6 +78,34 @@ public class CountIdenticalWords implements TextOperation<Map<String, Integer>>
                 ));
     }
 
+    /**
+     * Only word leaves are counted; expressions and symbols are never words
+     */
+    @Override
+    public ParserConfiguration getRequirements() {
+        return ParserConfiguration.minimal().setDepth(ParseDepth.FULL);
+    }
+
+    /**
+     * Counts the words of every sentence as soon as it is parsed
+     */
+    @Override
+    public AnalysisListener<Map<String, Integer>> createListener() {
+        return new AnalysisListener<>() {
+            private final Map<String, Integer> wordCounts = new HashMap<>();
+
+            @Override
+            public void onSentenceEnd(Sentence sentence) {
+                sentence.forEachWord(word -> wordCounts.merge(word.getText().toLowerCase(), 1, Integer::sum));
+            }
+
+            @Override
+            public Map<String, Integer> getResult() {
+                return getDuplicateWords(wordCounts);
+            }
+        };
+    }
+
     @Override
     public String getDescription() {
         return "Count identical words in the document (case insensitive)";
@@ -1,8 +1,12 @@
 package com.textparser.operations.impl;
 
+import com.textparser.composite.arena.TextArena;
 import com.textparser.composite.impl.Document;
 import com.textparser.composite.impl.Sentence;
 import com.textparser.operations.TextOperation;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParserConfiguration;
 import com.textparser.util.VowelConsonantUtils;
 import com.textparser.util.VowelConsonantUtils.VowelConsonantCount;
 import org.apache.logging.log4j.LogManager;
@@ -53,6 +57,30 @@ public class CountVowelsConsonants implements TextOperation<Map<String, VowelCon
         return results;
     }
 
+    /**
+     * Count the letters in each sentence's range of the arena's text buffer;
+     * the separators the sentence text adds are spaces and hold no letters
+     */
+    @Override
+    public Map<String, VowelConsonantCount> execute(TextArena arena) {
+        logger.info("Counting vowels and consonants in arena sentences");
+        Map<String, VowelConsonantCount> results = new LinkedHashMap<>();
+        arena.forEachSentence(sentence -> {
+            int vowels = 0;
+            int consonants = 0;
+            for (int i = arena.textStart(sentence); i < arena.textEnd(sentence); i++) {
+                char c = arena.charAt(i);
+                if (VowelConsonantUtils.isVowel(c)) {
+                    vowels++;
+                } else if (VowelConsonantUtils.isConsonant(c)) {
+                    consonants++;
+                }
+            }
+            results.put(String.format("Sentence %d", results.size() + 1), new VowelConsonantCount(vowels, consonants));
+        });
+        return results;
+    }
+
     /**
      * Get summary statistics for the entire document
      * @param document the document to analyze
@@ -80,6 +108,38 @@ public class CountVowelsConsonants implements TextOperation<Map<String, VowelCon
         return results;
     }
 
+    /**
+     * Letters are counted in the sentence text, where an evaluated expression reads
+     * as its value, such as {@code Infinity} or {@code NaN}; raw text leaves keep the
+     * text of symbols, but the full chain still decides which lexemes are kept
+     */
+    @Override
+    public ParserConfiguration getRequirements() {
+        return ParserConfiguration.minimal().setDepth(ParseDepth.FULL).setEvaluateExpressions(true);
+    }
+
+    /**
+     * Counts the letters of each sentence as soon as it is parsed. Words are not the
+     * only leaves holding letters: expression values and raw text count as well, so
+     * the sentence text is counted, as {@link #execute(Document)} does
+     */
+    @Override
+    public AnalysisListener<Map<String, VowelConsonantCount>> createListener() {
+        return new AnalysisListener<>() {
+            private final Map<String, VowelConsonantCount> results = new LinkedHashMap<>();
+
+            @Override
+            public void onSentenceEnd(Sentence sentence) {
+                results.put(String.format("Sentence %d", results.size() + 1), VowelConsonantUtils.analyze(sentence.getText()));
+            }
+
+            @Override
+            public Map<String, VowelConsonantCount> getResult() {
+                return results;
+            }
+        };
+    }
+
     @Override
     public String getDescription() {
         return "Count vowels and consonants in each sentence";
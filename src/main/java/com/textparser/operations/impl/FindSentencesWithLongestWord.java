@@ -1,12 +1,17 @@
 package com.textparser.operations.impl;
 
+import com.textparser.composite.arena.TextArena;
 import com.textparser.composite.impl.Document;
 import com.textparser.composite.impl.Sentence;
 import com.textparser.composite.impl.Word;
 import com.textparser.operations.TextOperation;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParserConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,7 +26,7 @@ public class FindSentencesWithLongestWord implements TextOperation<List<Sentence
         logger.info("Finding sentences with longest word");
         
         // Find the longest word length in the entire document
-        int maxWordLength = document.getAllWords().stream()
+        int maxWordLength = document.streamWords()
                 .mapToInt(word -> word.getText().length())
                 .max()
                 .orElse(0);
@@ -34,7 +39,7 @@ public class FindSentencesWithLongestWord implements TextOperation<List<Sentence
         }
         
         // Find all sentences that contain at least one word of maximum length
-        List<Sentence> sentencesWithLongestWord = document.getAllSentences().stream()
+        List<Sentence> sentencesWithLongestWord = document.streamSentences()
                 .filter(sentence -> containsWordOfLength(sentence, maxWordLength))
                 .collect(Collectors.toList());
         
@@ -44,6 +49,30 @@ public class FindSentencesWithLongestWord implements TextOperation<List<Sentence
         return sentencesWithLongestWord;
     }
 
+    /**
+     * Compare word lengths from the arena's ranges; only the found sentences are built as objects
+     */
+    @Override
+    public List<Sentence> execute(TextArena arena) {
+        logger.info("Finding sentences with longest word in arena");
+        int[] maxWordLength = new int[1];
+        arena.forEachSentence(sentence -> arena.forEachWord(sentence,
+                word -> maxWordLength[0] = Math.max(maxWordLength[0], arena.textEnd(word) - arena.textStart(word))));
+        if (maxWordLength[0] == 0) {
+            logger.warn("No words found in document");
+            return List.of();
+        }
+        List<Sentence> sentencesWithLongestWord = new ArrayList<>();
+        arena.forEachSentence(sentence -> {
+            boolean[] found = new boolean[1];
+            arena.forEachWord(sentence, word -> found[0] |= arena.textEnd(word) - arena.textStart(word) == maxWordLength[0]);
+            if (found[0]) {
+                sentencesWithLongestWord.add((Sentence) arena.toComponent(sentence));
+            }
+        });
+        return sentencesWithLongestWord;
+    }
+
     /**
      * Check if a sentence contains at least one word of the specified length
      */
@@ -62,6 +91,46 @@ public class FindSentencesWithLongestWord implements TextOperation<List<Sentence
                 .anyMatch(word -> word.getText().length() == targetLength);
     }
 
+    /**
+     * Needs word leaves, and evaluated expressions for the text of the found sentences
+     */
+    @Override
+    public ParserConfiguration getRequirements() {
+        return ParserConfiguration.minimal().setDepth(ParseDepth.FULL).setEvaluateExpressions(true);
+    }
+
+    /**
+     * Keeps the sentences holding the longest word parsed so far, starting over
+     * whenever a sentence holds a longer one
+     */
+    @Override
+    public AnalysisListener<List<Sentence>> createListener() {
+        return new AnalysisListener<>() {
+            private final List<Sentence> sentences = new ArrayList<>();
+            private int maxWordLength;
+            private int sentenceMaxWordLength;
+
+            @Override
+            public void onSentenceEnd(Sentence sentence) {
+                sentenceMaxWordLength = 0;
+                sentence.forEachWord(word -> sentenceMaxWordLength = Math.max(sentenceMaxWordLength, word.getText().length()));
+                if (sentenceMaxWordLength == 0 || sentenceMaxWordLength < maxWordLength) {
+                    return;
+                }
+                if (sentenceMaxWordLength > maxWordLength) {
+                    maxWordLength = sentenceMaxWordLength;
+                    sentences.clear();
+                }
+                sentences.add(sentence);
+            }
+
+            @Override
+            public List<Sentence> getResult() {
+                return new ArrayList<>(sentences);
+            }
+        };
+    }
+
     @Override
     public String getDescription() {
         return "Find sentences containing the longest word(s) in the document";
@@ -1,17 +1,26 @@
 package com.textparser.operations.impl;
 
+import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Lexeme;
 import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.RawText;
 import com.textparser.composite.impl.Sentence;
 import com.textparser.operations.TextOperation;
+import com.textparser.util.TextConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.regex.Pattern;
+
 /**
  * Operation to remove sentences with fewer words than the specified threshold.
+ * Documents parsed above full depth have no words, so their sentences are
+ * measured by lexeme count instead.
  */
 public class RemoveShortSentences implements TextOperation<Document> {
     private static final Logger logger = LogManager.getLogger(RemoveShortSentences.class);
+    private static final Pattern LEXEME_SPLIT = Pattern.compile(TextConstants.LEXEME_SPLIT_PATTERN);
     private int minWordCount;
 
     public RemoveShortSentences(int minWordCount) {
@@ -34,7 +43,7 @@ public class RemoveShortSentences implements TextOperation<Document> {
                     Sentence sentence = (Sentence) component;
                     totalSentences++;
                     
-                    int wordCount = sentence.getWordCount();
+                    int wordCount = countWords(sentence);
                     if (wordCount >= minWordCount) {
                         newParagraph.add(sentence);
                         logger.debug("Keeping sentence with {} words", wordCount);
@@ -59,6 +68,25 @@ public class RemoveShortSentences implements TextOperation<Document> {
         return modifiedDocument;
     }
 
+    /**
+     * Count the words of a sentence. A lexeme kept as raw text counts as one word,
+     * and a sentence kept as raw text counts as many words as it has lexemes.
+     */
+    private static int countWords(Sentence sentence) {
+        int count = 0;
+        for (TextComponent child : sentence.getChildren()) {
+            if (child instanceof RawText) {
+                String text = child.getText().trim();
+                count += text.isEmpty() ? 0 : LEXEME_SPLIT.split(text).length;
+            } else if (child instanceof Lexeme && child.getChildCount() == 1 && child.getChild(0) instanceof RawText) {
+                count++;
+            } else {
+                count += child.getWordCount();
+            }
+        }
+        return count;
+    }
+
     @Override
     public String getDescription() {
         return String.format("Remove sentences with fewer than %d words", minWordCount);
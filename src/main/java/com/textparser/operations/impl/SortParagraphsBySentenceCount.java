@@ -2,10 +2,15 @@ package com.textparser.operations.impl;
 
 import com.textparser.composite.impl.Document;
 import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
 import com.textparser.operations.TextOperation;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParserConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -35,6 +40,52 @@ public class SortParagraphsBySentenceCount implements TextOperation<List<Paragra
         return sortedParagraphs;
     }
 
+    /**
+     * Only sentence counts are compared, so sentences are not broken down
+     */
+    @Override
+    public ParserConfiguration getRequirements() {
+        return ParserConfiguration.minimal().setDepth(ParseDepth.SENTENCE);
+    }
+
+    /**
+     * Collects the paragraphs with the number of sentences counted while they were parsed
+     */
+    @Override
+    public AnalysisListener<List<Paragraph>> createListener() {
+        return new AnalysisListener<>() {
+            private final List<Paragraph> paragraphs = new ArrayList<>();
+            private final List<Integer> sentenceCounts = new ArrayList<>();
+            private int sentences;
+
+            @Override
+            public void onParagraphStart() {
+                sentences = 0;
+            }
+
+            @Override
+            public void onSentenceEnd(Sentence sentence) {
+                sentences++;
+            }
+
+            @Override
+            public void onParagraphEnd(Paragraph paragraph) {
+                paragraphs.add(paragraph);
+                sentenceCounts.add(sentences);
+            }
+
+            @Override
+            public List<Paragraph> getResult() {
+                List<Integer> order = new ArrayList<>(paragraphs.size());
+                for (int i = 0; i < paragraphs.size(); i++) {
+                    order.add(i);
+                }
+                order.sort(Comparator.comparing(sentenceCounts::get));
+                return order.stream().map(paragraphs::get).collect(Collectors.toList());
+            }
+        };
+    }
+
     @Override
     public String getDescription() {
         return "Sort paragraphs by number of sentences (ascending order)";
@@ -1,27 +1,68 @@
 package com.textparser.parser;
 
 import com.textparser.composite.TextComponent;
+import com.textparser.metrics.StageMetrics;
+import com.textparser.util.ScratchBuffers;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Abstract base class for text parsers.
  * Implements the Chain of Responsibility pattern with common functionality.
+ * Every invocation is timed and recorded in the stage metrics; the recorded
+ * time includes the stages the parser delegates to.
+ * <p>
+ * Parsers are reentrant and thread-safe once the chain is linked: they keep
+ * only their configuration and thread-safe metrics, everything that changes
+ * during a parse lives in its {@link ParseContext}, and matchers are taken
+ * from the {@link ScratchBuffers} of the parsing thread. One chain can thus
+ * serve many concurrent parses. Call {@link #setNext} only while building the
+ * chain, before it is shared with other threads.
  */
 public abstract class AbstractTextParser implements TextParser {
     protected TextParser nextParser;
+    protected final StageMetrics metrics;
+
+    /**
+     * @param stage name of the parser stage used for its metrics
+     */
+    protected AbstractTextParser(String stage) {
+        this.metrics = StageMetrics.parser(stage);
+    }
 
     @Override
     public void setNext(TextParser nextParser) {
         this.nextParser = nextParser;
     }
 
+    @Override
+    public final TextComponent parse(String text, ParseContext context) {
+        long start = System.nanoTime();
+        try {
+            return doParse(text, context);
+        } finally {
+            metrics.recordInvocation(text.length(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Parse the given text into a TextComponent
+     * @param text the text to parse
+     * @param context state of the parse, notified of the created nodes
+     * @return the parsed TextComponent, or null if this parser cannot handle the text
+     */
+    protected abstract TextComponent doParse(String text, ParseContext context);
+
     /**
      * Try to parse the text with the next parser in the chain
      * @param text the text to parse
+     * @param context state of the parse
      * @return the parsed TextComponent, or null if no parser can handle the text
      */
-    protected TextComponent parseNext(String text) {
+    protected TextComponent parseNext(String text, ParseContext context) {
         if (nextParser != null) {
-            return nextParser.parse(text);
+            return nextParser.parse(text, context);
         }
         return null;
     }
@@ -32,8 +73,19 @@ public abstract class AbstractTextParser implements TextParser {
      * @param pattern the pattern to match against
      * @return true if the text matches the pattern
      */
-    protected boolean matches(String text, String pattern) {
-        return text.matches(pattern);
+    protected boolean matches(String text, Pattern pattern) {
+        return matcher(pattern, text).matches();
+    }
+
+    /**
+     * Get the matcher of the current thread for the pattern, see {@link ScratchBuffers};
+     * its groups must be read before the parse goes on or listeners are notified
+     * @param pattern the pattern to match
+     * @param text the text to match
+     * @return the matcher reset to the text
+     */
+    protected Matcher matcher(Pattern pattern, String text) {
+        return ScratchBuffers.current().matcher(pattern, text);
     }
 
     /**
@@ -42,8 +94,8 @@ public abstract class AbstractTextParser implements TextParser {
      * @param pattern the pattern to split by
      * @return array of split parts
      */
-    protected String[] split(String text, String pattern) {
-        return text.split(pattern);
+    protected String[] split(String text, Pattern pattern) {
+        return pattern.split(text);
     }
 
     /**
@@ -0,0 +1,14 @@
+package com.textparser.parser;
+
+/**
+ * Parse listener computing the result of an analysis while the document is parsed
+ *
+ * @param <T> type of the result
+ */
+public interface AnalysisListener<T> extends ParseListener {
+    /**
+     * Get the result for the events received so far
+     * @return the analysis result
+     */
+    T getResult();
+}
@@ -0,0 +1,76 @@
+package com.textparser.parser;
+
+import com.textparser.composite.TextComponent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memo table of the lexemes parsed so far in one parse, from lexeme text to
+ * the parsed subtree. Words such as "the" or "is," recur constantly in a
+ * document, and a hit skips the lexeme, word, expression and symbol parsers.
+ * The table is bounded and drops the least recently used lexemes first.
+ * <p>
+ * A memoized subtree is shared by every sentence the lexeme occurs in, so only
+ * frozen subtrees are kept: changing one occurrence fails instead of silently
+ * changing the lexeme in every other sentence.
+ */
+public class LexemeMemo {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Map<String, TextComponent> lexemes;
+    private long hits;
+    private long misses;
+
+    public LexemeMemo() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the most lexemes kept, 0 to turn memoization off
+     */
+    public LexemeMemo(int capacity) {
+        this.lexemes = new LinkedHashMap<>(Math.min(capacity, DEFAULT_CAPACITY) * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TextComponent> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Look up a lexeme, counting the hit or miss
+     * @param text the lexeme text
+     * @return the parsed lexeme, or null if it was not seen recently
+     */
+    public TextComponent get(String text) {
+        TextComponent lexeme = lexemes.get(text);
+        if (lexeme == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return lexeme;
+    }
+
+    /**
+     * Remember a parsed lexeme
+     * @param text the lexeme text
+     * @param lexeme the parsed lexeme, frozen
+     * @throws IllegalArgumentException if the lexeme is not frozen
+     */
+    public void put(String text, TextComponent lexeme) {
+        if (!lexeme.isFrozen()) {
+            throw new IllegalArgumentException("Only frozen lexemes can be memoized: " + text);
+        }
+        lexemes.put(text, lexeme);
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
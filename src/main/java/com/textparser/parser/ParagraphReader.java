@@ -0,0 +1,94 @@
+package com.textparser.parser;
+
+import com.textparser.util.TextConstants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the paragraphs of a text one at a time, splitting with the same
+ * {@link TextConstants#PARAGRAPH_SPLIT_PATTERN} as the document parser.
+ * Only the text up to the next paragraph break is buffered, so a large file
+ * can be parsed paragraph by paragraph without reading it completely.
+ */
+public class ParagraphReader implements Closeable {
+    private static final Pattern PARAGRAPH_SPLIT = Pattern.compile(TextConstants.PARAGRAPH_SPLIT_PATTERN);
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    /**
+     * Chars that must follow a break before it is final; a match attempt
+     * of the split pattern looks at most this far ahead of its start
+     */
+    private static final int SPLIT_LOOKAHEAD = 5;
+
+    private final Reader reader;
+    private final char[] chunk;
+    private final StringBuilder buffer = new StringBuilder();
+    private final Matcher matcher = PARAGRAPH_SPLIT.matcher("");
+    private int searchFrom;
+    private boolean endOfInput;
+
+    public ParagraphReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ParagraphReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.chunk = new char[bufferSize];
+    }
+
+    /**
+     * Read the next non-blank paragraph
+     * @return the paragraph text as the document parser would see it, or null at the end of the text
+     * @throws IOException if the text cannot be read
+     */
+    public String nextParagraph() throws IOException {
+        while (true) {
+            String paragraph = takeParagraph();
+            if (paragraph == null) {
+                return null;
+            }
+            if (!paragraph.trim().isEmpty()) {
+                return paragraph;
+            }
+        }
+    }
+
+    private String takeParagraph() throws IOException {
+        while (true) {
+            matcher.reset(buffer);
+            boolean found = matcher.find(searchFrom);
+            if (found && (endOfInput || matcher.end() + SPLIT_LOOKAHEAD <= buffer.length())) {
+                String paragraph = buffer.substring(0, matcher.start());
+                buffer.delete(0, matcher.end());
+                searchFrom = 0;
+                return paragraph;
+            }
+            if (endOfInput) {
+                if (buffer.length() == 0) {
+                    return null;
+                }
+                String paragraph = buffer.toString();
+                buffer.setLength(0);
+                searchFrom = 0;
+                return paragraph;
+            }
+            // Matches starting before the tail cannot change, resume the search at the first one that can
+            int unsettled = buffer.length() - SPLIT_LOOKAHEAD;
+            searchFrom = Math.max(0, found ? Math.min(matcher.start(), unsettled) : unsettled);
+            int read = reader.read(chunk);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                buffer.append(chunk, 0, read);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
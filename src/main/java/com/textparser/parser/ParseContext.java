@@ -0,0 +1,96 @@
+package com.textparser.parser;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+
+import java.util.List;
+
+/**
+ * State of a single parse, passed down the parser chain with the text.
+ * Parsers report the nodes they create here and the context forwards them
+ * to the listeners of the parse. Lexemes parsed so far are memoized for the
+ * rest of the parse, see {@link LexemeMemo}.
+ * <p>
+ * This is where the mutable state of a parse belongs: a context is used by
+ * one parse at a time and must not be shared by concurrent parses, while the
+ * parser chain itself is shared.
+ */
+public class ParseContext {
+    private final List<ParseListener> listeners;
+    private LexemeMemo lexemeMemo;
+
+    public ParseContext() {
+        this(List.of());
+    }
+
+    /**
+     * @param listeners listeners notified of the created nodes
+     */
+    public ParseContext(List<? extends ParseListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public LexemeMemo getLexemeMemo() {
+        if (lexemeMemo == null) {
+            lexemeMemo = new LexemeMemo();
+        }
+        return lexemeMemo;
+    }
+
+    public void paragraphStarted() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onParagraphStart();
+        }
+    }
+
+    public void paragraphFinished(Paragraph paragraph) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onParagraphEnd(paragraph);
+        }
+    }
+
+    public void sentenceStarted() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSentenceStart();
+        }
+    }
+
+    public void sentenceFinished(Sentence sentence) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSentenceEnd(sentence);
+        }
+    }
+
+    public void wordCreated(Word word) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onWord(word);
+        }
+    }
+
+    public void symbolCreated(Symbol symbol) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSymbol(symbol);
+        }
+    }
+
+    public void expressionCreated(Expression expression) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onExpression(expression);
+        }
+    }
+
+    /**
+     * Report a node that was not built by this parse, e.g. taken from a cache,
+     * as if the chain had created it
+     * @param component the node whose events are fired
+     */
+    public void replay(TextComponent component) {
+        for (int i = 0; i < listeners.size(); i++) {
+            ParseEvents.replay(component, listeners.get(i));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.textparser.parser;
+
+/**
+ * How deep the parser chain breaks the text down.
+ * Below the chosen depth the text is kept as a raw text leaf of the deepest
+ * built node, so coarse structure is available without paying for word,
+ * expression and symbol parsing. Word counts are only available at {@link #FULL}.
+ */
+public enum ParseDepth {
+    /**
+     * Paragraphs only; each paragraph holds its text as a single raw leaf
+     */
+    PARAGRAPH,
+    /**
+     * Paragraphs and sentences; each sentence holds its text as a single raw leaf
+     */
+    SENTENCE,
+    /**
+     * Paragraphs, sentences and lexemes; each lexeme holds its text as a single raw leaf
+     */
+    LEXEME,
+    /**
+     * The complete structure down to words, expressions and symbols
+     */
+    FULL
+}
@@ -0,0 +1,50 @@
+package com.textparser.parser;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+
+/**
+ * Replays the parse events of an existing document, in the order the parser
+ * chain fires them, so that an analysis listener also works on a document
+ * that was parsed without it.
+ */
+public final class ParseEvents {
+    private ParseEvents() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Fire the events of all nodes below the given one
+     * @param component the document or node to replay
+     * @param listener the listener receiving the events
+     */
+    public static void replay(TextComponent component, ParseListener listener) {
+        if (component instanceof Paragraph) {
+            listener.onParagraphStart();
+            replayChildren(component, listener);
+            listener.onParagraphEnd((Paragraph) component);
+        } else if (component instanceof Sentence) {
+            listener.onSentenceStart();
+            replayChildren(component, listener);
+            listener.onSentenceEnd((Sentence) component);
+        } else if (component instanceof Word) {
+            listener.onWord((Word) component);
+        } else if (component instanceof Symbol) {
+            listener.onSymbol((Symbol) component);
+        } else if (component instanceof Expression) {
+            listener.onExpression((Expression) component);
+        } else {
+            replayChildren(component, listener);
+        }
+    }
+
+    private static void replayChildren(TextComponent component, ParseListener listener) {
+        for (int i = 0; i < component.getChildCount(); i++) {
+            replay(component.getChild(i), listener);
+        }
+    }
+}
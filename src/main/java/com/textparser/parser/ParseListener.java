@@ -0,0 +1,42 @@
+package com.textparser.parser;
+
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+
+/**
+ * Receives the nodes of a document while the parser chain creates them, in text order.
+ * Events are fired by the parsers that build the node, so a chain stopped above full
+ * depth fires only the paragraph and sentence events, and symbol events are fired only
+ * while symbols are built. All methods do nothing by default.
+ */
+public interface ParseListener {
+    default void onParagraphStart() {
+    }
+
+    /**
+     * @param paragraph the paragraph with all its sentences
+     */
+    default void onParagraphEnd(Paragraph paragraph) {
+    }
+
+    default void onSentenceStart() {
+    }
+
+    /**
+     * @param sentence the sentence with all its lexemes
+     */
+    default void onSentenceEnd(Sentence sentence) {
+    }
+
+    default void onWord(Word word) {
+    }
+
+    default void onSymbol(Symbol symbol) {
+    }
+
+    default void onExpression(Expression expression) {
+    }
+}
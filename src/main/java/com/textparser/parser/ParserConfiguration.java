@@ -0,0 +1,91 @@
+package com.textparser.parser;
+
+/**
+ * Describes which parts of the structure the parser chain builds.
+ * Operations declare the configuration they need, and the configurations of
+ * several operations are combined into the smallest one satisfying all of them.
+ * Expression evaluation and symbol breakdown only apply at {@link ParseDepth#FULL}.
+ */
+public class ParserConfiguration {
+    private ParseDepth depth = ParseDepth.FULL;
+    private boolean evaluateExpressions = true;
+    private boolean buildSymbols = true;
+
+    /**
+     * Get a configuration that builds nothing below paragraphs, the starting
+     * point for declaring requirements
+     * @return a new minimal configuration
+     */
+    public static ParserConfiguration minimal() {
+        return new ParserConfiguration()
+                .setDepth(ParseDepth.PARAGRAPH)
+                .setEvaluateExpressions(false)
+                .setBuildSymbols(false);
+    }
+
+    public ParseDepth getDepth() {
+        return depth;
+    }
+
+    public ParserConfiguration setDepth(ParseDepth depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * Check whether arithmetic expressions are evaluated; when they are not, expression
+     * lexemes are left to the symbol level and keep their original text
+     * @return true if expressions are evaluated
+     */
+    public boolean isEvaluateExpressions() {
+        return evaluateExpressions;
+    }
+
+    public ParserConfiguration setEvaluateExpressions(boolean evaluateExpressions) {
+        this.evaluateExpressions = evaluateExpressions;
+        return this;
+    }
+
+    /**
+     * Check whether punctuation, brackets and quotes become symbol nodes; when they
+     * do not, the same text is kept as raw text leaves
+     * @return true if symbols are built
+     */
+    public boolean isBuildSymbols() {
+        return buildSymbols;
+    }
+
+    public ParserConfiguration setBuildSymbols(boolean buildSymbols) {
+        this.buildSymbols = buildSymbols;
+        return this;
+    }
+
+    /**
+     * Copy this configuration, for holders that must not see later changes
+     * @return a new configuration with the same settings
+     */
+    public ParserConfiguration copy() {
+        return new ParserConfiguration()
+                .setDepth(depth)
+                .setEvaluateExpressions(evaluateExpressions)
+                .setBuildSymbols(buildSymbols);
+    }
+
+    /**
+     * Combine with another configuration into one that builds everything either needs
+     * @param other the other configuration
+     * @return a new combined configuration
+     */
+    public ParserConfiguration combine(ParserConfiguration other) {
+        return new ParserConfiguration()
+                .setDepth(depth.compareTo(other.depth) >= 0 ? depth : other.depth)
+                .setEvaluateExpressions(evaluateExpressions || other.evaluateExpressions)
+                .setBuildSymbols(buildSymbols || other.buildSymbols);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParserConfiguration{depth=%s, evaluateExpressions=%s, buildSymbols=%s}",
+                depth, evaluateExpressions, buildSymbols);
+    }
+}
@@ -18,5 +18,15 @@ public interface TextParser {
      * @param text the text to parse
      * @return the parsed TextComponent, or null if this parser cannot handle the text
      */
-    TextComponent parse(String text);
+    default TextComponent parse(String text) {
+        return parse(text, new ParseContext());
+    }
+
+    /**
+     * Parse the given text into a TextComponent as part of a larger parse
+     * @param text the text to parse
+     * @param context state of the parse, notified of the created nodes
+     * @return the parsed TextComponent, or null if this parser cannot handle the text
+     */
+    TextComponent parse(String text, ParseContext context);
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.textparser.parser.cache;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
+
+/**
+ * Parser placed in front of the paragraph level of the chain: a paragraph found
+ * in the {@link ParagraphCache} is returned without parsing it again, and its
+ * parse events are replayed so that listeners see the same nodes as on a miss.
+ * Other paragraphs go down the chain and are added to the cache.
+ */
+public class CachingParagraphParser extends AbstractTextParser {
+    private final ParagraphCache cache;
+    private final String variant;
+
+    /**
+     * @param cache the cache to look paragraphs up in
+     * @param variant identifies what the next parsers build, e.g. their configuration;
+     *                chains with different variants can share a cache without mixing their paragraphs
+     */
+    public CachingParagraphParser(ParagraphCache cache, String variant) {
+        super("paragraph-cache");
+        this.cache = cache;
+        this.variant = variant;
+    }
+
+    @Override
+    protected TextComponent doParse(String text, ParseContext context) {
+        // Whitespace around a paragraph does not change its parse, so occurrences differing in it share an entry
+        String paragraphText = trim(text);
+        ParagraphKey key = ParagraphKey.of(variant, paragraphText);
+        Paragraph cached = cache.get(key);
+        if (cached != null) {
+            context.replay(cached);
+            return cached;
+        }
+        metrics.delegated();
+        TextComponent parsed = parseNext(paragraphText, context);
+        if (parsed instanceof Paragraph) {
+            cache.put(key, (Paragraph) parsed, paragraphText.length());
+        }
+        return parsed;
+    }
+}
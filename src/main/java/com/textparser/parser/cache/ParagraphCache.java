@@ -0,0 +1,243 @@
+package com.textparser.parser.cache;
+
+import com.textparser.composite.arena.TextArena;
+import com.textparser.composite.arena.TextArenaFile;
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.metrics.Counter;
+import com.textparser.metrics.MetricsRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded cache of parsed paragraphs addressed by the content of their raw text,
+ * for corpora in which the same paragraphs (footers, disclaimers, templates)
+ * occur in many files. The weight of an entry is the length of its raw text;
+ * when either the number of entries or the total weight exceeds its bound, the
+ * least recently used entries are evicted.
+ * <p>
+ * Paragraphs are cached frozen, see {@link Paragraph#freeze()}, and shared by every
+ * document they are found in after the first; modifying them fails. Hits, misses and evictions
+ * are counted per cache and in the default {@link MetricsRegistry}. The cache can
+ * be saved to a directory and loaded again in a later run.
+ */
+public class ParagraphCache {
+    private static final Logger logger = LogManager.getLogger(ParagraphCache.class);
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    /**
+     * Default bound of the total raw text length; a parsed paragraph takes about
+     * 30 bytes of heap per character of text
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 1024 * 1024;
+
+    private static final String PARAGRAPHS_FILE = "paragraphs.arena";
+    private static final String KEYS_FILE = "keys.bin";
+    private static final int KEYS_MAGIC = 0x43545043;
+    private static final int KEYS_VERSION = 1;
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<ParagraphKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public ParagraphCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * @param maxEntries the most paragraphs kept
+     * @param maxWeight the most raw text, in chars, kept over all paragraphs
+     */
+    public ParagraphCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive: " + maxEntries + " entries, weight " + maxWeight);
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        this.hitCounter = registry.counter("parser.cache.hits");
+        this.missCounter = registry.counter("parser.cache.misses");
+        this.evictionCounter = registry.counter("parser.cache.evictions");
+    }
+
+    /**
+     * Look up a paragraph, counting the hit or miss
+     * @return the cached paragraph, or null
+     */
+    synchronized Paragraph get(ParagraphKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            missCounter.increment();
+            return null;
+        }
+        hits++;
+        hitCounter.increment();
+        return entry.paragraph;
+    }
+
+    /**
+     * Add a frozen copy of a paragraph, evicting the least recently used ones beyond
+     * the bounds; a paragraph heavier than the whole cache is not kept. The copy is
+     * made before taking the lock, so concurrent misses do not wait for each other
+     */
+    void put(ParagraphKey key, Paragraph paragraph, int entryWeight) {
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry entry = new Entry(paragraph.freeze(), entryWeight);
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entryWeight;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || weight > maxWeight) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evictions++;
+                evictionCounter.increment();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total raw text length of the cached paragraphs
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return share of lookups that found a paragraph, 0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Remove all paragraphs; the statistics are kept
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Save the cached paragraphs, from least to most recently used
+     * @param directory directory to write the cache files to, created if missing
+     * @throws IOException if the files cannot be written
+     */
+    public void save(Path directory) throws IOException {
+        List<ParagraphKey> keys;
+        List<Entry> values;
+        synchronized (this) {
+            keys = new ArrayList<>(entries.keySet());
+            values = new ArrayList<>(entries.values());
+        }
+        Document paragraphs = ParsedNodes.document(values.size());
+        for (Entry entry : values) {
+            paragraphs.add(entry.paragraph);
+        }
+        Files.createDirectories(directory);
+        TextArenaFile.write(paragraphs, directory.resolve(PARAGRAPHS_FILE));
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(directory.resolve(KEYS_FILE))))) {
+            out.writeInt(KEYS_MAGIC);
+            out.writeInt(KEYS_VERSION);
+            out.writeInt(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                out.writeLong(keys.get(i).getHigh());
+                out.writeLong(keys.get(i).getLow());
+                out.writeInt(values.get(i).weight);
+            }
+        }
+        logger.info("Saved {} cached paragraphs to {}", keys.size(), directory);
+    }
+
+    /**
+     * Add the paragraphs saved by {@link #save(Path)}, subject to the bounds of this cache
+     * @param directory directory holding the cache files
+     * @return number of paragraphs read, 0 if the directory holds no saved cache
+     * @throws IOException if the files cannot be read or do not match
+     */
+    public int load(Path directory) throws IOException {
+        Path keysFile = directory.resolve(KEYS_FILE);
+        Path paragraphsFile = directory.resolve(PARAGRAPHS_FILE);
+        if (!Files.exists(keysFile) || !Files.exists(paragraphsFile)) {
+            return 0;
+        }
+        TextArena paragraphs = TextArenaFile.map(paragraphsFile);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(keysFile)))) {
+            if (in.readInt() != KEYS_MAGIC || in.readInt() != KEYS_VERSION) {
+                throw new IOException("Not a paragraph cache of a supported version: " + keysFile);
+            }
+            int count = in.readInt();
+            if (count != paragraphs.childCount(0)) {
+                throw new IOException("Paragraph cache files do not match: " + count + " keys for "
+                        + paragraphs.childCount(0) + " paragraphs in " + directory);
+            }
+            for (int i = 0; i < count; i++) {
+                ParagraphKey key = new ParagraphKey(in.readLong(), in.readLong());
+                int entryWeight = in.readInt();
+                put(key, (Paragraph) paragraphs.toComponent(paragraphs.child(0, i)), entryWeight);
+            }
+            logger.info("Loaded {} cached paragraphs from {}", count, directory);
+            return count;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ParagraphCache{entries=%d, weight=%d, hits=%d, misses=%d, evictions=%d}",
+                entries.size(), weight, hits, misses, evictions);
+    }
+
+    private static final class Entry {
+        private final Paragraph paragraph;
+        private final int weight;
+
+        private Entry(Paragraph paragraph, int weight) {
+            this.paragraph = paragraph;
+            this.weight = weight;
+        }
+    }
+}
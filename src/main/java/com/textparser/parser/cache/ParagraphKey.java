@@ -0,0 +1,74 @@
+package com.textparser.parser.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Content address of a raw paragraph: the first 128 bits of the SHA-256 of the
+ * parser variant and the paragraph text. Equal keys mean equal input to the same
+ * parser chain, so the parsed paragraph can be reused.
+ */
+final class ParagraphKey {
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    ParagraphKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * @param variant identifies the parser chain, so that chains building different trees do not share entries
+     * @param text the raw paragraph
+     * @return the key of the paragraph
+     */
+    static ParagraphKey of(String variant, String text) {
+        MessageDigest digest = DIGEST.get();
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+        return new ParagraphKey(toLong(hash, 0), toLong(hash, 8));
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + Long.BYTES; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    long getHigh() {
+        return high;
+    }
+
+    long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParagraphKey)) {
+            return false;
+        }
+        ParagraphKey other = (ParagraphKey) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+}
@@ -2,33 +2,68 @@ package com.textparser.parser.impl;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.metrics.jfr.ParagraphParseEvent;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import com.textparser.util.TextConstants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.regex.Pattern;
+
 /**
  * Parser for the document level. Splits text into paragraphs and delegates to the next parser.
  */
 public class DocumentParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(DocumentParser.class);
+    private static final Pattern PARAGRAPH_SPLIT = Pattern.compile(TextConstants.PARAGRAPH_SPLIT_PATTERN);
 
-    @Override
-    public TextComponent parse(String text) {
-        Document document = new Document();
+    public DocumentParser() {
+        super("document");
+    }
 
+    @Override
+    protected TextComponent doParse(String text, ParseContext context) {
         logger.info("Extracting paragraphs from text.");
-        String[] paragraphs = split(text, TextConstants.PARAGRAPH_SPLIT_PATTERN);
+        String[] paragraphs = split(text, PARAGRAPH_SPLIT);
+        Document document = ParsedNodes.document(paragraphs.length);
+        int index = 0;
         for (String paragraph : paragraphs) {
             if (!trim(paragraph).isEmpty()) {
-                TextComponent paragraphComponent = parseNext(paragraph);
+                TextComponent paragraphComponent = paragraph.length() >= ParagraphParseEvent.THRESHOLD_CHARS
+                        ? parseRecorded(paragraph, index, context)
+                        : parseNext(paragraph, context);
+                index++;
                 if (paragraphComponent != null) {
                     document.add(paragraphComponent);
                 } else {
+                    metrics.failure();
                     logger.error("Failed to parse paragraph: {}", paragraph);
                 }
             }
         }
+        document.trimToSize();
+        metrics.nodeProduced();
         return document;
     }
+
+    /**
+     * Parse a large paragraph inside a flight recorder event
+     */
+    private TextComponent parseRecorded(String paragraph, int index, ParseContext context) {
+        ParagraphParseEvent event = new ParagraphParseEvent();
+        event.begin();
+        TextComponent paragraphComponent = parseNext(paragraph, context);
+        if (event.shouldCommit()) {
+            event.index = index;
+            event.inputChars = paragraph.length();
+            if (paragraphComponent != null) {
+                event.sentences = paragraphComponent.getSentenceCount();
+                event.words = paragraphComponent.getWordCount();
+            }
+            event.commit();
+        }
+        return paragraphComponent;
+    }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.textparser.parser.impl;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.RawText;
 import com.textparser.interpreter.ExpressionInterpreter;
+import com.textparser.metrics.jfr.ExpressionEvaluationEvent;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -11,31 +14,64 @@ import org.apache.logging.log4j.Logger;
  * Parser for arithmetic expressions.
  * Uses the Interpreter pattern to evaluate expressions and replace them
  * with their calculated values in the text structure.
+ * When evaluation is turned off, recognized expressions are kept as raw text.
  */
 public class ExpressionParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(ExpressionParser.class);
     private final ExpressionInterpreter interpreter;
+    private final boolean evaluate;
 
     public ExpressionParser() {
+        this(true);
+    }
+
+    /**
+     * @param evaluate whether recognized expressions are replaced by their value
+     */
+    public ExpressionParser(boolean evaluate) {
+        super("expression");
         this.interpreter = new ExpressionInterpreter();
+        this.evaluate = evaluate;
     }
 
     @Override
-    public TextComponent parse(String text) {
+    protected TextComponent doParse(String text, ParseContext context) {
         logger.debug("Parsing expression: {}", text);
         if (interpreter.isValidExpression(text)) {
             logger.debug("Expression is valid: {}", text);
+            if (!evaluate) {
+                metrics.nodeProduced();
+                return new RawText(text);
+            }
+            ExpressionEvaluationEvent event = new ExpressionEvaluationEvent();
+            event.begin();
             try {
                 double result = interpreter.evaluate(text);
+                commitEvaluationEvent(event, text, result, true);
                 logger.debug("Successfully evaluated expression '{}' = {}", text, result);
-                return new Expression(text, result);
+                metrics.nodeProduced();
+                Expression expression = new Expression(text, result);
+                context.expressionCreated(expression);
+                return expression;
             } catch (Exception e) {
+                commitEvaluationEvent(event, text, Double.NaN, false);
+                metrics.failure();
                 logger.warn("Failed to evaluate expression '{}': {}", text, e.getMessage());
                 // If evaluation fails, pass to next parser
-                return parseNext(text);
+                return parseNext(text, context);
             }
         }
-        logger.error("Invalid expression: {}", text);
-        return parseNext(text);
+        logger.debug("Not an expression, passing to next parser: {}", text);
+        metrics.delegated();
+        return parseNext(text, context);
+    }
+
+    private static void commitEvaluationEvent(ExpressionEvaluationEvent event, String text, double result, boolean succeeded) {
+        if (event.shouldCommit()) {
+            event.expression = text;
+            event.result = result;
+            event.succeeded = succeeded;
+            event.commit();
+        }
     }
 } 
\ No newline at end of file
@@ -5,7 +5,10 @@ import org.apache.logging.log4j.Logger;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Lexeme;
+import com.textparser.composite.impl.ParsedNodes;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.LexemeMemo;
+import com.textparser.parser.ParseContext;
 
 /**
  * Parser for lexemes.
@@ -17,22 +20,36 @@ import com.textparser.parser.AbstractTextParser;
  * - Mathematical expression
  * - Word with punctuation
  * - Other (will be broken down into symbols)
+ * Lexemes already parsed in the same parse are taken from the {@link LexemeMemo}.
+ * Parsed lexemes are frozen, as every occurrence of a lexeme is the same node.
  */
 public class LexemeParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(LexemeParser.class);
 
+    public LexemeParser() {
+        super("lexeme");
+    }
+
     @Override
-    public TextComponent parse(String text) {
+    protected TextComponent doParse(String text, ParseContext context) {
         logger.debug("Parsing lexeme: {}", text);
-        // Create a lexeme and populate it with parsed components
-        Lexeme lexeme = new Lexeme(text);
+        LexemeMemo memo = context.getLexemeMemo();
+        TextComponent memoized = memo.get(text);
+        if (memoized != null) {
+            context.replay(memoized);
+            return memoized;
+        }
+        metrics.nodeProduced();
         // Try to parse as atomic components first
-        TextComponent component = parseNext(text);
+        TextComponent component = parseNext(text, context);
         if (component != null) {
-            lexeme.add(component);
+            // Components are leaves or lexemes the word parser built frozen, so nothing is copied
+            Lexeme lexeme = ParsedNodes.frozenLexeme(text, component.freeze());
+            memo.put(text, lexeme);
             return lexeme;
         }
+        metrics.failure();
         logger.error("Failed to parse lexeme: {}", text);
-        return lexeme;
+        return ParsedNodes.lexeme(text, 0);
     }
 } 
\ No newline at end of file
@@ -5,34 +5,47 @@ import org.apache.logging.log4j.Logger;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.ParsedNodes;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import com.textparser.util.TextConstants;
 
+import java.util.regex.Pattern;
+
 /**
  * Parser for paragraphs.
  * Responsible for parsing paragraphs into sentences.
  */
 public class ParagraphParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(ParagraphParser.class);
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile(TextConstants.SENTENCE_SPLIT_PATTERN);
 
-    @Override
-    public TextComponent parse(String text) {
-        Paragraph paragraph = new Paragraph();
+    public ParagraphParser() {
+        super("paragraph");
+    }
 
-        logger.info("Extracting sentences from paragraph.");
+    @Override
+    protected TextComponent doParse(String text, ParseContext context) {
+        logger.debug("Extracting sentences from paragraph.");
         // Split into sentences by sentence endings
-        String[] sentences = text.split(TextConstants.SENTENCE_SPLIT_PATTERN);
+        String[] sentences = split(text, SENTENCE_SPLIT);
+        Paragraph paragraph = ParsedNodes.paragraph(sentences.length);
+        context.paragraphStarted();
         for (String sentenceText : sentences) {
             String sentence = trim(sentenceText);
             if (!sentence.isEmpty()) {
-                TextComponent sentenceComponent = parseNext(sentence);
+                TextComponent sentenceComponent = parseNext(sentence, context);
                 if (sentenceComponent != null) {
                     paragraph.add(sentenceComponent);
                 } else {
+                    metrics.failure();
                     logger.error("Failed to parse sentence: {}", sentence);
                 }
             }
-        } 
+        }
+        paragraph.trimToSize();
+        context.paragraphFinished(paragraph);
+        metrics.nodeProduced();
         return paragraph;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.textparser.parser.impl;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.TextComposite;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.RawText;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
+
+import java.util.function.Function;
+
+/**
+ * Parser ending the chain above full depth.
+ * Creates the node of its level with the trimmed text as a single raw text leaf
+ * instead of delegating to finer parsers. Paragraphs and sentences created here
+ * are still reported to the parse listeners.
+ */
+public class RawTextParser extends AbstractTextParser {
+    private final Function<String, ? extends TextComposite> nodeFactory;
+
+    /**
+     * @param nodeFactory creates the node of this level from its text
+     */
+    public RawTextParser(Function<String, ? extends TextComposite> nodeFactory) {
+        super("raw");
+        this.nodeFactory = nodeFactory;
+    }
+
+    @Override
+    protected TextComponent doParse(String text, ParseContext context) {
+        String rawText = trim(text);
+        TextComposite node = nodeFactory.apply(rawText);
+        node.add(new RawText(rawText));
+        if (node instanceof Paragraph) {
+            context.paragraphStarted();
+            context.paragraphFinished((Paragraph) node);
+        } else if (node instanceof Sentence) {
+            context.sentenceStarted();
+            context.sentenceFinished((Sentence) node);
+        }
+        metrics.nodeProduced();
+        return node;
+    }
+}
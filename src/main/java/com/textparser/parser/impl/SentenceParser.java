@@ -4,35 +4,48 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.ParsedNodes;
 import com.textparser.composite.impl.Sentence;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import com.textparser.util.TextConstants;
 
+import java.util.regex.Pattern;
+
 /**
  * Parser for sentences.
  * Responsible for parsing sentences into lexemes.
  */
 public class SentenceParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(SentenceParser.class);
+    private static final Pattern LEXEME_SPLIT = Pattern.compile(TextConstants.LEXEME_SPLIT_PATTERN);
+
+    public SentenceParser() {
+        super("sentence");
+    }
 
     @Override
-    public TextComponent parse(String text) {
-        Sentence sentence = new Sentence();
-        
-        logger.info("Extracting lexemes from sentence.");
+    protected TextComponent doParse(String text, ParseContext context) {
+        logger.debug("Extracting lexemes from sentence.");
         // Split into lexemes by whitespace
-        String[] lexemeTexts = split(text, TextConstants.LEXEME_SPLIT_PATTERN);
+        String[] lexemeTexts = split(text, LEXEME_SPLIT);
+        Sentence sentence = ParsedNodes.sentence(lexemeTexts.length);
+        context.sentenceStarted();
         for (String lexemeText : lexemeTexts) {
             String lexeme = trim(lexemeText);
             if (!lexeme.isEmpty()) {
-                TextComponent lexemeComponent = parseNext(lexeme);
+                TextComponent lexemeComponent = parseNext(lexeme, context);
                 if (lexemeComponent != null) {
                     sentence.add(lexemeComponent);
                 } else {
+                    metrics.failure();
                     logger.error("Failed to parse lexeme: {}", lexeme);
                 }
             }
         }
+        sentence.trimToSize();
+        context.sentenceFinished(sentence);
+        metrics.nodeProduced();
         return sentence;
     }
 }
\ No newline at end of file
@@ -4,42 +4,72 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.composite.impl.RawText;
 import com.textparser.composite.impl.Symbol;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import com.textparser.util.TextConstants;
 
+import java.util.regex.Pattern;
+
 /**
  * Parser for symbols.
  * Responsible for parsing text into individual symbols (letters, digits, punctuation).
  * Special case: "..." is treated as a single symbol for ellipsis.
+ * When symbols are not built, the accepted text is kept as a raw text leaf.
  */
 public class SymbolParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(SymbolParser.class);
+    private static final Pattern SYMBOL = Pattern.compile(String.format("%s|%s|%s",
+            TextConstants.LETTER_PATTERN, TextConstants.DIGIT_PATTERN, TextConstants.PUNCTUATION_PATTERN));
+
+    private final boolean buildSymbols;
+
+    public SymbolParser() {
+        this(true);
+    }
+
+    /**
+     * @param buildSymbols whether accepted text becomes a symbol node
+     */
+    public SymbolParser(boolean buildSymbols) {
+        super("symbol");
+        this.buildSymbols = buildSymbols;
+    }
 
     @Override
-    public TextComponent parse(String text) {
+    protected TextComponent doParse(String text, ParseContext context) {
         logger.debug("Parsing symbol: {}", text);
         // Handle ellipsis special case
         if (text.equals(TextConstants.ELLIPSIS)) {
-            return new Symbol(text);
+            metrics.nodeProduced();
+            return buildSymbols ? symbol(context, text) : new RawText(text);
         }
 
         // Handle single character symbols
         if (text.length() != 1) {
-            return parseNext(text);
+            metrics.delegated();
+            return parseNext(text, context);
         }
 
         char symbol = text.charAt(0);
         String symbolStr = String.valueOf(symbol);
 
-        if (symbolStr.matches(TextConstants.LETTER_PATTERN) ||
-            symbolStr.matches(TextConstants.DIGIT_PATTERN) ||
-            symbolStr.matches(TextConstants.PUNCTUATION_PATTERN)) {
+        if (matches(symbolStr, SYMBOL)) {
             logger.debug("Found symbol: {}", symbolStr);
-            return new Symbol(symbol);
+            metrics.nodeProduced();
+            return buildSymbols ? symbol(context, symbolStr) : new RawText(symbolStr);
         }
 
+        metrics.failure();
         logger.error("Failed to parse symbol: {}", symbolStr);
         return null;
     }
+
+    private static Symbol symbol(ParseContext context, String text) {
+        Symbol symbol = ParsedNodes.symbol(text);
+        context.symbolCreated(symbol);
+        return symbol;
+    }
 } 
\ No newline at end of file
@@ -5,9 +5,12 @@ import org.apache.logging.log4j.Logger;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Lexeme;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.composite.impl.RawText;
 import com.textparser.composite.impl.Symbol;
 import com.textparser.composite.impl.Word;
 import com.textparser.parser.AbstractTextParser;
+import com.textparser.parser.ParseContext;
 import com.textparser.util.TextConstants;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -20,109 +23,151 @@ import java.util.regex.Pattern;
  * - Words with punctuation
  * - Words surrounded by brackets or parentheses
  * - Words surrounded by quotes
+ * The surrounding characters become symbols, or raw text leaves when
+ * symbols are not built.
  */
 public class WordParser extends AbstractTextParser {
     private static final Logger logger = LogManager.getLogger(WordParser.class);
+    private static final Pattern WORD = Pattern.compile(TextConstants.WORD_PATTERN);
+    private static final Pattern WORD_WITH_PUNCTUATION =
+            Pattern.compile(TextConstants.WORD_WITH_PUNCTUATION_PATTERN, Pattern.MULTILINE);
+    private static final Pattern WORD_WITH_BRACKETS =
+            Pattern.compile(TextConstants.WORD_WITH_BRACKETS_PATTERN, Pattern.MULTILINE);
+    private static final Pattern WORD_WITH_QUOTES =
+            Pattern.compile(TextConstants.WORD_WITH_QUOTES_PATTERN, Pattern.MULTILINE);
+
+    private final boolean buildSymbols;
+
+    public WordParser() {
+        this(true);
+    }
+
+    /**
+     * @param buildSymbols whether surrounding characters become symbol nodes
+     */
+    public WordParser(boolean buildSymbols) {
+        super("word");
+        this.buildSymbols = buildSymbols;
+    }
 
     @Override
-    public TextComponent parse(String text) {
+    protected TextComponent doParse(String text, ParseContext context) {
         // First try to match a complete word
-        if (matches(text, TextConstants.WORD_PATTERN)) {
+        if (matches(text, WORD)) {
             logger.debug("Found word: {}", text);
-            return new Word(text);
+            metrics.nodeProduced();
+            Word word = ParsedNodes.word(text);
+            context.wordCreated(word);
+            return word;
         }
         
         // Try to match a word followed by punctuation
-        Pattern pattern = Pattern.compile(TextConstants.WORD_WITH_PUNCTUATION_PATTERN, Pattern.MULTILINE);
-        Matcher matcher = pattern.matcher(text);
-
+        Matcher matcher = matcher(WORD_WITH_PUNCTUATION, text);
         if (matcher.matches()) {
-            return createLexemeWithPunctuation(matcher);
+            return createLexemeWithPunctuation(matcher, context);
         }
 
         // Try to match a word with brackets/parentheses
-        Pattern bracketPattern = Pattern.compile(TextConstants.WORD_WITH_BRACKETS_PATTERN, Pattern.MULTILINE);
-        Matcher bracketMatcher = bracketPattern.matcher(text);
+        Matcher bracketMatcher = matcher(WORD_WITH_BRACKETS, text);
         if (bracketMatcher.matches()) {
-            return createLexemeWithSurroundings(bracketMatcher);
+            return createLexemeWithSurroundings(bracketMatcher, context);
         }
 
         // Try to match a word with quotes
-        Pattern quotePattern = Pattern.compile(TextConstants.WORD_WITH_QUOTES_PATTERN, Pattern.MULTILINE);
-        Matcher quoteMatcher = quotePattern.matcher(text);
+        Matcher quoteMatcher = matcher(WORD_WITH_QUOTES, text);
         if (quoteMatcher.matches()) {
-            return createLexemeWithSurroundings(quoteMatcher);
+            return createLexemeWithSurroundings(quoteMatcher, context);
         }
 
-        logger.error("Failed to parse word: {}", text);
-        return parseNext(text);
+        logger.debug("Not a word, passing to next parser: {}", text);
+        metrics.delegated();
+        return parseNext(text, context);
     }
 
     /**
      * Create a lexeme from a matcher that has matched a word with surrounding characters
      * @param matcher the matcher containing the matched groups
-     * @return a new Lexeme containing the word and its surroundings
+     * @param context state of the parse
+     * @return a new frozen Lexeme containing the word and its surroundings
      */
-    private Lexeme createLexemeWithSurroundings(Matcher matcher) {
-        logger.debug("Creating lexeme with surroundings: {}", matcher.group(0));
+    private Lexeme createLexemeWithSurroundings(Matcher matcher, ParseContext context) {
+        // The matcher is shared by the thread, so every group is read before listeners are notified
+        String lexemeText = matcher.group(0);
+        logger.debug("Creating lexeme with surroundings: {}", lexemeText);
         String openingChar = matcher.group(1);
         String wordText = matcher.group(2);
         String closingChar = matcher.group(3);
         String punctuationText = matcher.group(4);
 
-        // Create a new lexeme to hold all components
-        Lexeme lexeme = new Lexeme(matcher.group(0));
+        // Collect the components of the lexeme, which is created frozen once they are complete
+        TextComponent[] components = new TextComponent[1 + countPresent(openingChar) + countPresent(closingChar)
+                + countPresent(punctuationText)];
+        int count = 0;
+        metrics.nodeProduced();
 
         // Add the opening character
         if (openingChar != null && !openingChar.isEmpty()) {
-            Symbol opening = new Symbol(openingChar);
             logger.debug("Extracted opening character: {}", openingChar);
-            lexeme.add(opening);
+            components[count++] = surrounding(context, openingChar);
         }
 
         // Add the word
-        Word word = new Word(wordText);
+        Word word = ParsedNodes.word(wordText);
         logger.debug("Extracted word: {}", wordText);
-        lexeme.add(word);
+        context.wordCreated(word);
+        components[count++] = word;
 
         // Add the closing character
         if (closingChar != null && !closingChar.isEmpty()) {
-            Symbol closing = new Symbol(closingChar);
             logger.debug("Extracted closing character: {}", closingChar);
-            lexeme.add(closing);
+            components[count++] = surrounding(context, closingChar);
         }
 
         // Add punctuation if present
         if (punctuationText != null && !punctuationText.isEmpty()) {
-            Symbol punctuation = new Symbol(punctuationText);
             logger.debug("Extracted punctuation: {}", punctuationText);
-            lexeme.add(punctuation);
+            components[count] = surrounding(context, punctuationText);
         }
 
-        return lexeme;
+        return ParsedNodes.frozenLexeme(lexemeText, components);
     }
 
     /**
      * Create a lexeme from a matcher that has matched a word with punctuation
      * @param matcher the matcher containing the matched groups
-     * @return a new Lexeme containing the word and its punctuation
+     * @param context state of the parse
+     * @return a new frozen Lexeme containing the word and its punctuation
      */
-    private Lexeme createLexemeWithPunctuation(Matcher matcher) {
-        logger.debug("Creating lexeme with punctuation: {}", matcher.group(0));
-        Lexeme lexeme = new Lexeme(matcher.group(0));
+    private Lexeme createLexemeWithPunctuation(Matcher matcher, ParseContext context) {
+        String lexemeText = matcher.group(0);
         String wordText = matcher.group(1);
         String punctuationText = matcher.group(2);
+        logger.debug("Creating lexeme with punctuation: {}", lexemeText);
+        metrics.nodeProduced();
 
         // Add the word
-        Word word = new Word(wordText);
+        Word word = ParsedNodes.word(wordText);
         logger.debug("Extracted word: {}", wordText);
-        lexeme.add(word);
+        context.wordCreated(word);
 
         // Add the punctuation symbol
-        Symbol punctuation = new Symbol(punctuationText);
         logger.debug("Extracted punctuation: {}", punctuationText);
-        lexeme.add(punctuation);
+        return ParsedNodes.frozenLexeme(lexemeText, word, surrounding(context, punctuationText));
+    }
+
+    private static int countPresent(String group) {
+        return group != null && !group.isEmpty() ? 1 : 0;
+    }
 
-        return lexeme;
+    /**
+     * Create the node of a character surrounding a word
+     */
+    private TextComponent surrounding(ParseContext context, String text) {
+        if (!buildSymbols) {
+            return new RawText(text);
+        }
+        Symbol symbol = ParsedNodes.symbol(text);
+        context.symbolCreated(symbol);
+        return symbol;
     }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.textparser.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.metrics.Counter;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.metrics.StageMetrics;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.service.FileReaderService;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running HTTP front end for the parsing and analysis services.
+ * Keeps one warmed-up JVM serving many documents instead of paying start-up,
+ * logging initialization and JIT warm-up for every file.
+ *
+ * Endpoints:
+ * - POST /analyze - request body is the text to analyze
+ * - POST /analyze/file - request body lists file paths, one per line, relative to
+ *   the base directory of the settings; paths outside it are rejected
+ * - GET /metrics - summary of the metrics registry
+ * - GET /health - liveness check
+ */
+public class AnalysisServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(AnalysisServer.class);
+    private static final String TEXT_CONTENT_TYPE = "text/plain; charset=utf-8";
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final ServerSettings settings;
+    private final FileReaderService fileReaderService;
+    private final TextParsingService textParsingService;
+    private final TextOperationsService textOperationsService;
+    private final HttpServer httpServer;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public AnalysisServer(ServerSettings settings) throws IOException {
+        this.settings = settings;
+        this.fileReaderService = new FileReaderService();
+        this.textParsingService = new TextParsingService();
+        this.textOperationsService = new TextOperationsService();
+        this.permits = new Semaphore(settings.getMaxConcurrentRequests());
+        this.rejected = MetricsRegistry.getDefault().counter("server.rejected");
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Callers run when the queue is full, which stalls the accept loop and pushes back on clients
+        this.executor = new ThreadPoolExecutor(settings.getWorkerThreads(), settings.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                runnable -> new Thread(runnable, "analysis-worker-" + threadIndex.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(settings.getHost(), settings.getPort()), 0);
+        httpServer.setExecutor(executor);
+        route("/analyze/file", "POST", "analyze-file", this::analyzeFiles);
+        route("/analyze", "POST", "analyze", this::analyzeText);
+        route("/metrics", "GET", "metrics", body -> MetricsRegistry.getDefault().getSummary());
+        route("/health", "GET", "health", body -> "OK\n");
+    }
+
+    /**
+     * Warm up the JIT on synthetic text and start accepting requests
+     */
+    public void start() {
+        warmUp();
+        httpServer.start();
+        logger.info("Analysis server listening on {}:{}", settings.getHost(), getPort());
+    }
+
+    /**
+     * Get the port the server is bound to
+     * @return the bound port
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        logger.info("Stopping analysis server");
+        httpServer.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+
+    private String analyzeText(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (text.isBlank()) {
+            throw new RequestException(400, "Request body must contain the text to analyze");
+        }
+        return analyze(text);
+    }
+
+    private String analyzeFiles(byte[] body) throws IOException {
+        String[] paths = new String(body, StandardCharsets.UTF_8).trim().split("\\R");
+        if (paths.length == 0 || paths[0].isBlank()) {
+            throw new RequestException(400, "Request body must list file paths, one per line");
+        }
+        StringBuilder reports = new StringBuilder();
+        for (String line : paths) {
+            String path = line.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            Path file = resolveFile(path);
+            if (!fileReaderService.isFileReadable(file.toString())) {
+                throw new RequestException(404, "File not found or not readable: " + path);
+            }
+            // A link inside the base directory must not lead out of it either
+            if (!file.toRealPath().startsWith(settings.getBaseDirectory().toRealPath())) {
+                throw new RequestException(403, "File is outside the base directory: " + path);
+            }
+            reports.append("=== ").append(path).append(" ===\n");
+            reports.append(analyze(fileReaderService.readTextFromFile(file.toString()))).append('\n');
+        }
+        return reports.toString();
+    }
+
+    /**
+     * Resolve a requested path against the base directory
+     * @throws RequestException with status 403 if the path leads outside the base directory
+     */
+    private Path resolveFile(String path) {
+        Path base = settings.getBaseDirectory();
+        Path file;
+        try {
+            file = base.resolve(path).normalize();
+        } catch (InvalidPathException e) {
+            throw new RequestException(400, "Invalid file path: " + path);
+        }
+        if (!file.startsWith(base)) {
+            throw new RequestException(403, "File is outside the base directory: " + path);
+        }
+        return file;
+    }
+
+    private String analyze(String text) {
+        AnalysisListener<TextAnalysisReport> analysis = textOperationsService.createCompleteAnalysisListener();
+        textParsingService.parseText(text, List.of(analysis));
+        return textOperationsService.formatAnalysisOutput(analysis.getResult());
+    }
+
+    private void route(String path, String method, String endpoint, RequestHandler handler) {
+        StageMetrics metrics = StageMetrics.server(endpoint);
+        httpServer.createContext(path, exchange -> handle(exchange, method, metrics, handler));
+    }
+
+    private void handle(HttpExchange exchange, String method, StageMetrics metrics, RequestHandler handler) throws IOException {
+        long start = System.nanoTime();
+        int requestBytes = 0;
+        try {
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                respond(exchange, 405, "Method not allowed, use " + method + "\n");
+                return;
+            }
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, "Server is at its concurrency limit, retry later\n");
+                return;
+            }
+            try {
+                byte[] body = readBody(exchange);
+                requestBytes = body.length;
+                respond(exchange, 200, handler.handle(body));
+            } finally {
+                permits.release();
+            }
+        } catch (RequestException e) {
+            metrics.failure();
+            respondQuietly(exchange, e.getStatus(), e.getMessage() + "\n");
+        } catch (Exception e) {
+            metrics.failure();
+            logger.error("Error handling {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            respondQuietly(exchange, 500, "Internal error: " + e.getMessage() + "\n");
+        } finally {
+            exchange.close();
+            metrics.recordInvocation(requestBytes, System.nanoTime() - start);
+        }
+    }
+
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null && parseContentLength(contentLength) > settings.getMaxRequestBytes()) {
+            throw new RequestException(413, "Request body exceeds " + settings.getMaxRequestBytes() + " bytes");
+        }
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] body = input.readNBytes(settings.getMaxRequestBytes() + 1);
+            if (body.length > settings.getMaxRequestBytes()) {
+                throw new RequestException(413, "Request body exceeds " + settings.getMaxRequestBytes() + " bytes");
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Parse the Content-Length header
+     * @throws RequestException with status 400 if it is not a non-negative number
+     */
+    static long parseContentLength(String contentLength) {
+        try {
+            long length = Long.parseLong(contentLength.trim());
+            if (length >= 0) {
+                return length;
+            }
+        } catch (NumberFormatException e) {
+            // Reported as a bad request
+        }
+        throw new RequestException(400, "Invalid Content-Length: " + contentLength);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static void respondQuietly(HttpExchange exchange, int status, String body) {
+        try {
+            respond(exchange, status, body);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Could not send error response: {}", e.getMessage());
+        }
+    }
+
+    private void warmUp() {
+        if (settings.getWarmupIterations() == 0) {
+            return;
+        }
+        logger.info("Warming up with {} synthetic documents", settings.getWarmupIterations());
+        long start = System.nanoTime();
+        for (int i = 0; i < settings.getWarmupIterations(); i++) {
+            StringWriter text = new StringWriter(settings.getWarmupBytes());
+            try {
+                new CorpusGenerator(new CorpusSettings().setSeed(i).setTargetBytes(settings.getWarmupBytes())).generate(text);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to generate warm-up text", e);
+            }
+            analyze(text.toString());
+        }
+        logger.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Request body handler returning the plain text response
+     */
+    @FunctionalInterface
+    private interface RequestHandler {
+        String handle(byte[] body) throws IOException;
+    }
+
+    /**
+     * Client error carrying the HTTP status to respond with
+     */
+    static class RequestException extends RuntimeException {
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.textparser.server;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the {@link AnalysisServer}.
+ */
+public class ServerSettings {
+    private static final int DEFAULT_PORT = 8080;
+
+    private String host = "127.0.0.1";
+    private int port = DEFAULT_PORT;
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+    private int maxConcurrentRequests = 2 * Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 256;
+    private int maxRequestBytes = 16 * 1024 * 1024;
+    private int warmupIterations = 5;
+    private int warmupBytes = 256 * 1024;
+    private Path baseDirectory = Path.of("").toAbsolutePath();
+
+    public String getHost() {
+        return host;
+    }
+
+    public ServerSettings setHost(String host) {
+        this.host = host;
+        return this;
+    }
+
+    /**
+     * Get the port to listen on; 0 picks a free port
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    public ServerSettings setPort(int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        this.port = port;
+        return this;
+    }
+
+    /**
+     * Get the number of threads handling requests
+     * @return worker thread count
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public ServerSettings setWorkerThreads(int workerThreads) {
+        this.workerThreads = requirePositive(workerThreads);
+        return this;
+    }
+
+    /**
+     * Get the number of analyses allowed in flight; further requests are rejected with 503
+     * @return concurrent request limit
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public ServerSettings setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = requirePositive(maxConcurrentRequests);
+        return this;
+    }
+
+    /**
+     * Get the number of accepted requests waiting for a worker thread
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public ServerSettings setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = requirePositive(queueCapacity);
+        return this;
+    }
+
+    /**
+     * Get the largest accepted request body; larger requests are rejected with 413
+     * @return request size limit in bytes
+     */
+    public int getMaxRequestBytes() {
+        return maxRequestBytes;
+    }
+
+    public ServerSettings setMaxRequestBytes(int maxRequestBytes) {
+        this.maxRequestBytes = requirePositive(maxRequestBytes);
+        return this;
+    }
+
+    /**
+     * Get the number of synthetic documents analyzed before accepting requests
+     * @return warm-up iterations, 0 disables warm-up
+     */
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public ServerSettings setWarmupIterations(int warmupIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations must not be negative");
+        }
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    public int getWarmupBytes() {
+        return warmupBytes;
+    }
+
+    public ServerSettings setWarmupBytes(int warmupBytes) {
+        this.warmupBytes = requirePositive(warmupBytes);
+        return this;
+    }
+
+    /**
+     * Get the directory {@code /analyze/file} may read from; paths resolving outside it are rejected with 403
+     * @return absolute base directory, the working directory by default
+     */
+    public Path getBaseDirectory() {
+        return baseDirectory;
+    }
+
+    public ServerSettings setBaseDirectory(Path baseDirectory) {
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+        return this;
+    }
+
+    private static int requirePositive(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Value must be positive: " + value);
+        }
+        return value;
+    }
+}
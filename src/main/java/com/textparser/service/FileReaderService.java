@@ -3,7 +3,13 @@ package com.textparser.service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -12,9 +18,15 @@ import java.nio.file.Paths;
 /**
  * Service for reading text files.
  * Handles file I/O operations and provides clean text content.
+ * Gzip-compressed files, recognized by their magic bytes rather than their
+ * name, are decompressed on the fly by a thread of their own, see
+ * {@link InflatingInputStream}.
  */
 public class FileReaderService {
     private static final Logger logger = LogManager.getLogger(FileReaderService.class);
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     /**
      * Read text content from a file
@@ -37,7 +49,7 @@ public class FileReaderService {
         }
         
         try {
-            String content = Files.readString(path, StandardCharsets.UTF_8);
+            String content = decode(readAllBytes(path));
             logger.debug("Successfully read {} characters from file", content.length());
             return content;
         } catch (IOException e) {
@@ -46,6 +58,88 @@ public class FileReaderService {
         }
     }
 
+    /**
+     * Read a whole file through a single stream, which tells plain from compressed
+     * content by peeking at its first bytes
+     */
+    private byte[] readAllBytes(Path path) throws IOException {
+        try (InputStream in = openInputStream(path)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Decode UTF-8 text, rejecting malformed input as {@link Files#readString} does
+     */
+    private static String decode(byte[] bytes) throws IOException {
+        return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    /**
+     * Read the content of a file, decompressed if it is gzip-compressed
+     * @param filePath path to the file
+     * @return the file content
+     * @throws IOException if file cannot be read
+     */
+    public byte[] readBytesFromFile(String filePath) throws IOException {
+        logger.debug("Reading bytes from file: {}", filePath);
+        Path path = Paths.get(filePath);
+        if (!Files.isRegularFile(path)) {
+            logger.error("Path is not a regular file: {}", filePath);
+            throw new IOException("Path is not a regular file: " + filePath);
+        }
+        return readAllBytes(path);
+    }
+
+    /**
+     * Open the content of a file for reading, decompressing it if it is gzip-compressed
+     * @param path the file to open
+     * @return the content; closing it stops the decompression and closes the file
+     * @throws IOException if the file cannot be opened
+     */
+    public InputStream openInputStream(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        try {
+            in.mark(2);
+            boolean compressed = isGzipMagic(in.read(), in.read());
+            in.reset();
+            if (compressed) {
+                logger.debug("Decompressing gzip file: {}", path);
+                return new InflatingInputStream(in, String.valueOf(path.getFileName()));
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open the UTF-8 text of a file, decompressing it if it is gzip-compressed
+     * @param path the file to open
+     * @return a reader of the text
+     * @throws IOException if the file cannot be opened
+     */
+    public Reader openReader(Path path) throws IOException {
+        return new BufferedReader(new InputStreamReader(openInputStream(path), StandardCharsets.UTF_8.newDecoder()));
+    }
+
+    /**
+     * Check if a file starts with the gzip magic bytes
+     * @param path the file to check
+     * @return true if the file is gzip-compressed
+     * @throws IOException if the file cannot be read
+     */
+    public boolean isCompressed(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return isGzipMagic(in.read(), in.read());
+        }
+    }
+
+    private static boolean isGzipMagic(int first, int second) {
+        return first == GZIP_MAGIC_1 && second == GZIP_MAGIC_2;
+    }
+
     /**
      * Check if a file exists and is readable
      * @param filePath path to check
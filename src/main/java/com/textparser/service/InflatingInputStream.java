@@ -0,0 +1,152 @@
+package com.textparser.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompressed content of a gzip stream, inflated ahead of the reader on a
+ * thread of its own, so that decompression overlaps with whatever consumes the
+ * stream. The threads hand over a fixed set of chunks through a queue: when all
+ * of them wait to be read, the inflating thread blocks, so memory stays bounded
+ * however large the input is.
+ */
+final class InflatingInputStream extends InputStream {
+    static final int CHUNK_SIZE = 64 * 1024;
+    static final int CHUNK_COUNT = 4;
+    static final long CLOSE_TIMEOUT_MILLIS = 1000L;
+    private static final Chunk END = new Chunk(0);
+
+    private final InputStream compressed;
+    private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>(CHUNK_COUNT);
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNK_COUNT + 1);
+    private final Thread inflater;
+    private volatile IOException failure;
+    private Chunk current;
+    private int position;
+    private boolean ended;
+
+    /**
+     * @param compressed the gzip stream, closed when this stream is
+     * @param name names the inflating thread
+     */
+    InflatingInputStream(InputStream compressed, String name) {
+        this.compressed = compressed;
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            free.add(new Chunk(CHUNK_SIZE));
+        }
+        this.inflater = new Thread(this::inflate, "gzip-" + name);
+        inflater.setDaemon(true);
+        inflater.start();
+    }
+
+    private void inflate() {
+        try (InputStream in = new GZIPInputStream(compressed, CHUNK_SIZE)) {
+            while (true) {
+                Chunk chunk = free.take();
+                chunk.length = in.readNBytes(chunk.data, 0, chunk.data.length);
+                if (chunk.length == 0) {
+                    break;
+                }
+                filled.put(chunk);
+                if (chunk.length < chunk.data.length) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // Closed by the reader
+        } finally {
+            // There is always room: the queue holds every chunk and the end marker
+            filled.add(END);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Make sure the current chunk has unread bytes, giving a read chunk back to the inflating thread
+     * @return false at the end of the content
+     */
+    private boolean fill() throws IOException {
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (ended) {
+            return false;
+        }
+        if (current != null) {
+            free.add(current);
+            current = null;
+        }
+        Chunk next;
+        try {
+            next = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+        }
+        if (next == END) {
+            ended = true;
+            if (failure != null) {
+                throw new IOException("Failed to decompress gzip input", failure);
+            }
+            return false;
+        }
+        current = next;
+        position = 0;
+        return true;
+    }
+
+    /**
+     * Stop the inflating thread and close the gzip stream. The stream is closed first,
+     * as a read from a pipe or socket may ignore the interrupt; the thread is waited
+     * for a bounded time only, since it is a daemon and ends once its read fails
+     */
+    @Override
+    public void close() throws IOException {
+        inflater.interrupt();
+        try {
+            compressed.close();
+        } finally {
+            try {
+                inflater.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] data;
+        private int length;
+
+        private Chunk(int size) {
+            this.data = new byte[size];
+        }
+    }
+}
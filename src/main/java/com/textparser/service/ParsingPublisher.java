@@ -0,0 +1,222 @@
+package com.textparser.service;
+
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.parser.ParagraphReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publisher of nodes parsed paragraph by paragraph from a text source.
+ * Text is read and parsed only while subscribers have outstanding demand,
+ * so a slow subscriber throttles reading and parsing; at most the nodes of
+ * one paragraph are buffered per subscription. Signals are delivered on
+ * the given executor, one at a time per subscription.
+ *
+ * @param <T> type of the published nodes
+ */
+class ParsingPublisher<T> implements Flow.Publisher<T> {
+    private static final Logger logger = LogManager.getLogger(ParsingPublisher.class);
+
+    private final Callable<Reader> source;
+    private final boolean reusable;
+    private final Function<String, Paragraph> paragraphParser;
+    private final Function<Paragraph, ? extends Iterable<T>> nodes;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * @param source opens the text for a subscription
+     * @param reusable whether the source can be opened once per subscriber;
+     *                 a publisher over a single reader accepts only one subscriber
+     * @param paragraphParser parses the text of one paragraph, null if it cannot be parsed
+     * @param nodes selects the published nodes of a parsed paragraph
+     * @param executor runs reading, parsing and delivery
+     */
+    ParsingPublisher(Callable<Reader> source, boolean reusable, Function<String, Paragraph> paragraphParser,
+                     Function<Paragraph, ? extends Iterable<T>> nodes, Executor executor) {
+        this.source = source;
+        this.reusable = reusable;
+        this.paragraphParser = paragraphParser;
+        this.nodes = nodes;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        boolean ownsSource = reusable || subscribed.compareAndSet(false, true);
+        ParsingSubscription subscription = new ParsingSubscription(subscriber, ownsSource);
+        if (!ownsSource) {
+            // Failed before onSubscribe, so a request made there cannot read the first subscriber's text
+            subscription.failure = new IllegalStateException("The text of this publisher can only be read once");
+        }
+        subscriber.onSubscribe(subscription);
+        if (!ownsSource) {
+            subscription.schedule();
+        }
+    }
+
+    /**
+     * Reads and parses for one subscriber; all work happens in {@link #drain()},
+     * which runs on one thread at a time
+     */
+    private final class ParsingSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final boolean ownsSource;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private final Deque<T> buffered = new ArrayDeque<>();
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private ParagraphReader reader;
+        private boolean done;
+
+        private ParsingSubscription(Flow.Subscriber<? super T> subscriber, boolean ownsSource) {
+            this.subscriber = subscriber;
+            this.ownsSource = ownsSource;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested demand must be positive: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void fail(Throwable error) {
+            failure = error;
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = scheduled.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Deliver buffered and newly parsed nodes while there is demand. A subscriber
+         * method that throws cancels the subscription without any further signal
+         */
+        private void drain() {
+            if (done) {
+                return;
+            }
+            while (!cancelled && failure == null && demand.get() > 0) {
+                T node = buffered.poll();
+                if (node != null) {
+                    demand.decrementAndGet();
+                    try {
+                        subscriber.onNext(node);
+                    } catch (RuntimeException e) {
+                        subscriberFailed("onNext", e);
+                        return;
+                    }
+                    continue;
+                }
+                boolean more;
+                try {
+                    more = readParagraph();
+                } catch (Exception e) {
+                    failure = e;
+                    break;
+                }
+                if (!more) {
+                    finish();
+                    try {
+                        subscriber.onComplete();
+                    } catch (RuntimeException e) {
+                        logger.error("Subscriber failed in onComplete", e);
+                    }
+                    return;
+                }
+            }
+            if (failure != null) {
+                finish();
+                try {
+                    subscriber.onError(failure);
+                } catch (RuntimeException e) {
+                    logger.error("Subscriber failed in onError", e);
+                }
+            } else if (cancelled) {
+                finish();
+            }
+        }
+
+        private void subscriberFailed(String signal, RuntimeException e) {
+            logger.error("Subscriber failed in {}, cancelling the subscription", signal, e);
+            cancelled = true;
+            finish();
+        }
+
+        /**
+         * Parse the next paragraph into the buffer
+         * @return false at the end of the text
+         */
+        private boolean readParagraph() throws Exception {
+            if (reader == null) {
+                reader = new ParagraphReader(source.call());
+            }
+            String text = reader.nextParagraph();
+            if (text == null) {
+                return false;
+            }
+            Paragraph paragraph = paragraphParser.apply(text);
+            if (paragraph != null) {
+                for (T node : nodes.apply(paragraph)) {
+                    buffered.add(node);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * End the subscription and close its source; a single reader handed to the
+         * publisher is closed even if it was never read
+         */
+        private void finish() {
+            done = true;
+            buffered.clear();
+            try {
+                if (reader != null) {
+                    reader.close();
+                } else if (ownsSource && !reusable) {
+                    source.call().close();
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to close text source: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.textparser.service;
 
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Expression;
 import com.textparser.composite.impl.Paragraph;
 import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+import com.textparser.metrics.StageMetrics;
+import com.textparser.metrics.jfr.TextOperationEvent;
+import com.textparser.operations.TextOperation;
 import com.textparser.operations.impl.*;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParseEvents;
+import com.textparser.parser.ParseListener;
 import com.textparser.util.TextConstants;
 import com.textparser.util.VowelConsonantUtils;
 import org.apache.logging.log4j.LogManager;
@@ -15,8 +24,10 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service providing access to all text operations.
@@ -24,13 +35,14 @@ import java.util.Map;
  */
 public class TextOperationsService {
     private static final Logger logger = LogManager.getLogger(TextOperationsService.class);
+    private static final Map<String, StageMetrics> operationMetrics = new ConcurrentHashMap<>();
 
     /**
      * Operation 1: Sort paragraphs by number of sentences
      */
     public List<Paragraph> sortParagraphsBySentenceCount(Document document) {
         logger.info("Executing operation: Sort paragraphs by sentence count");
-        return new SortParagraphsBySentenceCount().execute(document);
+        return execute(new SortParagraphsBySentenceCount(), document);
     }
 
     /**
@@ -38,7 +50,7 @@ public class TextOperationsService {
      */
     public List<Sentence> findSentencesWithLongestWord(Document document) {
         logger.info("Executing operation: Find sentences with longest word");
-        return new FindSentencesWithLongestWord().execute(document);
+        return execute(new FindSentencesWithLongestWord(), document);
     }
 
     /**
@@ -46,7 +58,7 @@ public class TextOperationsService {
      */
     public Document removeShortSentences(Document document, int minWordCount) {
         logger.info("Executing operation: Remove sentences with fewer than {} words", minWordCount);
-        return new RemoveShortSentences(minWordCount).execute(document);
+        return execute(new RemoveShortSentences(minWordCount), document);
     }
 
     /**
@@ -54,7 +66,7 @@ public class TextOperationsService {
      */
     public Map<String, Integer> countIdenticalWords(Document document) {
         logger.info("Executing operation: Count identical words");
-        return new CountIdenticalWords().execute(document);
+        return execute(new CountIdenticalWords(), document);
     }
 
     /**
@@ -62,7 +74,7 @@ public class TextOperationsService {
      */
     public Map<String, Integer> getDuplicateWords(Document document) {
         logger.info("Executing operation: Get duplicate words only");
-        return new CountIdenticalWords().execute(document);
+        return execute(new CountIdenticalWords(), document);
     }
 
     /**
@@ -70,7 +82,7 @@ public class TextOperationsService {
      */
     public Map<String, VowelConsonantUtils.VowelConsonantCount> countVowelsConsonants(Document document) {
         logger.info("Executing operation: Count vowels and consonants in sentences");
-        return new CountVowelsConsonants().execute(document);
+        return execute(new CountVowelsConsonants(), document);
     }
 
     /**
@@ -90,20 +102,74 @@ public class TextOperationsService {
     }
 
     /**
-     * Execute all operations and return a comprehensive report
+     * Execute an operation, recording its latency and failures in the operation metrics
+     * and emitting a flight recorder event when enabled
+     * @param operation the operation to execute
+     * @param document the document to operate on
+     * @return the result of the operation
+     */
+    public <T> T execute(TextOperation<T> operation, Document document) {
+        String name = operation.getClass().getSimpleName();
+        StageMetrics metrics = operationMetrics.computeIfAbsent(name, StageMetrics::operation);
+        TextOperationEvent event = new TextOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        try {
+            result = operation.execute(document);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.failure();
+            throw e;
+        } finally {
+            metrics.recordInvocation(0, System.nanoTime() - start);
+            commit(event, name, document.getChildren().size(), result);
+        }
+    }
+
+    private static void commit(TextOperationEvent event, String name, int paragraphs, Object result) {
+        if (event.shouldCommit()) {
+            event.operation = name;
+            event.paragraphs = paragraphs;
+            event.resultSize = resultSize(result);
+            event.succeeded = result != null;
+            event.commit();
+        }
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Document) {
+            return ((Document) result).getChildren().size();
+        }
+        return -1;
+    }
+
+    /**
+     * Get the operations run by {@link #performCompleteAnalysis}, for planning the parse
+     * @return the operations of the complete analysis
+     */
+    public static List<TextOperation<?>> getCompleteAnalysisOperations() {
+        return List.of(new SortParagraphsBySentenceCount(), new FindSentencesWithLongestWord(),
+                new CountIdenticalWords(), new CountVowelsConsonants());
+    }
+
+    /**
+     * Execute all operations and return a comprehensive report; the operations
+     * share a single pass over the document
      */
     public TextAnalysisReport performCompleteAnalysis(Document document) {
         logger.info("Performing complete text analysis");
         
-        TextAnalysisReport report = new TextAnalysisReport();
+        TextAnalysisReport report;
         
         try {
-            report.reportDate = LocalDateTime.now();
-            report.sortedParagraphs = sortParagraphsBySentenceCount(document);
-            report.sentencesWithLongestWord = findSentencesWithLongestWord(document);
-            report.wordCounts = countIdenticalWords(document);
-            report.vowelConsonantCounts = countVowelsConsonants(document);
-            report.documentSummary = getDocumentVowelConsonantSummary(document);
+            AnalysisListener<TextAnalysisReport> analysis = createCompleteAnalysisListener();
+            ParseEvents.replay(document, analysis);
+            report = analysis.getResult();
             
             logger.info("Complete analysis finished successfully");
         } catch (Exception e) {
@@ -114,6 +180,17 @@ public class TextOperationsService {
         return report;
     }
 
+    /**
+     * Create a listener performing the complete analysis while a text is parsed, so the
+     * parsed document is not walked again; the parse must meet the requirements of
+     * {@link #getCompleteAnalysisOperations()}. Each operation is recorded in the operation
+     * metrics and flight recorder events as if run through {@link #execute}
+     * @return a new listener whose result is the same report as {@link #performCompleteAnalysis}
+     */
+    public AnalysisListener<TextAnalysisReport> createCompleteAnalysisListener() {
+        return new CompleteAnalysisListener();
+    }
+
     /**
      * Format the analysis output for display
      */
@@ -167,6 +244,7 @@ public class TextOperationsService {
 
     /**
      * Write the analysis report to a file
+     * @return path of the written report, or null if the report is empty or could not be written
      */
     public String writeReportToFile(TextAnalysisReport report, String filePath) {
         logger.info("Writing report to file: {}", filePath);
@@ -182,10 +260,248 @@ public class TextOperationsService {
             Files.writeString(Paths.get(reportPath), formattedReport);
         } catch (IOException e) {
             logger.error("Error writing report to file", e);
+            return null;
         }
         return reportPath;
     }
 
+    /**
+     * Passes the parse events on to the listeners of the complete analysis operations
+     * and assembles their results into a report
+     */
+    private static final class CompleteAnalysisListener implements AnalysisListener<TextAnalysisReport> {
+        private final AnalysisListener<List<Paragraph>> sortedParagraphs = metered(new SortParagraphsBySentenceCount());
+        private final AnalysisListener<List<Sentence>> sentencesWithLongestWord = metered(new FindSentencesWithLongestWord());
+        private final AnalysisListener<Map<String, Integer>> wordCounts = metered(new CountIdenticalWords());
+        private final AnalysisListener<Map<String, VowelConsonantUtils.VowelConsonantCount>> vowelConsonantCounts =
+                metered(new CountVowelsConsonants());
+        private final List<ParseListener> listeners =
+                List.of(sortedParagraphs, sentencesWithLongestWord, wordCounts, vowelConsonantCounts);
+
+        @Override
+        public void onParagraphStart() {
+            for (ParseListener listener : listeners) {
+                listener.onParagraphStart();
+            }
+        }
+
+        @Override
+        public void onParagraphEnd(Paragraph paragraph) {
+            for (ParseListener listener : listeners) {
+                listener.onParagraphEnd(paragraph);
+            }
+        }
+
+        @Override
+        public void onSentenceStart() {
+            for (ParseListener listener : listeners) {
+                listener.onSentenceStart();
+            }
+        }
+
+        @Override
+        public void onSentenceEnd(Sentence sentence) {
+            for (ParseListener listener : listeners) {
+                listener.onSentenceEnd(sentence);
+            }
+        }
+
+        @Override
+        public void onWord(Word word) {
+            for (ParseListener listener : listeners) {
+                listener.onWord(word);
+            }
+        }
+
+        @Override
+        public void onSymbol(Symbol symbol) {
+            for (ParseListener listener : listeners) {
+                listener.onSymbol(symbol);
+            }
+        }
+
+        @Override
+        public void onExpression(Expression expression) {
+            for (ParseListener listener : listeners) {
+                listener.onExpression(expression);
+            }
+        }
+
+        /**
+         * The document summary adds up the sentence counts: letters only occur in sentences
+         */
+        @Override
+        public TextAnalysisReport getResult() {
+            TextAnalysisReport report = new TextAnalysisReport();
+            report.reportDate = LocalDateTime.now();
+            report.sortedParagraphs = sortedParagraphs.getResult();
+            report.sentencesWithLongestWord = sentencesWithLongestWord.getResult();
+            report.wordCounts = wordCounts.getResult();
+            report.vowelConsonantCounts = vowelConsonantCounts.getResult();
+            int vowels = 0;
+            int consonants = 0;
+            for (VowelConsonantUtils.VowelConsonantCount count : report.vowelConsonantCounts.values()) {
+                vowels += count.getVowels();
+                consonants += count.getConsonants();
+            }
+            report.documentSummary = new VowelConsonantUtils.VowelConsonantCount(vowels, consonants);
+            return report;
+        }
+    }
+
+    private static <T> AnalysisListener<T> metered(TextOperation<T> operation) {
+        return new MeteredListener<>(operation.getClass().getSimpleName(), operation.createListener());
+    }
+
+    /**
+     * Records the latency and failures of an operation run as a listener in the operation
+     * metrics, as {@link #execute} does; the latency is the time spent in the operation's
+     * callbacks, and the flight recorder event spans the parse
+     */
+    private static final class MeteredListener<T> implements AnalysisListener<T> {
+        private final String name;
+        private final StageMetrics metrics;
+        private final AnalysisListener<T> listener;
+        private final TextOperationEvent event = new TextOperationEvent();
+        private long nanos;
+        private int paragraphs;
+        private boolean failed;
+        private boolean finished;
+
+        MeteredListener(String name, AnalysisListener<T> listener) {
+            this.name = name;
+            this.metrics = operationMetrics.computeIfAbsent(name, StageMetrics::operation);
+            this.listener = listener;
+            event.begin();
+        }
+
+        @Override
+        public void onParagraphStart() {
+            long start = System.nanoTime();
+            try {
+                listener.onParagraphStart();
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onParagraphEnd(Paragraph paragraph) {
+            paragraphs++;
+            long start = System.nanoTime();
+            try {
+                listener.onParagraphEnd(paragraph);
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onSentenceStart() {
+            long start = System.nanoTime();
+            try {
+                listener.onSentenceStart();
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onSentenceEnd(Sentence sentence) {
+            long start = System.nanoTime();
+            try {
+                listener.onSentenceEnd(sentence);
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onWord(Word word) {
+            long start = System.nanoTime();
+            try {
+                listener.onWord(word);
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onSymbol(Symbol symbol) {
+            long start = System.nanoTime();
+            try {
+                listener.onSymbol(symbol);
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public void onExpression(Expression expression) {
+            long start = System.nanoTime();
+            try {
+                listener.onExpression(expression);
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+            }
+        }
+
+        @Override
+        public T getResult() {
+            long start = System.nanoTime();
+            T result = null;
+            try {
+                result = listener.getResult();
+                return result;
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                stop(start);
+                finish(result);
+            }
+        }
+
+        private RuntimeException failed(RuntimeException e) {
+            if (!failed && !finished) {
+                failed = true;
+                metrics.failure();
+            }
+            return e;
+        }
+
+        private void stop(long start) {
+            nanos += System.nanoTime() - start;
+            if (failed) {
+                finish(null);
+            }
+        }
+
+        /**
+         * Record the invocation once, when the result is taken or the operation fails
+         */
+        private void finish(T result) {
+            if (!finished) {
+                finished = true;
+                metrics.recordInvocation(0, nanos);
+                commit(event, name, paragraphs, result);
+            }
+        }
+    }
+
     /**
      * Data class to hold results of complete analysis
      */
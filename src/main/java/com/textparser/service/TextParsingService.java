@@ -2,22 +2,112 @@ package com.textparser.service;
 
 import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.ParsedNodes;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.metrics.jfr.DocumentParseEvent;
+import com.textparser.operations.TextOperation;
+import com.textparser.parser.LexemeMemo;
+import com.textparser.parser.ParseContext;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParseListener;
+import com.textparser.parser.ParserConfiguration;
 import com.textparser.parser.TextParser;
+import com.textparser.parser.cache.CachingParagraphParser;
+import com.textparser.parser.cache.ParagraphCache;
 import com.textparser.parser.impl.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 /**
  * Service for orchestrating the text parsing process.
  * Creates and configures the parser chain, then processes text into
  * the composite structure.
+ * Besides whole documents, paragraphs and sentences can be published
+ * while a file or reader is still being read. The chain can stop above
+ * full depth when only coarse structure is needed, see {@link ParseDepth},
+ * and {@link #forOperations} plans the smallest chain for a set of operations.
+ * An optional {@link ParagraphCache} reuses the parsed form of paragraphs that
+ * occur again, in the same or in later documents.
+ * <p>
+ * A service is thread-safe and can be shared by any number of concurrent
+ * parses: the parser chain is built once and keeps no state of a parse, which
+ * lives in the {@link ParseContext} created for every parse instead.
  */
 public class TextParsingService {
     private static final Logger logger = LogManager.getLogger(TextParsingService.class);
     private final TextParser parserChain;
+    private final TextParser paragraphParser;
+    private final ParserConfiguration configuration;
 
     public TextParsingService() {
-        this.parserChain = createParserChain();
+        this(new ParserConfiguration());
+    }
+
+    /**
+     * @param depth how deep the text is broken down
+     */
+    public TextParsingService(ParseDepth depth) {
+        this(new ParserConfiguration().setDepth(depth));
+    }
+
+    /**
+     * @param configuration which parts of the structure are built
+     */
+    public TextParsingService(ParserConfiguration configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * @param configuration which parts of the structure are built; copied, so later
+     *                      changes to it do not affect the service
+     * @param paragraphCache cache of parsed paragraphs, or null to parse every paragraph;
+     *                       the documents share the cached paragraphs, which are frozen
+     */
+    public TextParsingService(ParserConfiguration configuration, ParagraphCache paragraphCache) {
+        this.configuration = configuration.copy();
+        this.paragraphParser = createCachingParser(createParagraphParserChain(this.configuration), paragraphCache);
+        this.parserChain = createParserChain(paragraphParser);
+    }
+
+    /**
+     * Create a service building only what the given operations read
+     * @param operations the operations that will run on the parsed documents
+     * @return a service with the combined requirements of the operations
+     */
+    public static TextParsingService forOperations(List<? extends TextOperation<?>> operations) {
+        ParserConfiguration configuration = ParserConfiguration.minimal();
+        for (TextOperation<?> operation : operations) {
+            configuration = configuration.combine(operation.getRequirements());
+        }
+        logger.debug("Planned {} for {} operations", configuration, operations.size());
+        return new TextParsingService(configuration);
+    }
+
+    /**
+     * Get which parts of the structure this service builds
+     * @return a copy of the parser configuration
+     */
+    public ParserConfiguration getConfiguration() {
+        return configuration.copy();
+    }
+
+    /**
+     * Get how deep this service breaks the text down
+     * @return the parse depth
+     */
+    public ParseDepth getDepth() {
+        return configuration.getDepth();
     }
 
     /**
@@ -26,13 +116,30 @@ public class TextParsingService {
      * @return the parsed Document
      */
     public Document parseText(String text) {
+        return parseText(text, List.of());
+    }
+
+    /**
+     * Parse text content into a Document structure, reporting the created nodes
+     * to the given listeners as the parser chain builds them
+     * @param text the text to parse
+     * @param listeners listeners notified during the parse
+     * @return the parsed Document
+     */
+    public Document parseText(String text, List<? extends ParseListener> listeners) {
         logger.info("Starting text parsing process");
+        DocumentParseEvent event = new DocumentParseEvent();
+        event.begin();
+        Document parsed = null;
         try {
             // Pass the whole text to the parser chain (now starts with DocumentParser)
-            TextComponent document = parserChain.parse(text);
+            ParseContext context = new ParseContext(listeners);
+            TextComponent document = parserChain.parse(text, context);
+            recordLexemeMemo(context.getLexemeMemo());
             if (document instanceof Document) {
-                logger.info("Text parsing completed. Document contains {} paragraphs", ((Document) document).getParagraphs().size());
-                return (Document) document;
+                parsed = (Document) document;
+                logger.info("Text parsing completed. Document contains {} paragraphs", parsed.getParagraphs().size());
+                return parsed;
             } else {
                 logger.error("Parser chain did not return a Document instance");
                 throw new RuntimeException("Failed to parse text: not a Document");
@@ -40,34 +147,170 @@ public class TextParsingService {
         } catch (Exception e) {
             logger.error("Error during text parsing", e);
             throw new RuntimeException("Failed to parse text", e);
+        } finally {
+            commitParseEvent(event, text, parsed);
         }
     }
 
+    private static void recordLexemeMemo(LexemeMemo memo) {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.counter("parser.lexeme-memo.hits").add(memo.getHits());
+        registry.counter("parser.lexeme-memo.misses").add(memo.getMisses());
+    }
+
+    /**
+     * Fill and commit the flight recorder event; does nothing while the event is disabled
+     */
+    private static void commitParseEvent(DocumentParseEvent event, String text, Document document) {
+        if (event.shouldCommit()) {
+            event.inputChars = text.length();
+            event.succeeded = document != null;
+            if (document != null) {
+                event.paragraphs = document.getParagraphCount();
+                event.sentences = document.getSentenceCount();
+                event.words = document.getWordCount();
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Publish the sentences of a file as they are parsed, on the common pool
+     * @param file the file to parse
+     * @return a publisher opening the file for every subscriber
+     */
+    public Flow.Publisher<Sentence> publishSentences(Path file) {
+        return publishSentences(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Publish the sentences of a file as they are parsed
+     * @param file the file to parse
+     * @param executor runs reading, parsing and delivery to subscribers
+     * @return a publisher opening the file for every subscriber
+     */
+    public Flow.Publisher<Sentence> publishSentences(Path file, Executor executor) {
+        return new ParsingPublisher<>(openFile(file), true, this::parseParagraph, Paragraph::getSentences, executor);
+    }
+
+    /**
+     * Publish the sentences read from a reader as they are parsed, on the common pool
+     * @param reader the text to parse, closed when the subscription ends
+     * @return a publisher accepting a single subscriber
+     */
+    public Flow.Publisher<Sentence> publishSentences(Reader reader) {
+        return publishSentences(reader, ForkJoinPool.commonPool());
+    }
+
+    public Flow.Publisher<Sentence> publishSentences(Reader reader, Executor executor) {
+        return new ParsingPublisher<>(() -> reader, false, this::parseParagraph, Paragraph::getSentences, executor);
+    }
+
+    /**
+     * Publish the paragraphs of a file as they are parsed, on the common pool
+     * @param file the file to parse
+     * @return a publisher opening the file for every subscriber
+     */
+    public Flow.Publisher<Paragraph> publishParagraphs(Path file) {
+        return publishParagraphs(file, ForkJoinPool.commonPool());
+    }
+
+    public Flow.Publisher<Paragraph> publishParagraphs(Path file, Executor executor) {
+        return new ParsingPublisher<>(openFile(file), true, this::parseParagraph, List::of, executor);
+    }
+
+    /**
+     * Publish the paragraphs read from a reader as they are parsed, on the common pool
+     * @param reader the text to parse, closed when the subscription ends
+     * @return a publisher accepting a single subscriber
+     */
+    public Flow.Publisher<Paragraph> publishParagraphs(Reader reader) {
+        return publishParagraphs(reader, ForkJoinPool.commonPool());
+    }
+
+    public Flow.Publisher<Paragraph> publishParagraphs(Reader reader, Executor executor) {
+        return new ParsingPublisher<>(() -> reader, false, this::parseParagraph, List::of, executor);
+    }
+
+    private static Callable<Reader> openFile(Path file) {
+        return () -> new FileReaderService().openReader(file);
+    }
+
+    /**
+     * Parse the text of a single paragraph
+     * @return the paragraph, or null if it cannot be parsed
+     */
+    private Paragraph parseParagraph(String text) {
+        TextComponent paragraph = paragraphParser.parse(text);
+        if (paragraph instanceof Paragraph) {
+            return (Paragraph) paragraph;
+        }
+        logger.error("Failed to parse paragraph: {}", text);
+        return null;
+    }
+
     /**
      * Create and configure the parser chain
      * Chain order: Document -> Paragraph -> Sentence -> Lexeme -> Word -> Expression -> Symbol
      */
-    private TextParser createParserChain() {
+    private TextParser createParserChain(TextParser paragraphParser) {
         logger.debug("Creating parser chain");
-        
         DocumentParser documentParser = new DocumentParser();
+        documentParser.setNext(paragraphParser);
+        logger.debug("Parser chain configured successfully");
+        return documentParser;
+    }
+
+    /**
+     * Put the cache in front of the paragraph parser, if there is one
+     */
+    private TextParser createCachingParser(TextParser paragraphParser, ParagraphCache paragraphCache) {
+        if (paragraphCache == null) {
+            return paragraphParser;
+        }
+        CachingParagraphParser cachingParser = new CachingParagraphParser(paragraphCache, configuration.toString());
+        cachingParser.setNext(paragraphParser);
+        return cachingParser;
+    }
+
+    /**
+     * Create the part of the chain below the document level, down to the configured depth
+     * Chain order: Paragraph -> Sentence -> Lexeme -> Word -> Expression -> Symbol
+     */
+    private TextParser createParagraphParserChain(ParserConfiguration configuration) {
+        switch (configuration.getDepth()) {
+            case PARAGRAPH:
+                return new RawTextParser(text -> ParsedNodes.paragraph(1));
+            case SENTENCE: {
+                ParagraphParser paragraphParser = new ParagraphParser();
+                paragraphParser.setNext(new RawTextParser(text -> ParsedNodes.sentence(1)));
+                return paragraphParser;
+            }
+            case LEXEME: {
+                ParagraphParser paragraphParser = new ParagraphParser();
+                SentenceParser sentenceParser = new SentenceParser();
+                paragraphParser.setNext(sentenceParser);
+                sentenceParser.setNext(new RawTextParser(text -> ParsedNodes.lexeme(text, 1)));
+                return paragraphParser;
+            }
+            default:
+                break;
+        }
+
         ParagraphParser paragraphParser = new ParagraphParser();
         SentenceParser sentenceParser = new SentenceParser();
         LexemeParser lexemeParser = new LexemeParser();
-        WordParser wordParser = new WordParser();
-        ExpressionParser expressionParser = new ExpressionParser();
-        SymbolParser symbolParser = new SymbolParser();
+        WordParser wordParser = new WordParser(configuration.isBuildSymbols());
+        ExpressionParser expressionParser = new ExpressionParser(configuration.isEvaluateExpressions());
+        SymbolParser symbolParser = new SymbolParser(configuration.isBuildSymbols());
 
         // Configure the chain
-        documentParser.setNext(paragraphParser);
         paragraphParser.setNext(sentenceParser);
         sentenceParser.setNext(lexemeParser);
         lexemeParser.setNext(wordParser);
         wordParser.setNext(expressionParser);
         expressionParser.setNext(symbolParser);
-
-        logger.debug("Parser chain configured successfully");
-        return documentParser;
+        return paragraphParser;
     }
 
     /**
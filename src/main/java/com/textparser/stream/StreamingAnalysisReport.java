@@ -0,0 +1,104 @@
+package com.textparser.stream;
+
+import com.textparser.util.TextConstants;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+/**
+ * Results of a streaming analysis: the numbers of the complete analysis report
+ * without the document they were taken from. Paragraphs are kept as a histogram
+ * of their sentence counts and only the sentences with the longest word that the
+ * report shows are kept, so the size does not depend on the length of the input.
+ */
+public class StreamingAnalysisReport {
+    /**
+     * Number of sentences with the longest word whose text is kept
+     */
+    public static final int SHOWN_SENTENCES = 3;
+    /**
+     * Sentence texts are cut to this many characters
+     */
+    public static final int SENTENCE_PREVIEW_LENGTH = 100;
+
+    public LocalDateTime reportDate;
+    public long paragraphs;
+    public long sentences;
+    public SortedMap<Integer, Long> paragraphsBySentenceCount;
+    public int longestWordLength;
+    public long sentencesWithLongestWord;
+    public List<String> longestWordSentencePreviews;
+    public Map<String, Long> wordCounts;
+    public long vowels;
+    public long consonants;
+
+    /**
+     * Format the report with the same layout as the report of the complete analysis
+     * @return the report text
+     */
+    public String format() {
+        StringBuilder output = new StringBuilder();
+        try {
+            writeTo(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Write the formatted report; the paragraph list has a line per paragraph,
+     * so large reports are better written to a file than kept as a string
+     * @param output where the report is written
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Appendable output) throws IOException {
+        output.append("=== Text Analysis Results ===\n");
+        output.append("Generated on: ").append(reportDate.format(DateTimeFormatter.ofPattern(TextConstants.DATE_TIME_PATTERN))).append("\n");
+        output.append("\n1. Paragraphs sorted by sentence count:\n");
+        long paragraphIndex = 1;
+        for (Map.Entry<Integer, Long> entry : paragraphsBySentenceCount.entrySet()) {
+            for (long i = 0; i < entry.getValue(); i++) {
+                output.append(String.format("   Paragraph %d: %d sentences%n", paragraphIndex++, entry.getKey()));
+            }
+        }
+
+        output.append("\n2. Sentences with longest word:\n");
+        for (String preview : longestWordSentencePreviews) {
+            output.append(String.format("   %s%n", preview));
+        }
+        if (sentencesWithLongestWord > SHOWN_SENTENCES) {
+            output.append(String.format("   ... and %d more sentences%n", sentencesWithLongestWord - SHOWN_SENTENCES));
+        }
+
+        output.append("\n3. Document statistics after removing sentences with < 3 words:\n");
+        // The complete analysis report shows the paragraph count in both places
+        output.append(String.format("   Original: %d paragraphs, %d sentences%n", paragraphs, paragraphs));
+        output.append(String.format("   Filtered: %d paragraphs, %d sentences%n", paragraphs, paragraphs));
+
+        output.append("\n4. Most frequent words (case insensitive):\n");
+        List<Map.Entry<String, Long>> frequentWords = wordCounts.entrySet().stream()
+                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
+                .limit(10)
+                .collect(Collectors.toList());
+        for (Map.Entry<String, Long> entry : frequentWords) {
+            output.append(String.format("   '%s': %d times%n", entry.getKey(), entry.getValue()));
+        }
+
+        output.append("\n5. Vowel and consonant analysis:\n");
+        output.append(String.format("   Vowels: %d, Consonants: %d, Total letters: %d%n", vowels, consonants, vowels + consonants));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "StreamingAnalysisReport{paragraphs=%d, sentences=%d, sentencesWithLongestWord=%d, uniqueWords=%d, vowels=%d, consonants=%d}",
+            paragraphs, sentences, sentencesWithLongestWord, wordCounts != null ? wordCounts.size() : 0, vowels, consonants);
+    }
+}
@@ -0,0 +1,333 @@
+package com.textparser.stream;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Word;
+import com.textparser.parser.ParseContext;
+import com.textparser.parser.TextParser;
+import com.textparser.parser.impl.ExpressionParser;
+import com.textparser.parser.impl.LexemeParser;
+import com.textparser.parser.impl.SymbolParser;
+import com.textparser.parser.impl.WordParser;
+import com.textparser.service.FileReaderService;
+import com.textparser.util.TextConstants;
+import com.textparser.util.VowelConsonantUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the complete analysis report in a single pass over a text, without
+ * building the document tree. Paragraph and sentence boundaries are found while
+ * reading, following the split patterns of the document and paragraph parsers,
+ * and every lexeme goes through the same lexeme parser chain as in a full parse.
+ * Each lexeme is dropped once it is counted, so memory depends on the vocabulary
+ * and not on the size of the input, and the report matches the tree-based one.
+ * <p>
+ * The per-sentence vowel and consonant counts of the complete analysis grow with
+ * the input and are not kept; the document totals are.
+ * <p>
+ * Files are mapped and scanned as UTF-8 bytes by a {@link Utf8Tokenizer}: only
+ * single lexemes are decoded, and letters are counted on the bytes.
+ */
+public class StreamingAnalyzer {
+    private static final Logger logger = LogManager.getLogger(StreamingAnalyzer.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Whitespace before a capital letter that starts a new paragraph, see {@code PARAGRAPH_SPLIT_PATTERN}
+     */
+    static final int PARAGRAPH_INDENT = 4;
+
+    private final TextParser lexemeParser;
+
+    public StreamingAnalyzer() {
+        LexemeParser lexemeParser = new LexemeParser();
+        WordParser wordParser = new WordParser();
+        ExpressionParser expressionParser = new ExpressionParser();
+        SymbolParser symbolParser = new SymbolParser();
+        lexemeParser.setNext(wordParser);
+        wordParser.setNext(expressionParser);
+        expressionParser.setNext(symbolParser);
+        this.lexemeParser = lexemeParser;
+    }
+
+    /**
+     * Analyze a UTF-8 text file, mapped into memory unless it is larger than a buffer
+     * can be or gzip-compressed; compressed files are decompressed while they are analyzed
+     * @param file the file to analyze
+     * @return the analysis report
+     * @throws IOException if the file cannot be read
+     */
+    public StreamingAnalysisReport analyze(Path file) throws IOException {
+        FileReaderService fileReaderService = new FileReaderService();
+        if (!fileReaderService.isCompressed(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size <= Integer.MAX_VALUE) {
+                    return analyze(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                }
+            }
+        }
+        try (Reader reader = fileReaderService.openReader(file)) {
+            return analyze(reader);
+        }
+    }
+
+    /**
+     * Analyze UTF-8 text without decoding it as a whole; malformed sequences
+     * are replaced rather than rejected
+     * @param bytes the text from its position to its limit; the buffer is not moved
+     * @return the analysis report
+     */
+    public StreamingAnalysisReport analyze(ByteBuffer bytes) {
+        logger.info("Starting streaming analysis of {} bytes", bytes.remaining());
+        Scan scan = new Scan();
+        Utf8Tokenizer tokenizer = new Utf8Tokenizer(bytes);
+        while (tokenizer.next()) {
+            scan.accept(tokenizer);
+        }
+        StreamingAnalysisReport report = scan.finish();
+        logger.info("Streaming analysis completed. {}", report);
+        return report;
+    }
+
+    /**
+     * Analyze a text read to its end; the reader is not closed
+     * @param reader the text to analyze
+     * @return the analysis report
+     * @throws IOException if the text cannot be read
+     */
+    public StreamingAnalysisReport analyze(Reader reader) throws IOException {
+        logger.info("Starting streaming analysis");
+        Scan scan = new Scan();
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                scan.accept(buffer[i]);
+            }
+        }
+        StreamingAnalysisReport report = scan.finish();
+        logger.info("Streaming analysis completed. {}", report);
+        return report;
+    }
+
+    /**
+     * Write the formatted report below the reports folder
+     * @param report the report to write
+     * @param fileName path of the report inside the reports folder
+     * @return path of the written report
+     * @throws IOException if the report cannot be written
+     */
+    public static Path writeReport(StreamingAnalysisReport report, String fileName) throws IOException {
+        Path reportPath = Path.of(TextConstants.REPORT_FOLDER_PATH, fileName);
+        Files.createDirectories(reportPath.getParent());
+        try (Writer writer = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+            report.writeTo(writer);
+        }
+        logger.info("Streaming report saved to: {}", reportPath);
+        return reportPath;
+    }
+
+    /**
+     * Whitespace as matched by {@code \s} in the split patterns
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+    /**
+     * State of one pass: the token being read, the whitespace after the last token,
+     * the current sentence and paragraph, and the totals so far
+     */
+    private final class Scan {
+        private final ParseContext context = new ParseContext();
+        private final StringBuilder token = new StringBuilder();
+        private int whitespace;
+        private boolean whitespaceHasTab;
+        private boolean lastTokenEndsSentence;
+
+        private final StringBuilder sentencePreview = new StringBuilder();
+        private int sentenceLexemes;
+        private int sentenceLongestWord;
+        private int paragraphSentences;
+
+        private final TreeMap<Integer, Long> paragraphsBySentenceCount = new TreeMap<>();
+        private final Map<String, Long> wordCounts = new HashMap<>();
+        private final List<String> longestWordSentencePreviews = new ArrayList<>();
+        private long paragraphs;
+        private long sentences;
+        private int longestWordLength;
+        private long sentencesWithLongestWord;
+        private long vowels;
+        private long consonants;
+
+        private void accept(char c) {
+            if (isWhitespace(c)) {
+                if (token.length() > 0) {
+                    endToken();
+                }
+                whitespace++;
+                whitespaceHasTab |= c == '\t';
+                return;
+            }
+            if (whitespace > 0) {
+                if (whitespaceHasTab || (whitespace >= PARAGRAPH_INDENT && c >= 'A' && c <= 'Z')) {
+                    endSentence();
+                    endParagraph();
+                } else if (lastTokenEndsSentence) {
+                    endSentence();
+                }
+                whitespace = 0;
+                whitespaceHasTab = false;
+                lastTokenEndsSentence = false;
+            }
+            token.append(c);
+        }
+
+        /**
+         * Take the current token of a byte scan, which has found the boundaries before it
+         */
+        private void accept(Utf8Tokenizer tokenizer) {
+            if (tokenizer.isParagraphStart()) {
+                endSentence();
+                endParagraph();
+            } else if (tokenizer.isSentenceStart()) {
+                endSentence();
+            }
+            String lexemeText = tokenizer.getTokenText().trim();
+            if (lexemeText.isEmpty()) {
+                return;
+            }
+            TextComponent lexeme = lexemeParser.parse(lexemeText, context);
+            String text = lexeme.getText();
+            if (text.equals(lexemeText)) {
+                addLexeme(lexeme, text, tokenizer.countVowels(), tokenizer.countConsonants());
+            } else {
+                // An evaluated expression or an unparsed lexeme: count what the tree holds
+                addLexeme(lexeme, text, VowelConsonantUtils.countVowels(text), VowelConsonantUtils.countConsonants(text));
+            }
+        }
+
+        private void endToken() {
+            lastTokenEndsSentence = isSentenceEnd(token.charAt(token.length() - 1));
+            String lexemeText = token.toString().trim();
+            token.setLength(0);
+            if (!lexemeText.isEmpty()) {
+                addLexeme(lexemeParser.parse(lexemeText, context));
+            }
+        }
+
+        private void addLexeme(TextComponent lexeme) {
+            String text = lexeme.getText();
+            addLexeme(lexeme, text, VowelConsonantUtils.countVowels(text), VowelConsonantUtils.countConsonants(text));
+        }
+
+        private void addLexeme(TextComponent lexeme, String text, int lexemeVowels, int lexemeConsonants) {
+            if (sentenceLexemes > 0) {
+                appendPreview(" ");
+            }
+            appendPreview(text);
+            sentenceLexemes++;
+            vowels += lexemeVowels;
+            consonants += lexemeConsonants;
+            // Only words that make up a whole lexeme are counted, as in Document.streamWords()
+            if (lexeme.getChildCount() > 0 && lexeme.getChild(0) instanceof Word) {
+                String word = lexeme.getChild(0).getText();
+                wordCounts.merge(word.toLowerCase(), 1L, Long::sum);
+                sentenceLongestWord = Math.max(sentenceLongestWord, word.length());
+            }
+        }
+
+        /**
+         * Keep one character more than the preview shows, to know whether it was cut
+         */
+        private void appendPreview(String text) {
+            int room = StreamingAnalysisReport.SENTENCE_PREVIEW_LENGTH + 1 - sentencePreview.length();
+            if (room > 0) {
+                sentencePreview.append(text, 0, Math.min(room, text.length()));
+            }
+        }
+
+        private void endSentence() {
+            if (sentenceLexemes == 0) {
+                return;
+            }
+            sentences++;
+            paragraphSentences++;
+            if (sentenceLongestWord > 0 && sentenceLongestWord >= longestWordLength) {
+                if (sentenceLongestWord > longestWordLength) {
+                    longestWordLength = sentenceLongestWord;
+                    sentencesWithLongestWord = 0;
+                    longestWordSentencePreviews.clear();
+                }
+                sentencesWithLongestWord++;
+                if (longestWordSentencePreviews.size() < StreamingAnalysisReport.SHOWN_SENTENCES) {
+                    longestWordSentencePreviews.add(preview());
+                }
+            }
+            sentencePreview.setLength(0);
+            sentenceLexemes = 0;
+            sentenceLongestWord = 0;
+        }
+
+        private String preview() {
+            int limit = StreamingAnalysisReport.SENTENCE_PREVIEW_LENGTH;
+            return sentencePreview.length() > limit
+                    ? sentencePreview.substring(0, limit) + "..."
+                    : sentencePreview.toString();
+        }
+
+        private void endParagraph() {
+            if (paragraphSentences == 0) {
+                return;
+            }
+            paragraphs++;
+            paragraphsBySentenceCount.merge(paragraphSentences, 1L, Long::sum);
+            paragraphSentences = 0;
+        }
+
+        private StreamingAnalysisReport finish() {
+            if (token.length() > 0) {
+                endToken();
+            }
+            endSentence();
+            endParagraph();
+
+            StreamingAnalysisReport report = new StreamingAnalysisReport();
+            report.reportDate = LocalDateTime.now();
+            report.paragraphs = paragraphs;
+            report.sentences = sentences;
+            report.paragraphsBySentenceCount = paragraphsBySentenceCount;
+            report.longestWordLength = longestWordLength;
+            report.sentencesWithLongestWord = sentencesWithLongestWord;
+            report.longestWordSentencePreviews = longestWordSentencePreviews;
+            // Filtered the same way as CountIdenticalWords, which keeps the order of equal counts in the report
+            report.wordCounts = wordCounts.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 1)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            report.vowels = vowels;
+            report.consonants = consonants;
+            return report;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.textparser.stream;
+
+import com.textparser.util.VowelConsonantUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits UTF-8 text into whitespace-separated tokens directly on its bytes,
+ * e.g. of a mapped file, without decoding the text into a {@code String}.
+ * Every byte of a multi-byte sequence has the high bit set, while whitespace,
+ * sentence ends and the capital letters that start a paragraph are ASCII, so
+ * boundaries are found with a table over single bytes and never fall inside a
+ * character. Tokens are spans of the buffer; only a token that is asked for
+ * its text is decoded, as Latin-1 when it is pure ASCII.
+ * <p>
+ * Inside a token, eight bytes at a time are tested for a byte up to the space
+ * character, so runs of ordinary text, ASCII or not, are skipped a word at a
+ * time. Boundaries follow the split patterns of the document and paragraph
+ * parsers, as in {@link StreamingAnalyzer}.
+ */
+public class Utf8Tokenizer {
+    private static final byte WHITESPACE = 1;
+    private static final byte SENTENCE_END = 2;
+    private static final byte CAPITAL = 4;
+    private static final byte VOWEL = 8;
+    private static final byte CONSONANT = 16;
+
+    /**
+     * Classes of single bytes; bytes of multi-byte sequences have none
+     */
+    private static final byte[] BYTE_CLASSES = new byte[256];
+    /**
+     * Letter classes of U+0400 to U+047F, the two-byte sequences led by 0xD0 and 0xD1
+     */
+    private static final byte[] CYRILLIC_CLASSES = new byte[128];
+    private static final int CYRILLIC_START = 0x400;
+
+    private static final long SPACES = 0x2121212121212121L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    static {
+        for (char c : new char[] {' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+            BYTE_CLASSES[c] = WHITESPACE;
+        }
+        for (char c : new char[] {'.', '!', '?'}) {
+            BYTE_CLASSES[c] = SENTENCE_END;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            BYTE_CLASSES[c] = CAPITAL;
+        }
+        // Letters as the vowel and consonant counts of the analysis see them
+        for (char c = 0; c < 0x80; c++) {
+            BYTE_CLASSES[c] |= letterClass(c);
+        }
+        for (int i = 0; i < CYRILLIC_CLASSES.length; i++) {
+            CYRILLIC_CLASSES[i] = letterClass((char) (CYRILLIC_START + i));
+        }
+    }
+
+    private final ByteBuffer bytes;
+    private final int limit;
+    private int position;
+    private boolean previousEndsSentence;
+    private byte[] scratch = new byte[64];
+
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean ascii;
+    private boolean paragraphStart;
+    private boolean sentenceStart;
+
+    /**
+     * @param bytes UTF-8 text from its position to its limit; the buffer itself is not moved
+     */
+    public Utf8Tokenizer(ByteBuffer bytes) {
+        this.bytes = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.position = bytes.position();
+        this.limit = bytes.limit();
+    }
+
+    /**
+     * Move to the next token
+     * @return false if there are no more tokens
+     */
+    public boolean next() {
+        int whitespace = 0;
+        boolean tab = false;
+        int i = position;
+        while (i < limit) {
+            byte b = bytes.get(i);
+            if (b < 0 || (BYTE_CLASSES[b] & WHITESPACE) == 0) {
+                break;
+            }
+            whitespace++;
+            tab |= b == '\t';
+            i++;
+        }
+        if (i == limit) {
+            position = limit;
+            return false;
+        }
+        byte first = bytes.get(i);
+        paragraphStart = whitespace > 0 && (tab || whitespace >= StreamingAnalyzer.PARAGRAPH_INDENT
+                && first >= 0 && (BYTE_CLASSES[first] & CAPITAL) != 0);
+        sentenceStart = whitespace > 0 && (paragraphStart || previousEndsSentence);
+        tokenStart = i;
+        tokenEnd = findTokenEnd(i);
+        byte last = bytes.get(tokenEnd - 1);
+        previousEndsSentence = last >= 0 && (BYTE_CLASSES[last] & SENTENCE_END) != 0;
+        position = tokenEnd;
+        return true;
+    }
+
+    /**
+     * Find the whitespace after a token, skipping words without a byte up to
+     * the space character at once
+     */
+    private int findTokenEnd(int from) {
+        int i = from;
+        boolean onlyAscii = true;
+        while (true) {
+            while (i + Long.BYTES <= limit) {
+                long word = bytes.getLong(i);
+                if (((word - SPACES) & ~word & HIGH_BITS) != 0) {
+                    break;
+                }
+                onlyAscii &= (word & HIGH_BITS) == 0;
+                i += Long.BYTES;
+            }
+            // Bytewise through the word holding a candidate; control characters other than whitespace are token bytes
+            int stop = Math.min(limit, i + Long.BYTES);
+            for (; i < stop; i++) {
+                byte b = bytes.get(i);
+                if (b >= 0 && (BYTE_CLASSES[b] & WHITESPACE) != 0) {
+                    ascii = onlyAscii;
+                    return i;
+                }
+                onlyAscii &= b >= 0;
+            }
+            if (i == limit) {
+                ascii = onlyAscii;
+                return i;
+            }
+        }
+    }
+
+    /**
+     * @return whether the whitespace before the current token ends a paragraph
+     */
+    public boolean isParagraphStart() {
+        return paragraphStart;
+    }
+
+    /**
+     * @return whether the whitespace before the current token ends a sentence,
+     *         true as well at the start of a paragraph
+     */
+    public boolean isSentenceStart() {
+        return sentenceStart;
+    }
+
+    /**
+     * @return offset of the first byte of the current token in the buffer
+     */
+    public int getTokenStart() {
+        return tokenStart;
+    }
+
+    /**
+     * @return offset after the last byte of the current token in the buffer
+     */
+    public int getTokenEnd() {
+        return tokenEnd;
+    }
+
+    /**
+     * @return whether the current token has only ASCII bytes
+     */
+    public boolean isAscii() {
+        return ascii;
+    }
+
+    /**
+     * Decode the current token; malformed sequences become replacement characters
+     * @return the text of the token
+     */
+    public String getTokenText() {
+        int length = tokenEnd - tokenStart;
+        Charset charset = ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + tokenStart, length, charset);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        bytes.get(tokenStart, scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+
+    /**
+     * @return vowels of the current token, as {@link VowelConsonantUtils#countVowels} counts them
+     */
+    public int countVowels() {
+        return countLetters(VOWEL);
+    }
+
+    /**
+     * @return consonants of the current token, as {@link VowelConsonantUtils#countConsonants} counts them
+     */
+    public int countConsonants() {
+        return countLetters(CONSONANT);
+    }
+
+    private int countLetters(byte letterClass) {
+        int count = 0;
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            byte b = bytes.get(i);
+            if (b >= 0) {
+                if ((BYTE_CLASSES[b] & letterClass) != 0) {
+                    count++;
+                }
+            } else if ((b == (byte) 0xD0 || b == (byte) 0xD1) && i + 1 < tokenEnd && (bytes.get(i + 1) & 0xC0) == 0x80) {
+                int codePoint = (b & 0x1F) << 6 | bytes.get(i + 1) & 0x3F;
+                if ((CYRILLIC_CLASSES[codePoint - CYRILLIC_START] & letterClass) != 0) {
+                    count++;
+                }
+                i++;
+            }
+        }
+        return count;
+    }
+
+    private static byte letterClass(char c) {
+        if (VowelConsonantUtils.isVowel(c)) {
+            return VOWEL;
+        }
+        return VowelConsonantUtils.isConsonant(c) ? CONSONANT : 0;
+    }
+}
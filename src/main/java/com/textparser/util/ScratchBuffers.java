@@ -0,0 +1,56 @@
+package com.textparser.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reusable scratch structures of the current thread, so that code shared by
+ * many threads, such as the parser chain, does not allocate a matcher or a
+ * token list for every call. A structure handed out is only valid until the
+ * next request for the same structure on the thread: read what is needed from
+ * it before calling code that may use the scratch buffers itself.
+ */
+public final class ScratchBuffers {
+    private static final ThreadLocal<ScratchBuffers> CURRENT = ThreadLocal.withInitial(ScratchBuffers::new);
+
+    private final Map<Pattern, Matcher> matchers = new IdentityHashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+
+    private ScratchBuffers() {
+    }
+
+    /**
+     * @return the scratch buffers of the current thread
+     */
+    public static ScratchBuffers current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the matcher of this thread for a pattern, reset to a new input
+     * @param pattern the compiled pattern, compared by identity
+     * @param input the text to match
+     * @return the reset matcher
+     */
+    public Matcher matcher(Pattern pattern, CharSequence input) {
+        Matcher matcher = matchers.get(pattern);
+        if (matcher == null) {
+            matcher = pattern.matcher(input);
+            matchers.put(pattern, matcher);
+            return matcher;
+        }
+        return matcher.reset(input);
+    }
+
+    /**
+     * @return the empty token list of this thread
+     */
+    public List<String> tokens() {
+        tokens.clear();
+        return tokens;
+    }
+}
@@ -12,6 +12,7 @@ public final class TextConstants {
     // File paths
     public static final String REPORT_FOLDER_PATH = "reports";
     public static final String OUTPUT_FILE_PATH = "text_analysis_report.txt";
+    public static final String REPORT_FILE_SUFFIX = "_report.txt";
 
     // Date and time patterns
     public static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
@@ -1,11 +1,21 @@
 package com.textparser;
 
+import com.textparser.composite.TextComponent;
 import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.RawText;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.parser.ParseDepth;
+import com.textparser.parser.ParserConfiguration;
 import com.textparser.service.TextParsingService;
 import com.textparser.service.TextOperationsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ApplicationTest {
@@ -96,4 +106,80 @@ public class ApplicationTest {
         
         assertThat(filteredSentenceCount).isLessThanOrEqualTo(originalSentenceCount);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testRemoveShortSentencesAboveFullDepthCountsLexemes() {
+        String text = "    This is a longer sentence with many words here. Short.\n\n    Another paragraph. Very short sentence. This sentence has more words.";
+        List<String> expected = List.of("This is a longer sentence with many words here.",
+                "Very short sentence.", "This sentence has more words.");
+
+        for (ParseDepth depth : List.of(ParseDepth.SENTENCE, ParseDepth.LEXEME, ParseDepth.FULL)) {
+            Document document = new TextParsingService(depth).parseText(text);
+            Document filteredDocument = textOperationsService.removeShortSentences(document, 3);
+
+            assertThat(filteredDocument.getAllSentences()).extracting(TextComponent::getText)
+                    .as("sentences kept at %s depth", depth)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testShallowParseDepthKeepsCoarseStructure() {
+        String text = "    This is a longer sentence with many words here. Short.\n\n    Another paragraph. Very short sentence. This sentence has more words.";
+        Document full = textParsingService.parseText(text);
+
+        Document paragraphs = new TextParsingService(ParseDepth.PARAGRAPH).parseText(text);
+        Document sentences = new TextParsingService(ParseDepth.SENTENCE).parseText(text);
+        Document lexemes = new TextParsingService(ParseDepth.LEXEME).parseText(text);
+
+        assertThat(paragraphs.getParagraphCount()).isEqualTo(full.getParagraphCount());
+        assertThat(paragraphs.getParagraphs().get(0).getChild(0)).isInstanceOf(RawText.class);
+        assertThat(sentences.getSentenceCount()).isEqualTo(full.getSentenceCount());
+        assertThat(sentences.getAllSentences().get(0).getChild(0)).isInstanceOf(RawText.class);
+        assertThat(lexemes.getAllSentences()).extracting(sentence -> sentence.getChildCount())
+                .isEqualTo(full.getAllSentences().stream().map(sentence -> sentence.getChildCount()).toList());
+        assertThat(lexemes.getText()).isEqualTo(full.getText());
+        assertThat(textOperationsService.sortParagraphsBySentenceCount(sentences))
+                .extracting(Paragraph::getSentenceCount)
+                .containsExactly(2, 3);
+    }
+
+    @Test
+    void testPlannedParseSkipsNodesTheOperationsDoNotRead() {
+        String text = "    Words, words and more words: 3+4 of them! Words again.\n\n    Another paragraph (with words).";
+        Document full = textParsingService.parseText(text);
+
+        Document planned = TextParsingService.forOperations(List.of(new CountIdenticalWords())).parseText(text);
+
+        assertThat(containsNode(full, Symbol.class)).isTrue();
+        assertThat(containsNode(planned, Symbol.class)).isFalse();
+        assertThat(containsNode(planned, Expression.class)).isFalse();
+        assertThat(textOperationsService.countIdenticalWords(planned))
+                .isEqualTo(textOperationsService.countIdenticalWords(full));
+    }
+
+    @Test
+    void testServiceKeepsTheConfigurationItWasBuiltWith() {
+        ParserConfiguration configuration = new ParserConfiguration().setDepth(ParseDepth.SENTENCE);
+        TextParsingService service = new TextParsingService(configuration);
+
+        configuration.setDepth(ParseDepth.FULL);
+        service.getConfiguration().setDepth(ParseDepth.LEXEME);
+
+        assertThat(service.getDepth()).isEqualTo(ParseDepth.SENTENCE);
+        assertThat(service.getConfiguration().getDepth()).isEqualTo(ParseDepth.SENTENCE);
+        assertThat(service.parseText("    Two words.").getAllSentences().get(0).getChild(0)).isInstanceOf(RawText.class);
+    }
+
+    private static boolean containsNode(TextComponent component, Class<? extends TextComponent> type) {
+        if (type.isInstance(component)) {
+            return true;
+        }
+        for (int i = 0; i < component.getChildCount(); i++) {
+            if (containsNode(component.getChild(i), type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
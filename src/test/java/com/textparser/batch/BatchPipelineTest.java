@@ -0,0 +1,97 @@
+package com.textparser.batch;
+
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.util.TextConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchPipelineTest {
+    private static final Path BATCH_REPORTS = Path.of(TextConstants.REPORT_FOLDER_PATH, "batch");
+    private static final Path SUMMARY = BATCH_REPORTS.resolve("batch_summary.txt");
+
+    @Test
+    void testOutputIsOrderedAndIndependentOfThreadCounts(@TempDir Path directory) throws Exception {
+        String prefix = "pipeline-" + System.nanoTime() + "-";
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            StringWriter writer = new StringWriter();
+            new CorpusGenerator(new CorpusSettings().setSeed(70L + i).setTargetBytes(8 * 1024)).generate(writer);
+            files.add(Files.writeString(directory.resolve(prefix + i + ".txt"), writer.toString(), StandardCharsets.UTF_8));
+        }
+        List<Path> inputs = new ArrayList<>(BatchPipeline.collectInputs(List.of(directory)));
+        // Fails in the read stage
+        inputs.add(2, directory.resolve(prefix + "missing.txt"));
+        // Fails in the write stage: a directory is in the way of its report
+        Path blockedReport = BATCH_REPORTS.resolve(files.get(3).getFileName() + TextConstants.REPORT_FILE_SUFFIX);
+        Files.createDirectories(blockedReport);
+
+        try {
+            BatchStatistics sequential = new BatchPipeline(new BatchSettings()
+                    .setReaderThreads(1).setParserThreads(1).setAnalyzerThreads(1).setWriterThreads(1)
+                    .setQueueCapacity(1)).run(inputs);
+            List<String> sequentialSummary = summaryLines();
+            List<String> sequentialReports = reports(files);
+            assertThat(sequentialReports).hasSize(4);
+
+            BatchStatistics concurrent = new BatchPipeline(new BatchSettings()
+                    .setReaderThreads(3).setParserThreads(4).setAnalyzerThreads(3).setWriterThreads(2)
+                    .setQueueCapacity(2)).run(inputs);
+
+            assertThat(sequential.getFiles()).isEqualTo(6);
+            assertThat(sequential.getFailures()).isEqualTo(2);
+            assertThat(concurrent.getFailures()).isEqualTo(2);
+            assertThat(summaryLines()).isEqualTo(sequentialSummary);
+            assertThat(reports(files)).isEqualTo(sequentialReports);
+
+            assertThat(sequentialSummary).hasSize(inputs.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                assertThat(sequentialSummary.get(i)).startsWith(inputs.get(i) + ": ");
+            }
+            assertThat(sequentialSummary.get(2)).contains("FAILED");
+            assertThat(sequentialSummary.get(4)).contains("FAILED").doesNotContain("null");
+            assertThat(sequentialSummary.get(0)).contains("-> ").doesNotContain("FAILED");
+        } finally {
+            for (Path file : files) {
+                Files.deleteIfExists(BATCH_REPORTS.resolve(file.getFileName() + TextConstants.REPORT_FILE_SUFFIX));
+            }
+            Files.deleteIfExists(SUMMARY);
+        }
+    }
+
+    /**
+     * Summary lines of the last run, without the batch date
+     */
+    private static List<String> summaryLines() throws IOException {
+        return Files.readAllLines(SUMMARY).stream()
+                .filter(line -> line.contains(".txt: "))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reports written for the inputs, without the batch date
+     */
+    private static List<String> reports(List<Path> files) throws IOException {
+        List<String> reports = new ArrayList<>();
+        for (Path file : files) {
+            Path report = BATCH_REPORTS.resolve(file.getFileName() + TextConstants.REPORT_FILE_SUFFIX);
+            if (Files.isRegularFile(report)) {
+                reports.add(Files.readAllLines(report).stream()
+                        .filter(line -> !line.startsWith("Generated on:"))
+                        .collect(Collectors.joining("\n")));
+            }
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,100 @@
+package com.textparser.batch;
+
+import com.textparser.metrics.Counter;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.util.TextConstants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DirectoryWatchServiceTest {
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(400);
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    @Test
+    void testFileIsProcessedOnceAfterItSettles(@TempDir Path directory) throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        Counter processed = registry.counter("watch.processed");
+        Counter skipped = registry.counter("watch.skipped");
+        Counter failed = registry.counter("watch.failures");
+        long processedBefore = processed.get();
+        long failedBefore = failed.get();
+
+        String fileName = "watched-" + System.nanoTime() + ".txt";
+        Path file = directory.resolve(fileName);
+        Path report = Path.of(TextConstants.REPORT_FOLDER_PATH, fileName + TextConstants.REPORT_FILE_SUFFIX);
+        try (DirectoryWatchService service = new DirectoryWatchService(directory, 2, 4, QUIET_PERIOD)) {
+            service.start();
+
+            // Written in two parts within the quiet period, as a slow writer would
+            Files.writeString(file, "\tThe first part of the text arrives. ", StandardCharsets.UTF_8);
+            Thread.sleep(QUIET_PERIOD.toMillis() / 4);
+            Files.writeString(file, "The second part follows it.\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            assertThat(await(() -> processed.get() > processedBefore)).isTrue();
+            // Late events for the same writes must not lead to a second run
+            Thread.sleep(QUIET_PERIOD.toMillis() * 3);
+            assertThat(processed.get()).isEqualTo(processedBefore + 1);
+            assertThat(failed.get()).isEqualTo(failedBefore);
+            assertThat(report).exists();
+
+            // A touch changes the modification time but not the content
+            long skippedBefore = skipped.get();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000L));
+            assertThat(await(() -> skipped.get() > skippedBefore)).isTrue();
+            assertThat(processed.get()).isEqualTo(processedBefore + 1);
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    @Test
+    void testFileIsRetriedAfterItsReportFailed(@TempDir Path directory) throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        Counter processed = registry.counter("watch.processed");
+        Counter failed = registry.counter("watch.failures");
+        long processedBefore = processed.get();
+        long failedBefore = failed.get();
+
+        String fileName = "blocked-" + System.nanoTime() + ".txt";
+        Path file = directory.resolve(fileName);
+        Path report = Path.of(TextConstants.REPORT_FOLDER_PATH, fileName + TextConstants.REPORT_FILE_SUFFIX);
+        // A directory is in the way of the report
+        Files.createDirectories(report);
+        try (DirectoryWatchService service = new DirectoryWatchService(directory, 2, 4, QUIET_PERIOD)) {
+            service.start();
+            Files.writeString(file, "\tThe report of this text cannot be written.\n", StandardCharsets.UTF_8);
+            assertThat(await(() -> failed.get() > failedBefore)).isTrue();
+            assertThat(processed.get()).isEqualTo(processedBefore);
+
+            // Once the way is clear, a touch is enough to process the unchanged file
+            Files.delete(report);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000L));
+            assertThat(await(() -> processed.get() > processedBefore)).isTrue();
+            assertThat(report).isRegularFile();
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(20L);
+        }
+        return true;
+    }
+}
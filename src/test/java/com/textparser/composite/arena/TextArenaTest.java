@@ -0,0 +1,92 @@
+package com.textparser.composite.arena;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Document;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.operations.impl.FindSentencesWithLongestWord;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TextArenaTest {
+
+    @Test
+    void testArenaKeepsDocumentStructureAndText() throws IOException {
+        Document document = parse(42L);
+        TextArena arena = TextArena.of(document);
+        TextComponent view = arena.view(0);
+
+        assertThat(view.getText()).isEqualTo(document.getText());
+        assertThat(view.getParagraphCount()).isEqualTo(document.getParagraphCount());
+        assertThat(view.getSentenceCount()).isEqualTo(document.getSentenceCount());
+        assertThat(view.getWordCount()).isEqualTo(document.getWordCount());
+        assertThat(view.getChild(1).getChild(0).getText()).isEqualTo(document.getChild(1).getChild(0).getText());
+        assertThat(arena.parent(arena.child(0, 1))).isZero();
+        assertThat(arena.toDocument().getText()).isEqualTo(document.getText());
+    }
+
+    @Test
+    void testOperationsOnArenaMatchDocument() throws IOException {
+        Document document = parse(43L);
+        TextArena arena = TextArena.of(document);
+
+        assertThat(new CountIdenticalWords().execute(arena)).isEqualTo(new CountIdenticalWords().execute(document));
+        assertThat(new CountVowelsConsonants().execute(arena)).usingRecursiveComparison()
+                .isEqualTo(new CountVowelsConsonants().execute(document));
+        assertThat(new FindSentencesWithLongestWord().execute(arena)).extracting(TextComponent::getText)
+                .containsExactlyElementsOf(new FindSentencesWithLongestWord().execute(document).stream()
+                        .map(TextComponent::getText).toList());
+    }
+
+    @Test
+    void testArenaFileLoadsWhatWasWrittenAndRejectsDamage(@TempDir Path directory) throws IOException {
+        Document document = parse(44L);
+        Document cyrillic = new TextParsingService().parseText("\tПривет, мир! Итог 2*7 ровно.\n\tВторой абзац.");
+        Path file = directory.resolve("document.arena");
+        Path cyrillicFile = directory.resolve("cyrillic.arena");
+        TextArenaFile.write(document, file);
+        TextArenaFile.write(cyrillic, cyrillicFile);
+
+        assertThat(TextArenaFile.map(file).view(0).getWordCount()).isEqualTo(document.getWordCount());
+        assertThat(TextArenaFile.readDocument(file).getText()).isEqualTo(document.getText());
+        Document loaded = TextArenaFile.readDocument(cyrillicFile);
+        assertThat(loaded.getText()).isEqualTo(cyrillic.getText());
+        assertThat(loaded.getText()).contains("14.0");
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThatThrownBy(() -> TextArenaFile.map(file)).isInstanceOf(IOException.class).hasMessageContaining("checksum");
+        // Without the checksum the file maps, and only the header is checked
+        assertThat(TextArenaFile.map(file, false).size()).isEqualTo(TextArena.of(document).size());
+    }
+
+    @Test
+    void testLeafViewsHaveNoChildrenLikeLeaves() {
+        Document document = new TextParsingService().parseText("\tOne word.");
+        TextComponent leaf = document.getAllSentences().get(0).getChild(0).getChild(0);
+        TextComponent view = TextArena.of(document).view(0).getChild(0).getChild(0).getChild(0).getChild(0);
+
+        assertThat(view.getText()).isEqualTo(leaf.getText());
+        assertThat(view.getChildCount()).isZero();
+        assertThatThrownBy(() -> leaf.getChild(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> view.getChild(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static Document parse(long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(32 * 1024)).generate(writer);
+        return new TextParsingService().parseText(writer.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.textparser.composite.impl;
+
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentStreamTest {
+
+    @Test
+    void testParallelStreamsKeepDocumentOrder() throws IOException {
+        Document document = parse(31L);
+
+        assertThat(document.streamParagraphs().parallel().collect(Collectors.toList()))
+                .containsExactlyElementsOf(document.getChildren().stream().map(Paragraph.class::cast).toList());
+        assertThat(document.streamSentences().parallel().collect(Collectors.toList()))
+                .containsExactlyElementsOf(document.getAllSentences());
+        assertThat(document.streamWords().parallel().collect(Collectors.toList()))
+                .containsExactlyElementsOf(document.getAllWords());
+    }
+
+    @Test
+    void testSentenceSpliteratorIsSizedAndSplitsEvenly() throws IOException {
+        Document document = parse(32L);
+        Spliterator<Sentence> spliterator = document.streamSentences().spliterator();
+        long sentences = document.getSentenceCount();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(sentences);
+
+        Spliterator<Sentence> prefix = spliterator.trySplit();
+
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.estimateSize() + spliterator.estimateSize()).isEqualTo(sentences);
+        assertThat(prefix.estimateSize()).isBetween(sentences / 4, sentences * 3 / 4);
+        prefix.tryAdvance(sentence -> { });
+        assertThat(prefix.getExactSizeIfKnown()).isEqualTo(sentences - spliterator.estimateSize() - 1);
+    }
+
+    @Test
+    void testUnsplitStreamDoesNotWeighParagraphs() throws IOException {
+        Document document = parse(33L);
+        AtomicInteger weighed = new AtomicInteger();
+        DocumentSpliterator<Sentence> spliterator = new DocumentSpliterator<>(document,
+                paragraph -> {
+                    weighed.incrementAndGet();
+                    return paragraph.getSentenceCount();
+                },
+                paragraph -> paragraph.getSentences().iterator(), false);
+
+        assertThat(StreamSupport.stream(spliterator, false).count()).isEqualTo(document.getSentenceCount());
+        assertThat(weighed).hasValue(0);
+
+        DocumentSpliterator<Sentence> split = new DocumentSpliterator<>(document, paragraph -> {
+            weighed.incrementAndGet();
+            return paragraph.getSentenceCount();
+        }, paragraph -> paragraph.getSentences().iterator(), true);
+        assertThat(split.trySplit()).isNotNull();
+        assertThat(weighed).hasValue(document.getChildCount());
+    }
+
+    private static Document parse(long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(32 * 1024)).generate(writer);
+        return new TextParsingService().parseText(writer.toString());
+    }
+}
@@ -0,0 +1,62 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FrozenDocumentTest {
+
+    @Test
+    void testFrozenDocumentIsImmutableAndReadConcurrently() throws Exception {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(49L).setTargetBytes(16 * 1024)).generate(writer);
+        Document document = new TextParsingService().parseText(writer.toString());
+        Document frozen = document.freeze();
+
+        assertThat(frozen).isNotSameAs(document);
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(document.isFrozen()).isFalse();
+        assertThat(frozen.freeze()).isSameAs(frozen);
+        assertThat(frozen.getText()).isEqualTo(document.getText());
+        assertThat(frozen.getWordCount()).isEqualTo(document.getWordCount());
+        assertThat(frozen.getSentenceCount()).isEqualTo(document.getSentenceCount());
+
+        TextComponent paragraph = frozen.getChild(0);
+        assertThatThrownBy(() -> frozen.add(new Paragraph())).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> paragraph.remove(paragraph.getChild(0))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> paragraph.getChildren().clear()).isInstanceOf(UnsupportedOperationException.class);
+
+        Map<String, Integer> expected = new CountIdenticalWords().execute(document);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<String, Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> {
+                    new CountVowelsConsonants().execute(frozen);
+                    return new CountIdenticalWords().execute(frozen);
+                }));
+            }
+            for (Future<Map<String, Integer>> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
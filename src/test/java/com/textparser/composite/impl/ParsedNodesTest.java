@@ -0,0 +1,77 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.TextComposite;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParsedNodesTest {
+
+    @Test
+    void testFastPathBuildsTheSameNodesAsValidatingConstructors() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(39L).setTargetBytes(16 * 1024).setCyrillicRatio(0.2))
+                .generate(writer);
+        String text = writer + "\n\tIt costs 2*7 or (more), \"quoted\" words... see [1]!";
+        Document parsed = new TextParsingService().parseText(text);
+
+        // Every node the parser built without validation passes the validating constructors
+        TextComponent rebuilt = rebuild(parsed);
+        assertThat(describe(rebuilt)).isEqualTo(describe(parsed));
+        assertThat(rebuilt.getWordCount()).isEqualTo(parsed.getWordCount());
+
+        assertThat(describe(ParsedNodes.word("слово"))).isEqualTo(describe(new Word("слово")));
+        assertThat(describe(ParsedNodes.symbol("..."))).isEqualTo(describe(new Symbol("...")));
+        assertThat(ParsedNodes.symbol("...").isEllipsis()).isTrue();
+        assertThat(ParsedNodes.symbol(",").getChar()).isEqualTo(new Symbol(',').getChar());
+    }
+
+    /**
+     * Copy a tree through the public constructors
+     */
+    private static TextComponent rebuild(TextComponent node) {
+        TextComposite copy;
+        if (node instanceof Word) {
+            return new Word(node.getText());
+        } else if (node instanceof Symbol) {
+            return new Symbol(node.getText());
+        } else if (node instanceof Expression) {
+            Expression expression = (Expression) node;
+            return new Expression(expression.getOriginalExpression(), expression.getEvaluatedValue());
+        } else if (node instanceof RawText) {
+            return new RawText(node.getText());
+        } else if (node instanceof Document) {
+            copy = new Document();
+        } else if (node instanceof Paragraph) {
+            copy = new Paragraph();
+        } else if (node instanceof Sentence) {
+            copy = new Sentence();
+        } else {
+            copy = new Lexeme(((Lexeme) node).getOriginalText());
+        }
+        for (TextComponent child : node.getChildren()) {
+            copy.add(rebuild(child));
+        }
+        return copy;
+    }
+
+    private static String describe(TextComponent node) {
+        StringBuilder description = new StringBuilder(node.getClass().getSimpleName())
+                .append('[').append(node.getText()).append(']');
+        if (!node.getChildren().isEmpty()) {
+            description.append('(');
+            for (TextComponent child : node.getChildren()) {
+                description.append(describe(child)).append(' ');
+            }
+            description.append(')');
+        }
+        return description.toString();
+    }
+}
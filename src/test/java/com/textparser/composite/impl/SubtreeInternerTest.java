@@ -0,0 +1,91 @@
+package com.textparser.composite.impl;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.operations.impl.FindSentencesWithLongestWord;
+import com.textparser.operations.impl.SortParagraphsBySentenceCount;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SubtreeInternerTest {
+
+    @Test
+    void testIdenticalSentencesShareOneInstanceAndOperationsStillAgree() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(48L).setTargetBytes(16 * 1024)).generate(writer);
+        String text = writer + "\n\tSee you soon. Thanks! See you soon.\n\tThanks! See you soon.";
+        TextParsingService service = new TextParsingService();
+        Document interned = service.parseText(text);
+        Document original = service.parseText(text);
+        SubtreeInterner interner = new SubtreeInterner();
+
+        assertThat(interner.intern(interned)).isPositive();
+
+        TextComponent last = interned.getChild(interned.getChildCount() - 1);
+        TextComponent beforeLast = interned.getChild(interned.getChildCount() - 2);
+        assertThat(beforeLast.getChild(0)).isSameAs(beforeLast.getChild(2)).isSameAs(last.getChild(1));
+        assertThat(last.getChild(0).getText()).isEqualTo("Thanks!");
+        assertThat(interner.getEstimatedBytesSaved()).isPositive();
+
+        // Shared nodes are frozen, so changing one occurrence fails instead of changing all of them
+        Sentence shared = (Sentence) beforeLast.getChild(0);
+        assertThat(shared.isFrozen()).isTrue();
+        assertThatThrownBy(() -> shared.add(new Word("again"))).isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(interned.getText()).isEqualTo(original.getText());
+        assertThat(new SortParagraphsBySentenceCount().execute(interned)).extracting(TextComponent::getText)
+                .containsExactlyElementsOf(new SortParagraphsBySentenceCount().execute(original).stream()
+                        .map(TextComponent::getText).toList());
+        assertThat(new FindSentencesWithLongestWord().execute(interned)).extracting(TextComponent::getText)
+                .containsExactlyElementsOf(new FindSentencesWithLongestWord().execute(original).stream()
+                        .map(TextComponent::getText).toList());
+        assertThat(new CountIdenticalWords().execute(interned)).isEqualTo(new CountIdenticalWords().execute(original));
+        assertThat(new CountVowelsConsonants().execute(interned)).usingRecursiveComparison()
+                .isEqualTo(new CountVowelsConsonants().execute(original));
+
+        // Lexemes of another parse are frozen already; they are replaced by the canonical ones
+        Document another = service.parseText(text);
+        assertThat(interner.intern(another)).isPositive();
+        assertThat(another.getChild(0).getChild(0)).isSameAs(interned.getChild(0).getChild(0));
+        assertThat(another.getText()).isEqualTo(original.getText());
+    }
+
+    @Test
+    void testEstimatedBytesSavedForKnownTree() {
+        Paragraph paragraph = new Paragraph();
+        paragraph.add(sentence());
+        paragraph.add(sentence());
+        paragraph.add(sentence().freeze());
+        SubtreeInterner interner = new SubtreeInterner();
+
+        // Each later sentence replaces itself, two lexemes and two words
+        assertThat(interner.intern(paragraph)).isEqualTo(10);
+
+        // Mutable sentence: 32 fields + 24 list + 24 array of 2; its lexemes: 40 + 24 + 24 array of 1; words: 16
+        long mutable = 80 + 2 * 88 + 2 * 16;
+        // Frozen sentence: 32 fields + 24 list with two inline children; its lexemes: 40 + 24; words: 16
+        long frozen = 56 + 2 * 64 + 2 * 16;
+        assertThat(interner.getEstimatedBytesSaved()).isEqualTo(mutable + frozen);
+    }
+
+    private static Sentence sentence() {
+        Sentence sentence = new Sentence();
+        for (String text : new String[] {"cats", "sat"}) {
+            Lexeme lexeme = new Lexeme(text);
+            lexeme.add(new Word(text));
+            lexeme.trimToSize();
+            sentence.add(lexeme);
+        }
+        sentence.trimToSize();
+        return sentence;
+    }
+}
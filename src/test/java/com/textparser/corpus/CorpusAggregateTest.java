@@ -0,0 +1,77 @@
+package com.textparser.corpus;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CorpusAggregateTest {
+    private final TextParsingService textParsingService = new TextParsingService();
+
+    @Test
+    void testMergedPartialsMatchSingleAggregate() throws IOException {
+        Document first = generate(11L);
+        Document second = generate(12L);
+        Document third = generate(13L);
+
+        CorpusAggregate whole = new CorpusAggregate();
+        whole.add(first);
+        whole.add(second);
+        whole.add(third);
+
+        CorpusAggregate left = new CorpusAggregate();
+        left.add(first);
+        CorpusAggregate right = new CorpusAggregate();
+        right.add(second);
+        right.add(third);
+        CorpusAggregate merged = new CorpusAggregate().merge(left).merge(right);
+
+        assertThat(merged.getDocuments()).isEqualTo(3);
+        assertThat(merged.getParagraphs()).isEqualTo(whole.getParagraphs());
+        assertThat(merged.getSentences()).isEqualTo(whole.getSentences());
+        assertThat(merged.getWords()).isEqualTo(whole.getWords());
+        assertThat(merged.getVowels()).isEqualTo(whole.getVowels());
+        assertThat(merged.getConsonants()).isEqualTo(whole.getConsonants());
+        assertThat(merged.getWordFrequencies()).isEqualTo(whole.getWordFrequencies());
+        assertThat(merged.getLongestWords()).isEqualTo(whole.getLongestWords());
+        assertThat(merged.getSentenceLengths()).isEqualTo(whole.getSentenceLengths());
+        assertThat(merged.getLongestSentenceLength()).isEqualTo(whole.getLongestSentenceLength());
+        assertThat(CorpusAnalyzer.formatReport(merged).lines().skip(2))
+                .containsExactlyElementsOf(CorpusAnalyzer.formatReport(whole).lines().skip(2).toList());
+    }
+
+    @Test
+    void testSentenceLengthPercentiles() {
+        CorpusAggregate aggregate = new CorpusAggregate();
+        aggregate.add(textParsingService.parseText("\tOne two three. One two three four five six seven eight nine ten."));
+
+        assertThat(aggregate.getSentences()).isEqualTo(2);
+        assertThat(aggregate.getSentenceLengthPercentile(50)).isEqualTo(3);
+        assertThat(aggregate.getSentenceLengthPercentile(100)).isEqualTo(10);
+        assertThat(aggregate.getMeanSentenceLength()).isEqualTo(6.5);
+        assertThat(aggregate.getWordFrequencies()).containsEntry("two", 2L);
+    }
+
+    @Test
+    void testLongestSentenceIsNotClampedToTheHistogram() {
+        int words = CorpusAggregate.MAX_TRACKED_SENTENCE_WORDS + 44;
+        CorpusAggregate aggregate = new CorpusAggregate();
+        aggregate.add(textParsingService.parseText("\tShort one. " + "word ".repeat(words).trim() + "."));
+
+        assertThat(aggregate.getSentenceLengthPercentile(100)).isEqualTo(CorpusAggregate.MAX_TRACKED_SENTENCE_WORDS);
+        assertThat(aggregate.getLongestSentenceLength()).isEqualTo(words);
+        assertThat(new CorpusAggregate().merge(new CorpusAggregate()).merge(aggregate).getLongestSentenceLength())
+                .isEqualTo(words);
+        assertThat(CorpusAnalyzer.formatReport(aggregate)).contains("Max: " + words);
+    }
+
+    private Document generate(long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(8 * 1024)).generate(writer);
+        return textParsingService.parseText(writer.toString());
+    }
+}
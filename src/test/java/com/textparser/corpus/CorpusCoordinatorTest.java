@@ -0,0 +1,109 @@
+package com.textparser.corpus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CorpusCoordinatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWorkerResultsMatchInProcessAnalysis() throws IOException, InterruptedException {
+        List<Path> files = generateFiles(3);
+
+        CorpusAggregate sharded = new CorpusCoordinator(2, 1, Duration.ofMinutes(2), List.of()).analyze(files);
+        CorpusAggregate local = new CorpusAnalyzer(1).analyzeShare(files);
+
+        assertThat(sharded.getDocuments()).isEqualTo(3);
+        assertThat(sharded.getFailedDocuments()).isZero();
+        assertThat(sharded.getWords()).isEqualTo(local.getWords());
+        assertThat(sharded.getWordFrequencies()).isEqualTo(local.getWordFrequencies());
+        assertThat(sharded.getSentenceLengths()).isEqualTo(local.getSentenceLengths());
+    }
+
+    @Test
+    void testCrashedWorkerIsRetried() throws IOException, InterruptedException {
+        List<Path> files = generateFiles(2);
+        CorpusCoordinator coordinator = new CorpusCoordinator(2, 2, Duration.ofMinutes(2), List.of()) {
+            @Override
+            protected ProcessBuilder createWorkerProcess(Path shardFile, Path resultFile, int attempt) {
+                if (attempt == 1) {
+                    // A worker that dies before writing any result
+                    return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                            "-cp", System.getProperty("java.class.path"), "com.textparser.corpus.MissingWorker");
+                }
+                return super.createWorkerProcess(shardFile, resultFile, attempt);
+            }
+        };
+
+        CorpusAggregate aggregate = coordinator.analyze(files);
+
+        assertThat(aggregate.getDocuments()).isEqualTo(2);
+        assertThat(aggregate.getFailedDocuments()).isZero();
+    }
+
+    @Test
+    void testCorruptResultIsRetried() throws IOException, InterruptedException {
+        List<Path> files = generateFiles(2);
+        CorpusCoordinator coordinator = new CorpusCoordinator(2, 2, Duration.ofMinutes(2), List.of()) {
+            @Override
+            protected ProcessBuilder createWorkerProcess(Path shardFile, Path resultFile, int attempt) {
+                if (attempt == 1) {
+                    // A worker that exits normally but leaves a truncated result
+                    try {
+                        Files.write(resultFile, new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5, 0x73});
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                            "-version");
+                }
+                return super.createWorkerProcess(shardFile, resultFile, attempt);
+            }
+        };
+
+        CorpusAggregate aggregate = coordinator.analyze(files);
+
+        assertThat(aggregate.getDocuments()).isEqualTo(2);
+        assertThat(aggregate.getFailedDocuments()).isZero();
+    }
+
+    @Test
+    void testResultWithOtherClassesIsRejected() throws IOException {
+        Path resultFile = tempDir.resolve("foreign.result");
+        try (OutputStream output = Files.newOutputStream(resultFile);
+             ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+            objectOutput.writeObject(new ArrayList<>(List.of("not", "an", "aggregate")));
+        }
+        assertThatThrownBy(() -> CorpusWorker.readResult(resultFile)).isInstanceOf(InvalidClassException.class);
+
+        CorpusAggregate aggregate = new CorpusAnalyzer(1).analyzeShare(generateFiles(1));
+        CorpusWorker.writeResult(aggregate, resultFile);
+        assertThat(CorpusWorker.readResult(resultFile).getWordFrequencies()).isEqualTo(aggregate.getWordFrequencies());
+    }
+
+    private List<Path> generateFiles(int count) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path file = tempDir.resolve("corpus-" + i + ".txt");
+            new CorpusGenerator(new CorpusSettings().setSeed(i).setTargetBytes(8 * 1024)).generate(file);
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,60 @@
+package com.textparser.corpus;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CorpusGeneratorTest {
+
+    @Test
+    void testGeneratedCountsMatchParsedDocument() throws IOException {
+        CorpusSettings[] variants = {
+            new CorpusSettings().setSeed(1L),
+            new CorpusSettings().setSeed(2L).setCyrillicRatio(0.9).setTabIndentRatio(0.0),
+            new CorpusSettings().setSeed(3L).setExpressionRatio(0.3).setNumberRatio(0.2),
+            new CorpusSettings().setSeed(4L).setBracketRatio(0.2).setQuoteRatio(0.2).setDashRatio(0.1)
+        };
+        TextParsingService textParsingService = new TextParsingService();
+
+        for (CorpusSettings settings : variants) {
+            StringWriter writer = new StringWriter();
+            CorpusStatistics statistics = new CorpusGenerator(settings.setTargetBytes(16 * 1024)).generate(writer);
+            String text = writer.toString();
+
+            Document document = textParsingService.parseText(text);
+
+            assertThat(document.getParagraphCount()).isEqualTo(statistics.getParagraphs());
+            assertThat(document.getSentenceCount()).isEqualTo(statistics.getSentences());
+            assertThat(document.getWordCount()).isEqualTo(statistics.getWords());
+            assertThat(text.length()).isEqualTo(statistics.getChars());
+            assertThat(text.getBytes(StandardCharsets.UTF_8).length).isEqualTo(statistics.getBytes());
+            assertThat(statistics.getBytes()).isGreaterThanOrEqualTo(settings.getTargetBytes());
+        }
+    }
+
+    @Test
+    void testGenerationIsDeterministic() throws IOException {
+        StringWriter first = new StringWriter();
+        StringWriter second = new StringWriter();
+
+        new CorpusGenerator(new CorpusSettings().setSeed(7L).setTargetBytes(8 * 1024)).generate(first);
+        new CorpusGenerator(new CorpusSettings().setSeed(7L).setTargetBytes(8 * 1024)).generate(second);
+
+        assertThat(first.toString()).isEqualTo(second.toString());
+    }
+
+    @Test
+    void testParseSize() {
+        assertThat(CorpusSettings.parseSize("512")).isEqualTo(512L);
+        assertThat(CorpusSettings.parseSize("1MB")).isEqualTo(1024L * 1024L);
+        assertThat(CorpusSettings.parseSize("5gb")).isEqualTo(5L * 1024L * 1024L * 1024L);
+        assertThatThrownBy(() -> CorpusSettings.parseSize("ten")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.textparser.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsRegistryTest {
+
+    @Test
+    void testHistogramBucketsAndPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        HistogramSnapshot empty = histogram.snapshot();
+        assertThat(empty.getCount()).isZero();
+        assertThat(empty.getP50Nanos()).isZero();
+        assertThat(empty.getP99Nanos()).isZero();
+
+        for (int i = 0; i < 50; i++) {
+            histogram.record(1);
+        }
+        for (int i = 0; i < 40; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getTotalNanos()).isEqualTo(50 + 200 + 900 + 5000);
+        assertThat(snapshot.getMaxNanos()).isEqualTo(5000);
+        // Percentiles are the upper bounds of their buckets: [1, 2), [4, 8), [64, 128)
+        assertThat(snapshot.getP50Nanos()).isEqualTo(1);
+        assertThat(snapshot.getP90Nanos()).isEqualTo(7);
+        assertThat(snapshot.getP99Nanos()).isEqualTo(127);
+
+        histogram.reset();
+        assertThat(histogram.snapshot().getCount()).isZero();
+        assertThat(histogram.snapshot().getMaxNanos()).isZero();
+    }
+
+    @Test
+    void testHistogramEdgeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertThat(histogram.snapshot().getP99Nanos()).isZero();
+        assertThat(histogram.snapshot().getTotalNanos()).isZero();
+
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(3);
+        assertThat(snapshot.getP50Nanos()).isZero();
+        assertThat(snapshot.getP99Nanos()).isEqualTo(Long.MAX_VALUE);
+        assertThat(snapshot.getMaxNanos()).isEqualTo(Long.MAX_VALUE);
+
+        LatencyHistogram powers = new LatencyHistogram();
+        powers.record(1L << 20);
+        assertThat(powers.snapshot().getP50Nanos()).isEqualTo((1L << 21) - 1);
+    }
+
+    @Test
+    void testRegistryGetsOrCreatesAndResets() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("parser.test.nodes");
+        assertThat(registry.counter("parser.test.nodes")).isSameAs(counter);
+        assertThat(registry.histogram("parser.test.time")).isSameAs(registry.histogram("parser.test.time"));
+
+        counter.add(3);
+        counter.increment();
+        registry.histogram("parser.test.time").record(10);
+        registry.counter("parser.test.unused");
+        AtomicLong depth = new AtomicLong(7);
+        registry.gauge("queue.depth", depth::get);
+        registry.gauge("queue.depth", () -> depth.get() * 2);
+
+        assertThat(registry.getCounters()).containsExactly(Map.entry("parser.test.nodes", 4L),
+                Map.entry("parser.test.unused", 0L));
+        assertThat(registry.getGauges()).containsExactly(Map.entry("queue.depth", 14L));
+        assertThat(registry.getHistograms().get("parser.test.time").getCount()).isEqualTo(1);
+        assertThat(registry.getSummary()).contains("parser.test.nodes: 4", "queue.depth: 14", "parser.test.time")
+                .doesNotContain("parser.test.unused");
+
+        registry.reset();
+        assertThat(registry.counter("parser.test.nodes")).isSameAs(counter);
+        assertThat(counter.get()).isZero();
+        assertThat(registry.getHistograms().get("parser.test.time").getCount()).isZero();
+        // Gauges observe live components and survive a reset until they are removed
+        assertThat(registry.getGauges()).containsKey("queue.depth");
+        registry.removeGauge("queue.depth");
+        assertThat(registry.getGauges()).isEmpty();
+    }
+
+    @Test
+    void testReporterReportsOnClose() {
+        MetricsRegistry registry = new MetricsRegistry();
+        AtomicLong reads = new AtomicLong();
+        registry.gauge("reporter.reads", reads::incrementAndGet);
+
+        // A zero interval disables periodic reports, closing still reports the final values
+        new MetricsReporter(registry, 0).close();
+
+        assertThat(reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDefaultRegistryIsExposedThroughJmx() throws Exception {
+        MetricsRegistry.getDefault().counter("test.jmx.visible").add(2);
+        Object counters = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MetricsRegistry.OBJECT_NAME), "Counters");
+
+        assertThat(counters).isNotNull();
+        assertThat(counters.toString()).contains("test.jmx.visible");
+    }
+}
@@ -0,0 +1,124 @@
+package com.textparser.metrics.jfr;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.metrics.MetricsRegistry;
+import com.textparser.operations.TextOperation;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightRecorderEventsTest {
+
+    @Test
+    void testEventsAreRecordedWithTheirFields(@TempDir Path directory) throws Exception {
+        // One paragraph above the recording threshold and one short one below it
+        String longParagraph = "Words repeat here. ".repeat(ParagraphParseEvent.THRESHOLD_CHARS / 19 + 1).trim();
+        String text = "\t" + longParagraph + "\n\tShort one with 2*7 inside.";
+        Path file = directory.resolve("events.jfr");
+
+        Document document;
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.textparser.DocumentParse", "com.textparser.ParagraphParse",
+                    "com.textparser.ExpressionEvaluation", "com.textparser.TextOperation")) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+            document = new TextParsingService().parseText(text);
+            new TextOperationsService().execute(new CountIdenticalWords(), document);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.textparser."))
+                .collect(Collectors.toList());
+
+        RecordedEvent parse = single(events, "com.textparser.DocumentParse");
+        assertThat(parse.getLong("inputChars")).isEqualTo(text.length());
+        assertThat(parse.getInt("paragraphs")).isEqualTo(2);
+        assertThat(parse.getInt("sentences")).isEqualTo(document.getSentenceCount());
+        assertThat(parse.getInt("words")).isEqualTo(document.getWordCount());
+        assertThat(parse.getBoolean("succeeded")).isTrue();
+
+        RecordedEvent paragraph = single(events, "com.textparser.ParagraphParse");
+        assertThat(paragraph.getInt("index")).isZero();
+        assertThat(paragraph.getLong("inputChars")).isGreaterThanOrEqualTo(ParagraphParseEvent.THRESHOLD_CHARS);
+        assertThat(paragraph.getInt("sentences")).isEqualTo(document.getChild(0).getSentenceCount());
+        assertThat(paragraph.getInt("words")).isEqualTo(document.getChild(0).getWordCount());
+
+        RecordedEvent expression = single(events, "com.textparser.ExpressionEvaluation");
+        assertThat(expression.getString("expression")).isEqualTo("2*7");
+        assertThat(expression.getDouble("result")).isEqualTo(14.0);
+        assertThat(expression.getBoolean("succeeded")).isTrue();
+
+        RecordedEvent operation = single(events, "com.textparser.TextOperation");
+        assertThat(operation.getString("operation")).isEqualTo("CountIdenticalWords");
+        assertThat(operation.getInt("paragraphs")).isEqualTo(2);
+        assertThat(operation.getInt("resultSize")).isEqualTo(new CountIdenticalWords().execute(document).size());
+        assertThat(operation.getBoolean("succeeded")).isTrue();
+    }
+
+    @Test
+    void testCompleteAnalysisRecordsEachOperation(@TempDir Path directory) throws Exception {
+        String text = "\tThe cat sat on the mat. The cat ran.\n\tA dog barked at 2*7 cats.";
+        Path file = directory.resolve("analysis.jfr");
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        Map<String, Long> invocationsBefore = new HashMap<>();
+        for (TextOperation<?> operation : TextOperationsService.getCompleteAnalysisOperations()) {
+            String name = operation.getClass().getSimpleName();
+            invocationsBefore.put(name, registry.histogram("operation." + name + ".time").snapshot().getCount());
+        }
+
+        TextOperationsService operations = new TextOperationsService();
+        TextAnalysisReport report;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.textparser.TextOperation").withoutThreshold();
+            recording.start();
+            AnalysisListener<TextAnalysisReport> analysis = operations.createCompleteAnalysisListener();
+            new TextParsingService().parseText(text, List.of(analysis));
+            report = analysis.getResult();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        invocationsBefore.forEach((name, before) -> assertThat(
+                registry.histogram("operation." + name + ".time").snapshot().getCount()).as(name).isEqualTo(before + 1));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.textparser.TextOperation"))
+                .collect(Collectors.toList());
+        assertThat(events).extracting(event -> event.getString("operation"))
+                .containsExactlyInAnyOrderElementsOf(invocationsBefore.keySet());
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getInt("paragraphs")).isEqualTo(2);
+            assertThat(event.getBoolean("succeeded")).isTrue();
+        });
+        RecordedEvent wordCounts = events.stream()
+                .filter(event -> event.getString("operation").equals("CountIdenticalWords"))
+                .findFirst().orElseThrow();
+        assertThat(wordCounts.getInt("resultSize")).isEqualTo(report.wordCounts.size());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertThat(matching).as(name).hasSize(1);
+        return matching.get(0);
+    }
+}
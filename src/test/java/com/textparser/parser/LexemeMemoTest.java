@@ -0,0 +1,95 @@
+package com.textparser.parser;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.TextComposite;
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Expression;
+import com.textparser.composite.impl.Lexeme;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.composite.impl.Symbol;
+import com.textparser.composite.impl.Word;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LexemeMemoTest {
+    private static final String SENTENCE = "The (cat) sat, \"quoted\" 2*7 times...";
+
+    @Test
+    void testMemoHitGivesTheSameTreeAndEventsAsMiss() {
+        TextParsingService service = new TextParsingService();
+        List<String> missEvents = new ArrayList<>();
+        Sentence miss = service.parseText("\t" + SENTENCE, List.of(recorder(missEvents))).getAllSentences().get(0);
+
+        // The second sentence consists of memo hits only
+        List<String> events = new ArrayList<>();
+        Document document = service.parseText("\t" + SENTENCE + " " + SENTENCE, List.of(recorder(events)));
+        Sentence first = document.getAllSentences().get(0);
+        Sentence hit = document.getAllSentences().get(1);
+
+        assertThat(hit.getChildren()).hasSameSizeAs(miss.getChildren());
+        for (int i = 0; i < hit.getChildCount(); i++) {
+            assertThat(hit.getChild(i)).isSameAs(first.getChild(i));
+            assertThat(describe(hit.getChild(i))).isEqualTo(describe(miss.getChild(i)));
+        }
+        assertThat(events.subList(0, events.size() / 2)).isEqualTo(missEvents);
+        assertThat(events.subList(events.size() / 2, events.size())).isEqualTo(missEvents);
+
+        // Shared lexemes are frozen, so changing one occurrence cannot change the others
+        TextComposite shared = (TextComposite) hit.getChild(0);
+        assertThat(shared.isFrozen()).isTrue();
+        assertThatThrownBy(() -> shared.add(new Word("dog"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> shared.setChild(0, new Word("dog"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(first.getText()).isEqualTo(miss.getText());
+        // The word parser builds punctuated lexemes frozen, so they are shared without a copy
+        TextComponent punctuated = hit.getChild(1).getChild(0);
+        assertThat(punctuated).isInstanceOf(Lexeme.class);
+        assertThat(punctuated.isFrozen()).isTrue();
+
+        assertThatThrownBy(() -> new LexemeMemo().put("cat", new Lexeme("cat")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ParseListener recorder(List<String> events) {
+        return new ParseListener() {
+            @Override
+            public void onSentenceStart() {
+                events.add("sentence");
+            }
+
+            @Override
+            public void onSentenceEnd(Sentence sentence) {
+                events.add("end " + sentence.getText());
+            }
+
+            @Override
+            public void onWord(Word word) {
+                events.add("word " + word.getText());
+            }
+
+            @Override
+            public void onSymbol(Symbol symbol) {
+                events.add("symbol " + symbol.getText());
+            }
+
+            @Override
+            public void onExpression(Expression expression) {
+                events.add("expression " + expression.getOriginalExpression());
+            }
+        };
+    }
+
+    private static String describe(TextComponent node) {
+        StringBuilder description = new StringBuilder(node.getClass().getSimpleName())
+                .append('[').append(node.getText()).append(']');
+        for (TextComponent child : node.getChildren()) {
+            description.append(' ').append(describe(child));
+        }
+        return description.toString();
+    }
+}
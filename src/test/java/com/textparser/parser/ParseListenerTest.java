@@ -0,0 +1,93 @@
+package com.textparser.parser;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Paragraph;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.operations.impl.FindSentencesWithLongestWord;
+import com.textparser.operations.impl.SortParagraphsBySentenceCount;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.VowelConsonantUtils.VowelConsonantCount;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParseListenerTest {
+
+    @Test
+    void testListenersComputeOperationResultsDuringParse() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(40L).setTargetBytes(16 * 1024)).generate(writer);
+        CountVowelsConsonants countVowels = new CountVowelsConsonants();
+        SortParagraphsBySentenceCount sortParagraphs = new SortParagraphsBySentenceCount();
+        AnalysisListener<Map<String, VowelConsonantCount>> vowels = countVowels.createListener();
+        AnalysisListener<List<Paragraph>> paragraphs = sortParagraphs.createListener();
+
+        Document document = new TextParsingService().parseText(writer.toString(), List.of(vowels, paragraphs));
+
+        assertThat(vowels.getResult()).hasSize(document.getSentenceCount());
+        assertThat(vowels.getResult()).usingRecursiveComparison().isEqualTo(countVowels.execute(document));
+        assertThat(paragraphs.getResult()).containsExactlyElementsOf(sortParagraphs.execute(document));
+
+        AnalysisListener<Map<String, VowelConsonantCount>> replayed = countVowels.createListener();
+        ParseEvents.replay(document, replayed);
+
+        assertThat(replayed.getResult()).usingRecursiveComparison().isEqualTo(vowels.getResult());
+    }
+
+    @Test
+    void testVowelListenerCountsEvaluatedExpressions() {
+        // Division by zero is not evaluated, a large product reads as 1.0E10
+        String text = "\tDividing 1/0 fails. It is 100000*100000 and not 2*7 at all!";
+        CountVowelsConsonants countVowels = new CountVowelsConsonants();
+        Document full = new TextParsingService().parseText(text);
+
+        AnalysisListener<Map<String, VowelConsonantCount>> vowels = countVowels.createListener();
+        Document planned = TextParsingService.forOperations(List.of(countVowels)).parseText(text, List.of(vowels));
+
+        assertThat(planned.getText()).contains("1.0E10");
+        assertThat(vowels.getResult()).usingRecursiveComparison().isEqualTo(countVowels.execute(full));
+    }
+
+    @Test
+    void testCompleteAnalysisDuringParseMatchesTheOperations() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(41L).setTargetBytes(16 * 1024).setCyrillicRatio(0.2))
+                .generate(writer);
+        String text = writer + "\n\tIt is 100000*100000, not 2*7. Extraordinarily \"quoted\" words!";
+        FindSentencesWithLongestWord findLongest = new FindSentencesWithLongestWord();
+        CountIdenticalWords countWords = new CountIdenticalWords();
+        CountVowelsConsonants countVowels = new CountVowelsConsonants();
+        TextOperationsService operations = new TextOperationsService();
+        AnalysisListener<List<Sentence>> longest = findLongest.createListener();
+        AnalysisListener<Map<String, Integer>> words = countWords.createListener();
+        AnalysisListener<TextAnalysisReport> analysis = operations.createCompleteAnalysisListener();
+
+        Document document = TextParsingService.forOperations(TextOperationsService.getCompleteAnalysisOperations())
+                .parseText(text, List.of(longest, words, analysis));
+
+        assertThat(longest.getResult()).isNotEmpty().containsExactlyElementsOf(findLongest.execute(document));
+        assertThat(words.getResult()).isNotEmpty().isEqualTo(countWords.execute(document));
+
+        TextAnalysisReport report = analysis.getResult();
+        assertThat(report.sortedParagraphs).containsExactlyElementsOf(new SortParagraphsBySentenceCount().execute(document));
+        assertThat(report.sentencesWithLongestWord).containsExactlyElementsOf(longest.getResult());
+        assertThat(report.wordCounts).isEqualTo(words.getResult());
+        assertThat(report.vowelConsonantCounts).usingRecursiveComparison().isEqualTo(countVowels.execute(document));
+        assertThat(report.documentSummary).usingRecursiveComparison().isEqualTo(countVowels.getDocumentSummary(document));
+
+        TextAnalysisReport replayed = operations.performCompleteAnalysis(document);
+        replayed.reportDate = report.reportDate;
+        assertThat(operations.formatAnalysisOutput(replayed)).isEqualTo(operations.formatAnalysisOutput(report));
+    }
+}
@@ -0,0 +1,72 @@
+package com.textparser.parser.cache;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountVowelsConsonants;
+import com.textparser.parser.AnalysisListener;
+import com.textparser.parser.ParserConfiguration;
+import com.textparser.service.TextParsingService;
+import com.textparser.util.VowelConsonantUtils.VowelConsonantCount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParagraphCacheTest {
+    private static final String FOOTER = "\tThis message is confidential. Do not forward it to third parties!";
+
+    @Test
+    void testRepeatedParagraphsAreParsedOnce() throws IOException {
+        String text = generate(45L) + "\n" + FOOTER + "\n" + generate(46L) + "\n" + FOOTER + "\n" + FOOTER;
+        ParagraphCache cache = new ParagraphCache();
+        TextParsingService cachedService = new TextParsingService(new ParserConfiguration(), cache);
+        CountVowelsConsonants countVowels = new CountVowelsConsonants();
+        AnalysisListener<Map<String, VowelConsonantCount>> vowels = countVowels.createListener();
+
+        Document cached = cachedService.parseText(text, List.of(vowels));
+        Document uncached = new TextParsingService().parseText(text);
+
+        assertThat(cached.getText()).isEqualTo(uncached.getText());
+        assertThat(vowels.getResult()).usingRecursiveComparison().isEqualTo(countVowels.execute(uncached));
+        int last = cached.getChildCount() - 1;
+        assertThat(cached.getChild(last)).isSameAs(cached.getChild(last - 1));
+        assertThat(cache.getHits()).isEqualTo(2);
+
+        cachedService.parseText(text);
+        assertThat(cache.getMisses()).isEqualTo(cache.size());
+        assertThat(cache.getHitRate()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void testCacheIsBoundedAndSurvivesSaveAndLoad(@TempDir Path directory) throws IOException {
+        String text = generate(47L);
+        ParagraphCache small = new ParagraphCache(3, ParagraphCache.DEFAULT_MAX_WEIGHT);
+        new TextParsingService(new ParserConfiguration(), small).parseText(text);
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.getEvictions()).isEqualTo(small.getMisses() - 3);
+
+        ParagraphCache cache = new ParagraphCache();
+        Document original = new TextParsingService(new ParserConfiguration(), cache).parseText(text);
+        cache.save(directory);
+        ParagraphCache loaded = new ParagraphCache();
+        assertThat(loaded.load(directory)).isEqualTo(cache.size());
+
+        Document reloaded = new TextParsingService(new ParserConfiguration(), loaded).parseText(text);
+        assertThat(reloaded.getText()).isEqualTo(original.getText());
+        assertThat(loaded.getMisses()).isZero();
+        assertThat(loaded.getHits()).isEqualTo(original.getChildCount());
+    }
+
+    private static String generate(long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(8 * 1024)).generate(writer);
+        return writer.toString();
+    }
+}
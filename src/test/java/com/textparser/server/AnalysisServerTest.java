@@ -0,0 +1,118 @@
+package com.textparser.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AnalysisServerTest {
+    private static final int MAX_REQUEST_BYTES = 1024;
+
+    private AnalysisServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new AnalysisServer(new ServerSettings()
+                .setPort(0)
+                .setWarmupIterations(0)
+                .setMaxRequestBytes(MAX_REQUEST_BYTES));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testAnalyzeText() throws Exception {
+        HttpResponse<String> response = post("/analyze", "    The fox is quick. The fox is brown and the dog is lazy.");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("=== Text Analysis Results ===").contains("'fox': 2 times");
+    }
+
+    @Test
+    void testRejectsInvalidRequests() throws Exception {
+        assertThat(post("/analyze", "x".repeat(MAX_REQUEST_BYTES + 1)).statusCode()).isEqualTo(413);
+        assertThat(post("/analyze", "   ").statusCode()).isEqualTo(400);
+        assertThat(post("/analyze/file", "does/not/exist.txt").statusCode()).isEqualTo(404);
+        assertThat(get("/analyze").statusCode()).isEqualTo(405);
+        assertThat(get("/health").body()).isEqualTo("OK\n");
+    }
+
+    @Test
+    void testRejectsMalformedContentLength() throws Exception {
+        // HttpClient does not let the header be set
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            OutputStream output = socket.getOutputStream();
+            output.write(("POST /analyze HTTP/1.1\r\nHost: localhost\r\nContent-Length: lots\r\n"
+                    + "Connection: close\r\n\r\nHello").getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            InputStream input = socket.getInputStream();
+            assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).startsWith("HTTP/1.1 400");
+        }
+        // The JDK server rejects the request above itself; the handler does not rely on that
+        assertThat(AnalysisServer.parseContentLength(" 12 ")).isEqualTo(12);
+        assertThatThrownBy(() -> AnalysisServer.parseContentLength("lots"))
+                .isInstanceOf(AnalysisServer.RequestException.class)
+                .hasMessage("Invalid Content-Length: lots")
+                .extracting(e -> ((AnalysisServer.RequestException) e).getStatus()).isEqualTo(400);
+        assertThatThrownBy(() -> AnalysisServer.parseContentLength("-1"))
+                .isInstanceOf(AnalysisServer.RequestException.class);
+    }
+
+    @Test
+    void testAnalyzeFileStaysInsideBaseDirectory(@TempDir Path directory) throws Exception {
+        Path base = Files.createDirectory(directory.resolve("base"));
+        Files.writeString(Files.createDirectory(base.resolve("texts")).resolve("fox.txt"),
+                "    The fox is quick. The fox is brown.");
+        Path outside = Files.writeString(directory.resolve("secret.txt"), "    Not for clients.");
+        Files.createSymbolicLink(base.resolve("link.txt"), outside);
+        server.close();
+        server = new AnalysisServer(new ServerSettings()
+                .setPort(0)
+                .setWarmupIterations(0)
+                .setBaseDirectory(base));
+        server.start();
+
+        HttpResponse<String> response = post("/analyze/file", "texts/../texts/fox.txt");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("=== texts/../texts/fox.txt ===").contains("'fox': 2 times");
+        assertThat(post("/analyze/file", "../secret.txt").statusCode()).isEqualTo(403);
+        assertThat(post("/analyze/file", outside.toString()).statusCode()).isEqualTo(403);
+        assertThat(post("/analyze/file", "texts/fox.txt\n../secret.txt").statusCode()).isEqualTo(403);
+        assertThat(post("/analyze/file", "link.txt").statusCode()).isEqualTo(403);
+        assertThat(post("/analyze/file", "texts/missing.txt").statusCode()).isEqualTo(404);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,86 @@
+package com.textparser.service;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Word;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.operations.impl.CountIdenticalWords;
+import com.textparser.parser.ParseListener;
+import com.textparser.parser.ParserConfiguration;
+import com.textparser.parser.cache.ParagraphCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentParsingTest {
+    private static final int THREADS = 8;
+    private static final int PARSES_PER_TEXT = 12;
+
+    @Test
+    void testSharedServiceParsesAsSingleThreaded() throws Exception {
+        List<String> texts = new ArrayList<>();
+        for (long seed = 50; seed < 54; seed++) {
+            StringWriter writer = new StringWriter();
+            new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(24 * 1024)).generate(writer);
+            texts.add(writer + "\n\tIt costs 2*7 or 3+4 (really) and \"quoted\" words, see [1]!");
+        }
+        TextParsingService service = new TextParsingService();
+        TextParsingService cachingService = new TextParsingService(new ParserConfiguration(), new ParagraphCache());
+
+        List<String> expected = new ArrayList<>();
+        for (String text : texts) {
+            expected.add(describe(new TextParsingService(), text));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            List<Integer> textIndexes = new ArrayList<>();
+            for (int i = 0; i < PARSES_PER_TEXT * texts.size(); i++) {
+                String text = texts.get(i % texts.size());
+                TextParsingService shared = i % 2 == 0 ? service : cachingService;
+                Callable<String> parse = () -> {
+                    start.await();
+                    return describe(shared, text);
+                };
+                results.add(executor.submit(parse));
+                textIndexes.add(i % texts.size());
+            }
+            start.countDown();
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(expected.get(textIndexes.get(i)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Everything a parse is expected to reproduce: the text, the counts, the
+     * words seen by a listener and the result of an operation
+     */
+    private static String describe(TextParsingService service, String text) {
+        List<String> words = new ArrayList<>();
+        ParseListener listener = new ParseListener() {
+            @Override
+            public void onWord(Word word) {
+                words.add(word.getText());
+            }
+        };
+        Document document = service.parseText(text, List.of(listener));
+        return String.join("\n", document.getText(),
+                document.getParagraphCount() + "/" + document.getSentenceCount() + "/" + document.getWordCount(),
+                String.join(" ", words),
+                new CountIdenticalWords().execute(document).toString());
+    }
+}
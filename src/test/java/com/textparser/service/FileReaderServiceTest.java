@@ -0,0 +1,88 @@
+package com.textparser.service;
+
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.stream.StreamingAnalysisReport;
+import com.textparser.stream.StreamingAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class FileReaderServiceTest {
+    private final FileReaderService fileReaderService = new FileReaderService();
+
+    @Test
+    void testGzipFilesAreReadTransparently(@TempDir Path directory) throws IOException {
+        StringWriter writer = new StringWriter();
+        // Several times the chunks in flight, so the inflating thread has to wait for the reader
+        new CorpusGenerator(new CorpusSettings().setSeed(50L).setTargetBytes(512 * 1024).setCyrillicRatio(0.2))
+                .generate(writer);
+        String text = writer.toString();
+        Path plain = Files.writeString(directory.resolve("corpus.txt"), text, StandardCharsets.UTF_8);
+        // No .gz extension: the content decides
+        Path compressed = directory.resolve("corpus.dat");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(fileReaderService.isCompressed(compressed)).isTrue();
+        assertThat(fileReaderService.isCompressed(plain)).isFalse();
+        assertThat(fileReaderService.readTextFromFile(compressed.toString())).isEqualTo(text);
+        assertThat(fileReaderService.readBytesFromFile(compressed.toString()))
+                .isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+
+        StreamingAnalysisReport expected = new StreamingAnalyzer().analyze(plain);
+        StreamingAnalysisReport report = new StreamingAnalyzer().analyze(compressed);
+        expected.reportDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+        report.reportDate = expected.reportDate;
+        assertThat(report.format()).isEqualTo(expected.format());
+
+        // Closing early stops the inflating thread
+        fileReaderService.openInputStream(compressed).close();
+
+        byte[] truncated = Files.readAllBytes(compressed);
+        Path broken = Files.write(directory.resolve("broken.gz"), Arrays.copyOf(truncated, truncated.length / 2));
+        assertThatThrownBy(() -> fileReaderService.readTextFromFile(broken.toString())).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testCloseDoesNotWaitForAReadIgnoringInterrupts() {
+        // Blocks like a pipe whose writer stalls, until the stream is closed
+        InputStream stalled = new InputStream() {
+            private volatile boolean closed;
+
+            @Override
+            public int read() throws IOException {
+                while (!closed) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                }
+                throw new IOException("Stream closed");
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+
+        assertTimeoutPreemptively(Duration.ofMillis(InflatingInputStream.CLOSE_TIMEOUT_MILLIS * 3),
+                () -> new InflatingInputStream(stalled, "stalled").close());
+    }
+}
@@ -0,0 +1,180 @@
+package com.textparser.service;
+
+import com.textparser.composite.TextComponent;
+import com.textparser.composite.impl.Document;
+import com.textparser.composite.impl.Sentence;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.parser.ParagraphReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SentencePublisherTest {
+    private final TextParsingService textParsingService = new TextParsingService();
+
+    @Test
+    void testParagraphReaderMatchesDocumentParser() throws IOException {
+        String text = generate(21L);
+        List<String> expected = textParsingService.parseText(text).getParagraphs().stream()
+                .map(TextComponent::getText)
+                .collect(Collectors.toList());
+
+        for (int bufferSize : new int[] {1, 3, 7, 64, 8192}) {
+            List<String> paragraphs = new ArrayList<>();
+            try (ParagraphReader reader = new ParagraphReader(new StringReader(text), bufferSize)) {
+                String paragraph;
+                while ((paragraph = reader.nextParagraph()) != null) {
+                    paragraphs.add(textParsingService.parseText(paragraph).getParagraphs().get(0).getText());
+                }
+            }
+            assertThat(paragraphs).as("buffer size %d", bufferSize).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testPublishedSentencesMatchDocument() throws Exception {
+        String text = generate(22L);
+        Document document = textParsingService.parseText(text);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        textParsingService.publishSentences(new StringReader(text)).subscribe(subscriber);
+
+        assertThat(subscriber.completed.get(10, TimeUnit.SECONDS))
+                .isEqualTo(document.getAllSentences().stream().map(Sentence::getText).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPublisherHonorsDemand() throws Exception {
+        CollectingSubscriber subscriber = new CollectingSubscriber(2);
+
+        textParsingService.publishSentences(new StringReader(generate(23L))).subscribe(subscriber);
+        Thread.sleep(200);
+
+        assertThat(subscriber.received).hasSize(2);
+        assertThat(subscriber.completed).isNotDone();
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    void testReaderIsClosedWhenCancelledBeforeReading() throws Exception {
+        CloseTrackingReader reader = new CloseTrackingReader(generate(24L));
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+
+        textParsingService.publishSentences(reader, Runnable::run).subscribe(subscriber);
+        subscriber.subscription.cancel();
+
+        assertThat(reader.closed).isTrue();
+    }
+
+    @Test
+    void testSecondSubscriberDoesNotCloseTheReader() throws Exception {
+        CloseTrackingReader reader = new CloseTrackingReader(generate(25L));
+        Flow.Publisher<Sentence> publisher = textParsingService.publishSentences(reader, Runnable::run);
+        CollectingSubscriber first = new CollectingSubscriber(0);
+        CollectingSubscriber second = new CollectingSubscriber(1);
+
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        assertThat(second.completed).isCompletedExceptionally();
+        assertThat(second.received).isEmpty();
+        assertThat(reader.closed).isFalse();
+        first.subscription.cancel();
+        assertThat(reader.closed).isTrue();
+    }
+
+    @Test
+    void testThrowingOnCompleteGetsNoFurtherSignal() throws Exception {
+        List<String> signals = new ArrayList<>();
+        Flow.Subscriber<Sentence> subscriber = new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Sentence item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+                throw new IllegalStateException("Subscriber failure");
+            }
+        };
+
+        textParsingService.publishSentences(new StringReader("\tOne sentence only."), Runnable::run).subscribe(subscriber);
+
+        assertThat(signals).containsExactly("complete");
+    }
+
+    private static String generate(long seed) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(seed).setTargetBytes(16 * 1024)).generate(writer);
+        return writer.toString();
+    }
+
+    private static final class CloseTrackingReader extends StringReader {
+        private boolean closed;
+
+        private CloseTrackingReader(String text) {
+            super(text);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<Sentence> {
+        private final long initialDemand;
+        private final List<String> received = new ArrayList<>();
+        private final CompletableFuture<List<String>> completed = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(Sentence item) {
+            received.add(item.getText());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(received);
+        }
+    }
+}
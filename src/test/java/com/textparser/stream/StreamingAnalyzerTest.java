@@ -0,0 +1,83 @@
+package com.textparser.stream;
+
+import com.textparser.composite.impl.Document;
+import com.textparser.corpus.CorpusGenerator;
+import com.textparser.corpus.CorpusSettings;
+import com.textparser.service.TextOperationsService;
+import com.textparser.service.TextOperationsService.TextAnalysisReport;
+import com.textparser.service.TextParsingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingAnalyzerTest {
+    private static final LocalDateTime REPORT_DATE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void testStreamingReportMatchesTreeReport() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(41L).setTargetBytes(64 * 1024)).generate(writer);
+
+        assertSameReport(writer.toString());
+    }
+
+    @Test
+    void testStreamingReportMatchesTreeReportOnIrregularText() throws IOException {
+        String text = "\tFirst (paragraph) with 3+4 items, \"quoted\" words... And more!\n"
+                + "Same paragraph? yes.  Two   spaces.\t\tNext paragraph starts here... ok\n\n"
+                + "    Indented Paragraph with longestwordhere here. @@ ~ odd tokens.\n"
+                + "     Another one: longestwordhere again!   x.y isn't it - ok?\n"
+                + "lower   Case start    No break here.";
+
+        assertSameReport(text);
+    }
+
+    @Test
+    void testByteScanOfMappedFileMatchesTreeReport(@TempDir Path directory) throws IOException {
+        StringWriter writer = new StringWriter();
+        new CorpusGenerator(new CorpusSettings().setSeed(49L).setTargetBytes(32 * 1024).setCyrillicRatio(0.5))
+                .generate(writer);
+        String text = writer + "\n\tЁлка и ёж: «Съешь же ещё этих мягких булок»... Тест — done?\u0001 Ok!";
+        Path file = Files.writeString(directory.resolve("input.txt"), text, StandardCharsets.UTF_8);
+        assertSameReport(text);
+
+        TextOperationsService operations = new TextOperationsService();
+        TextAnalysisReport treeReport = operations.performCompleteAnalysis(new TextParsingService().parseText(text));
+        treeReport.reportDate = REPORT_DATE;
+        StreamingAnalysisReport mappedReport = new StreamingAnalyzer().analyze(file);
+        mappedReport.reportDate = REPORT_DATE;
+        assertThat(mappedReport.format()).isEqualTo(operations.formatAnalysisOutput(treeReport));
+    }
+
+    private static void assertSameReport(String text) throws IOException {
+        TextOperationsService operations = new TextOperationsService();
+        Document document = new TextParsingService().parseText(text);
+        TextAnalysisReport treeReport = operations.performCompleteAnalysis(document);
+        treeReport.reportDate = REPORT_DATE;
+
+        StreamingAnalysisReport streamingReport = new StreamingAnalyzer().analyze(new StringReader(text));
+        streamingReport.reportDate = REPORT_DATE;
+
+        assertThat(streamingReport.paragraphs).isEqualTo(document.getParagraphCount());
+        assertThat(streamingReport.sentences).isEqualTo(document.getSentenceCount());
+        assertThat(streamingReport.format()).isEqualTo(operations.formatAnalysisOutput(treeReport));
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.wrap(bytes), direct}) {
+            StreamingAnalysisReport byteReport = new StreamingAnalyzer().analyze(buffer);
+            byteReport.reportDate = REPORT_DATE;
+            assertThat(byteReport.format()).isEqualTo(streamingReport.format());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.textparser.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Utf8TokenizerTest {
+
+    @Test
+    void testTokenCrossingWordBoundaries() {
+        // The second token starts at 7 and ends at 23, across three 8-byte words
+        Utf8Tokenizer tokenizer = new Utf8Tokenizer(ByteBuffer.wrap(utf8("abcdef ghijklmnopqrstuv wx")));
+
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.getTokenStart()).isEqualTo(7);
+        assertThat(tokenizer.getTokenEnd()).isEqualTo(23);
+        assertThat(tokenizer.getTokenText()).isEqualTo("ghijklmnopqrstuv");
+        assertThat(tokenizer.isAscii()).isTrue();
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.getTokenText()).isEqualTo("wx");
+        assertThat(tokenizer.next()).isFalse();
+    }
+
+    @Test
+    void testLimitInsideAWordEndsTheLastToken() {
+        ByteBuffer buffer = ByteBuffer.wrap(utf8("hello worldwide and more"));
+        buffer.limit(11);
+
+        assertThat(tokens(buffer)).containsExactly("hello", "world");
+        assertThat(tokens(ByteBuffer.wrap(utf8("one two three")))).containsExactly("one", "two", "three");
+    }
+
+    @Test
+    void testStartPositionAndSlice() {
+        byte[] bytes = utf8("skip me: мягких булок\tNext one");
+        ByteBuffer positioned = ByteBuffer.wrap(bytes, 9, bytes.length - 9);
+        ByteBuffer slice = positioned.slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).position(9);
+
+        for (ByteBuffer buffer : List.of(positioned, slice, direct)) {
+            assertThat(tokens(buffer)).containsExactly("мягких", "булок", "Next", "one");
+        }
+        assertThat(positioned.position()).isEqualTo(9);
+
+        Utf8Tokenizer tokenizer = new Utf8Tokenizer(slice);
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.getTokenStart()).isZero();
+        assertThat(tokenizer.isAscii()).isFalse();
+        assertThat(tokenizer.countVowels()).isEqualTo(2);
+        assertThat(tokenizer.countConsonants()).isEqualTo(4);
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.isParagraphStart()).isTrue();
+    }
+
+    @Test
+    void testControlBytesAreTokenBytes() {
+        String token = "ab\u0001cdefghij\u0000k\u001Fl";
+
+        assertThat(tokens(ByteBuffer.wrap(utf8(token + " lm\u0002")))).containsExactly(token, "lm\u0002");
+    }
+
+    @Test
+    void testTruncatedCyrillicAtTheEnd() {
+        byte[] bytes = utf8("ok да");
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1));
+        Utf8Tokenizer tokenizer = new Utf8Tokenizer(buffer);
+
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.next()).isTrue();
+        assertThat(tokenizer.getTokenText()).isEqualTo("д\uFFFD");
+        assertThat(tokenizer.isAscii()).isFalse();
+        assertThat(tokenizer.countConsonants()).isEqualTo(1);
+        assertThat(tokenizer.countVowels()).isZero();
+        assertThat(tokenizer.next()).isFalse();
+    }
+
+    @Test
+    void testEveryStartAndLimitMatchesSplittingTheDecodedText() {
+        byte[] bytes = utf8("Word\u0001 ёж\t\tlongerwordhere  x\nСъешь-же!  a.b?\r\nend");
+
+        for (int start = 0; start <= bytes.length; start++) {
+            for (int limit = start; limit <= bytes.length; limit++) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, start, limit - start);
+                String text = new String(bytes, start, limit - start, StandardCharsets.UTF_8);
+                List<String> expected = Arrays.stream(text.split("[ \\t\\n\\u000B\\f\\r]+"))
+                        .filter(token -> !token.isEmpty())
+                        .toList();
+                assertThat(tokens(buffer)).as("bytes %d to %d", start, limit).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static List<String> tokens(ByteBuffer buffer) {
+        Utf8Tokenizer tokenizer = new Utf8Tokenizer(buffer);
+        List<String> tokens = new ArrayList<>();
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.getTokenText());
+        }
+        return tokens;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}